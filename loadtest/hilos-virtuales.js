@@ -0,0 +1,82 @@
+// Prueba de carga para comparar el modo de hilos de plataforma con el de hilos virtuales.
+//
+//   VIRTUAL_THREADS=false docker compose up -d --build ms-tickets
+//   k6 run -e MODO=plataforma loadtest/hilos-virtuales.js
+//   VIRTUAL_THREADS=true docker compose up -d ms-tickets
+//   k6 run -e MODO=virtuales loadtest/hilos-virtuales.js
+//
+// Cada ejecución deja su resumen en loadtest/resultados-<MODO>.json.
+import http from 'k6/http';
+import { check } from 'k6';
+import { randomItem } from 'https://jslib.k6.io/k6-utils/1.4.0/index.js';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const MODO = __ENV.MODO || 'sin-nombre';
+const TICKETS_INICIALES = 200;
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        // Ráfagas por encima de los 200 hilos por defecto de Tomcat.
+        rafagas: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 200, duration: '30s' },
+                { target: 1000, duration: '30s' },
+                { target: 1000, duration: '1m' },
+                { target: 50, duration: '30s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{operacion:detalle}': ['p(99)<500'],
+        'http_req_duration{operacion:filtrar}': ['p(99)<800'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const usuarios = Array.from({ length: 20 }, () => crypto.randomUUID());
+    const tickets = [];
+    for (let i = 0; i < TICKETS_INICIALES; i++) {
+        const res = http.post(`${BASE_URL}/api/tickets`, JSON.stringify({
+            descripcion: `Ticket de carga ${i}`,
+            usuarioId: usuarios[i % usuarios.length],
+        }), JSON_HEADERS);
+        if (res.status === 200 || res.status === 201) {
+            tickets.push(res.json('id'));
+        }
+    }
+    return { usuarios, tickets };
+}
+
+export default function (datos) {
+    const r = Math.random();
+    if (r < 0.6) {
+        const res = http.get(`${BASE_URL}/api/tickets/${randomItem(datos.tickets)}`, { tags: { operacion: 'detalle' } });
+        check(res, { 'detalle 200': (x) => x.status === 200 });
+    } else if (r < 0.9) {
+        const res = http.get(`${BASE_URL}/api/tickets/filtrar?status=ABIERTO&usuarioId=${randomItem(datos.usuarios)}&page=0&size=20`,
+            { tags: { operacion: 'filtrar' } });
+        check(res, { 'filtrar 200': (x) => x.status === 200 });
+    } else {
+        const res = http.post(`${BASE_URL}/api/tickets`, JSON.stringify({
+            descripcion: 'Ticket creado durante la carga',
+            usuarioId: randomItem(datos.usuarios),
+        }), Object.assign({ tags: { operacion: 'crear' } }, JSON_HEADERS));
+        check(res, { 'crear 2xx': (x) => x.status >= 200 && x.status < 300 });
+    }
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`loadtest/resultados-${MODO}.json`]: JSON.stringify(data, null, 2),
+    };
+}
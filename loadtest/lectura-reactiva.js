@@ -0,0 +1,68 @@
+// Rendimiento por núcleo de la lectura de tickets: API MVC (JPA) frente a la API reactiva (R2DBC + Lettuce reactivo).
+//
+//   docker compose up -d --build ms-tickets && docker update --cpus 1 ms-tickets
+//   k6 run -e API=mvc loadtest/lectura-reactiva.js
+//   k6 run -e API=reactivo loadtest/lectura-reactiva.js
+//
+// Con un solo núcleo, iterations/s es directamente el rendimiento por núcleo. Cada resumen queda en
+// loadtest/resultados-lectura-<API>.json.
+import http from 'k6/http';
+import { check } from 'k6';
+import { randomItem } from 'https://jslib.k6.io/k6-utils/1.4.0/index.js';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const API = __ENV.API || 'mvc';
+const PREFIJO = API === 'reactivo' ? '/api/tickets/reactivo' : '/api/tickets';
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        // Carga cerrada: cada VU lanza la siguiente petición en cuanto recibe la anterior.
+        lectura: {
+            executor: 'constant-vus',
+            vus: 400,
+            duration: '2m',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const usuarios = Array.from({ length: 20 }, () => crypto.randomUUID());
+    const tickets = [];
+    for (let i = 0; i < 1000; i++) {
+        const res = http.post(`${BASE_URL}/api/tickets`, JSON.stringify({
+            descripcion: `Ticket de lectura ${i}`,
+            usuarioId: usuarios[i % usuarios.length],
+        }), JSON_HEADERS);
+        if (res.status === 201) {
+            tickets.push(res.json('id'));
+        }
+    }
+    return { usuarios, tickets };
+}
+
+export default function (datos) {
+    const r = Math.random();
+    let res;
+    if (r < 0.5) {
+        res = http.get(`${BASE_URL}${PREFIJO}/${randomItem(datos.tickets)}`, { tags: { operacion: 'detalle' } });
+    } else if (r < 0.8) {
+        res = http.get(`${BASE_URL}${PREFIJO}/filtrar?usuarioId=${randomItem(datos.usuarios)}&page=0&size=20`,
+            { tags: { operacion: 'filtrar' } });
+    } else {
+        res = http.get(`${BASE_URL}${PREFIJO}?page=0&size=50`, { tags: { operacion: 'listar' } });
+    }
+    check(res, { '200': (x) => x.status === 200 });
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`loadtest/resultados-lectura-${API}.json`]: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,21 @@
+-- Carga 1M de tickets en la base del perfil prod para medir arranque y latencia con datos reales.
+-- El esquema debe existir (arrancar ms-tickets una vez con SPRING_PROFILES_ACTIVE=prod) y la aplicación detenida:
+--
+--   java -cp h2-2.3.232.jar org.h2.tools.RunScript -url "jdbc:h2:file:./data/ticketsdb" -user sa \
+--        -script loadtest/semilla-tickets.sql
+--
+-- 1000 usuarios (usuario_id 00000000-0000-7000-8000-000000000000 ... 999), un ticket por segundo hacia atrás
+-- desde 2026-01-01 y uno de cada cuatro CERRADO. Los id son UUID v7 como los de la aplicación.
+INSERT INTO tickets (id, usuario_id, descripcion, status, fecha_creacion, fecha_actualizacion)
+SELECT RANDOM_UUID(7),
+       CAST('00000000-0000-7000-8000-' || LPAD(CAST(MOD(X, 1000) AS VARCHAR), 12, '0') AS UUID),
+       'Ticket de carga ' || X,
+       CASE WHEN MOD(X, 4) = 0 THEN 'CERRADO' ELSE 'ABIERTO' END,
+       DATEADD(SECOND, -X, TIMESTAMP '2026-01-01 00:00:00'),
+       DATEADD(SECOND, -X, TIMESTAMP '2026-01-01 00:00:00')
+FROM SYSTEM_RANGE(1, 1000000);
+
+ANALYZE;
+
+-- La inserción en una sola transacción deja ~2.8 GB de versiones antiguas en el archivo; compactado queda en ~150 MB
+SHUTDOWN COMPACT;
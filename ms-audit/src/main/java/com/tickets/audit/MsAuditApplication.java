@@ -0,0 +1,13 @@
+package com.tickets.audit;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class MsAuditApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(MsAuditApplication.class, args);
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.tickets.audit.config;
+
+import com.tickets.audit.store.SegmentLogAuditEventStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class AuditStoreConfig {
+
+    @Value("${auditoria.store.segmentos.directorio:./data/segmentos}")
+    private String directorio;
+
+    @Value("${auditoria.store.segmentos.tamano-segmento:64MB}")
+    private DataSize tamanoSegmento;
+
+    @Value("${auditoria.store.segmentos.intervalo-indice:4KB}")
+    private DataSize intervaloIndice;
+
+    @Value("${auditoria.store.segmentos.retencion:90d}")
+    private Duration retencion;
+
+    @Value("${auditoria.store.segmentos.sincronizar-cada-lote:true}")
+    private boolean sincronizarCadaLote;
+
+    @Value("${auditoria.store.segmentos.ventana-duplicados:100000}")
+    private int ventanaDuplicados;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "auditoria.store.tipo", havingValue = "segmentos", matchIfMissing = true)
+    public SegmentLogAuditEventStore segmentLogAuditEventStore() {
+        return new SegmentLogAuditEventStore(Path.of(directorio), Math.toIntExact(tamanoSegmento.toBytes()),
+                Math.toIntExact(intervaloIndice.toBytes()), retencion, sincronizarCadaLote, ventanaDuplicados,
+                Clock.systemDefaultZone());
+    }
+}
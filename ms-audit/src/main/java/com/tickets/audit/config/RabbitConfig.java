@@ -0,0 +1,92 @@
+package com.tickets.audit.config;
+
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String AUDIT_QUEUE = "logs.auditoria";
+    /** Mensajes que no se pueden leer o guardar nunca; se revisan y, si procede, se reenvían a mano. */
+    public static final String AUDIT_DLQ = "logs.auditoria.rechazados";
+
+    @Value("${auditoria.consumidor.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${auditoria.consumidor.prefetch:1000}")
+    private int prefetch;
+
+    @Value("${auditoria.consumidor.espera-lote:200ms}")
+    private Duration esperaLote;
+
+    @Value("${auditoria.consumidor.concurrencia:4}")
+    private int concurrencia;
+
+    @Value("${auditoria.consumidor.concurrencia-maxima:8}")
+    private int concurrenciaMaxima;
+
+    @Value("${auditoria.consumidor.reintento.intentos:5}")
+    private int intentos;
+
+    @Value("${auditoria.consumidor.reintento.espera-inicial:1s}")
+    private Duration esperaInicial;
+
+    @Value("${auditoria.consumidor.reintento.espera-maxima:30s}")
+    private Duration esperaMaxima;
+
+    @Bean
+    public Queue auditQueue() {
+        return new Queue(AUDIT_QUEUE, true); // durable
+    }
+
+    @Bean
+    public Queue auditDeadLetterQueue() {
+        return new Queue(AUDIT_DLQ, true);
+    }
+
+    /**
+     * Contenedor para consumo por lotes: cada consumidor agrupa hasta {@code tamano-lote} mensajes
+     * (o los que lleguen en {@code espera-lote}) y los confirma con un único ack múltiple.
+     * El prefetch nunca es menor que el lote, para que el broker pueda llenarlo sin esperar acks.
+     * El listener solo lanza una excepción ante fallos transitorios del almacén, porque los mensajes que no se
+     * pueden leer o guardar los aparta él a {@value #AUDIT_DLQ}. Entonces el lote se reintenta en el mismo consumidor
+     * con espera exponencial ({@code reintento.*}) y, agotados los intentos, vuelve a la cola: una caída del
+     * almacén frena el consumo en vez de reentregar el lote sin pausa.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory auditBatchContainerFactory(
+            ConnectionFactory connectionFactory,
+            SimpleRabbitListenerContainerFactoryConfigurer configurer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(tamanoLote);
+        factory.setPrefetchCount(Math.max(prefetch, tamanoLote));
+        factory.setReceiveTimeout(esperaLote.toMillis());
+        factory.setConcurrentConsumers(concurrencia);
+        factory.setMaxConcurrentConsumers(Math.max(concurrencia, concurrenciaMaxima));
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(true);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(intentos)
+                .backOffOptions(esperaInicial.toMillis(), 2.0, esperaMaxima.toMillis())
+                .recoverer((MessageBatchRecoverer) (mensajes, causa) -> {
+                    throw new ImmediateRequeueAmqpException(
+                            "Almacén de auditoría no disponible; el lote vuelve a la cola", causa);
+                })
+                .build());
+        return factory;
+    }
+}
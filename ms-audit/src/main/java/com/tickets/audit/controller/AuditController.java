@@ -0,0 +1,48 @@
+package com.tickets.audit.controller;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import com.tickets.audit.service.AuditServiceInterface;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/auditoria")
+@RequiredArgsConstructor
+@Tag(name = "Auditoría", description = "Consulta de eventos de auditoría")
+public class AuditController {
+
+    private final AuditServiceInterface auditService;
+
+    @Operation(summary = "Buscar eventos de auditoría por servicio, acción, usuario y rango de fechas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos encontrados"),
+            @ApiResponse(responseCode = "400", description = "Parámetros inválidos")})
+    @GetMapping
+    public ResponseEntity<List<AuditEventDTO>> buscarEventos(
+            @RequestParam(required = false) String servicio,
+            @RequestParam(required = false) String accion,
+            @RequestParam(required = false) String usuario,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        FiltroAuditoriaDTO filtro = FiltroAuditoriaDTO.builder()
+                .servicio(servicio)
+                .accion(accion)
+                .usuario(usuario)
+                .desde(desde)
+                .hasta(hasta)
+                .build();
+        return ResponseEntity.ok(auditService.buscarEventos(filtro, page, size));
+    }
+}
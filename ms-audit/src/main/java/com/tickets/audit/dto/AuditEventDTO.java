@@ -0,0 +1,25 @@
+package com.tickets.audit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDTO {
+
+    private Long id;
+    /** Identificador asignado por el productor; los eventos con un id ya guardado se ignoran. */
+    private UUID eventoId;
+    private LocalDateTime timestamp;
+    private String servicio;
+    private String accion;
+    private String usuario;
+    private String data;
+}
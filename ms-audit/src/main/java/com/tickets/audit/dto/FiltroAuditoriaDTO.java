@@ -0,0 +1,20 @@
+package com.tickets.audit.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de búsqueda de eventos; los campos nulos no filtran.
+ */
+@Data
+@Builder
+public class FiltroAuditoriaDTO {
+
+    private String servicio;
+    private String accion;
+    private String usuario;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+}
@@ -0,0 +1,199 @@
+package com.tickets.audit.listener;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Sobre binario versionado para eventos de auditoría:
+ * <pre>
+ * byte   versión
+ * byte   flags (bit 0: cuerpo comprimido con LZ4)
+ * short  esquema del cuerpo
+ * int    longitud del cuerpo sin comprimir
+ * bytes  cuerpo (comprimido o no)
+ * </pre>
+ * Cuerpo del esquema {@link #ESQUEMA_EVENTO}: fecha en nanosegundos desde epoch (UTC) y los campos
+ * servicio, accion, usuario y data como UTF-8 con prefijo de longitud varint (0 = null, n = n-1 bytes).
+ * {@code data} viaja como los bytes del JSON original, sin volver a escaparlo dentro de otro JSON.
+ * <p>
+ * Al decodificar, la entrada viene del broker y no es de fiar: la longitud declarada se acota con
+ * {@link #MAXIMO_CUERPO} antes de reservar memoria y el cuerpo comprimido se lee sin salirse del mensaje.
+ */
+public final class AuditEnvelopeCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.tickets.audit-event";
+
+    static final byte VERSION = 1;
+    static final short ESQUEMA_EVENTO = 1;
+    static final byte FLAG_LZ4 = 0x01;
+    static final int CABECERA = 8;
+    /** Longitud máxima del cuerpo sin comprimir que se acepta al decodificar. */
+    static final int MAXIMO_CUERPO = 16 * 1024 * 1024;
+
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final LZ4Compressor COMPRESOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor DESCOMPRESOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private AuditEnvelopeCodec() {
+    }
+
+    /** Codifica el evento; el cuerpo se comprime solo si alcanza {@code umbralCompresion} bytes y reduce tamaño. */
+    public static byte[] codificar(AuditEventDTO evento, int umbralCompresion) {
+        byte[] servicio = bytes(evento.getServicio());
+        byte[] accion = bytes(evento.getAccion());
+        byte[] usuario = bytes(evento.getUsuario());
+        byte[] data = bytes(evento.getData());
+        int longitudCuerpo = 8 + tamanoCampo(servicio) + tamanoCampo(accion) + tamanoCampo(usuario) + tamanoCampo(data);
+
+        ByteBuffer cuerpo = ByteBuffer.allocate(CABECERA + longitudCuerpo);
+        cuerpo.position(CABECERA);
+        cuerpo.putLong(evento.getTimestamp() == null ? SIN_FECHA : aNanos(evento.getTimestamp()));
+        escribirCampo(cuerpo, servicio);
+        escribirCampo(cuerpo, accion);
+        escribirCampo(cuerpo, usuario);
+        escribirCampo(cuerpo, data);
+        byte[] plano = cuerpo.array();
+
+        if (longitudCuerpo >= umbralCompresion) {
+            byte[] comprimido = new byte[CABECERA + COMPRESOR.maxCompressedLength(longitudCuerpo)];
+            int longitudComprimida = COMPRESOR.compress(plano, CABECERA, longitudCuerpo, comprimido, CABECERA);
+            if (longitudComprimida < longitudCuerpo) {
+                escribirCabecera(comprimido, FLAG_LZ4, longitudCuerpo);
+                return Arrays.copyOf(comprimido, CABECERA + longitudComprimida);
+            }
+        }
+        escribirCabecera(plano, (byte) 0, longitudCuerpo);
+        return plano;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el sobre está truncado, corrupto o es de una versión no soportada
+     */
+    public static AuditEventDTO decodificar(byte[] mensaje) {
+        if (mensaje.length < CABECERA) {
+            throw new IllegalArgumentException("Sobre de auditoría truncado");
+        }
+        ByteBuffer entrada = ByteBuffer.wrap(mensaje);
+        byte version = entrada.get();
+        byte flags = entrada.get();
+        short esquema = entrada.getShort();
+        int longitudCuerpo = entrada.getInt();
+        if (version != VERSION || esquema != ESQUEMA_EVENTO) {
+            throw new IllegalArgumentException("Sobre de auditoría no soportado: versión " + version + ", esquema " + esquema);
+        }
+        if (longitudCuerpo < 0 || longitudCuerpo > MAXIMO_CUERPO) {
+            throw new IllegalArgumentException("Longitud de cuerpo inválida en sobre de auditoría: " + longitudCuerpo);
+        }
+        try {
+            ByteBuffer cuerpo = entrada;
+            if ((flags & FLAG_LZ4) != 0) {
+                byte[] plano = new byte[longitudCuerpo];
+                int leidos = DESCOMPRESOR.decompress(mensaje, CABECERA, mensaje.length - CABECERA, plano, 0, longitudCuerpo);
+                if (leidos != longitudCuerpo) {
+                    throw new IllegalArgumentException("Cuerpo comprimido de " + leidos + " bytes, se esperaban " + longitudCuerpo);
+                }
+                cuerpo = ByteBuffer.wrap(plano);
+            } else if (mensaje.length - CABECERA != longitudCuerpo) {
+                throw new IllegalArgumentException("Cuerpo de " + (mensaje.length - CABECERA) + " bytes, se esperaban " + longitudCuerpo);
+            }
+            long fecha = cuerpo.getLong();
+            return AuditEventDTO.builder()
+                    .timestamp(fecha == SIN_FECHA ? null : aFecha(fecha))
+                    .servicio(leerCampo(cuerpo))
+                    .accion(leerCampo(cuerpo))
+                    .usuario(leerCampo(cuerpo))
+                    .data(leerCampo(cuerpo))
+                    .build();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | LZ4Exception | DateTimeException e) {
+            throw new IllegalArgumentException("Sobre de auditoría corrupto", e);
+        }
+    }
+
+    private static void escribirCabecera(byte[] destino, byte flags, int longitudCuerpo) {
+        ByteBuffer.wrap(destino, 0, CABECERA)
+                .put(VERSION)
+                .put(flags)
+                .putShort(ESQUEMA_EVENTO)
+                .putInt(longitudCuerpo);
+    }
+
+    private static int tamanoCampo(byte[] campo) {
+        int longitud = campo == null ? 0 : campo.length;
+        return tamanoVarint(longitud + 1) + longitud;
+    }
+
+    private static void escribirCampo(ByteBuffer destino, byte[] campo) {
+        if (campo == null) {
+            escribirVarint(destino, 0);
+            return;
+        }
+        escribirVarint(destino, campo.length + 1);
+        destino.put(campo);
+    }
+
+    private static String leerCampo(ByteBuffer origen) {
+        int longitud = leerVarint(origen) - 1;
+        if (longitud == -1) {
+            return null;
+        }
+        if (longitud < 0 || longitud > origen.remaining()) {
+            throw new IllegalArgumentException("Campo de " + longitud + " bytes fuera del sobre de auditoría");
+        }
+        String valor = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud, StandardCharsets.UTF_8);
+        origen.position(origen.position() + longitud);
+        return valor;
+    }
+
+    private static int tamanoVarint(int valor) {
+        int tamano = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    private static void escribirVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int leerVarint(ByteBuffer origen) {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = origen.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint mal formado en sobre de auditoría");
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long aNanos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fecha.getNano();
+    }
+
+    private static LocalDateTime aFecha(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,111 @@
+package com.tickets.audit.listener;
+
+import com.tickets.audit.config.RabbitConfig;
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.service.AuditServiceInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consume la cola de auditoría por lotes. El contenedor confirma el lote completo cuando este método termina.
+ * <ul>
+ *     <li>Los mensajes mal formados se apartan a {@value RabbitConfig#AUDIT_DLQ} con el motivo en la
+ *     cabecera {@value #CABECERA_MOTIVO}.</li>
+ *     <li>Si el lote no se puede guardar se reintenta evento a evento: los que fallan por sí mismos (inválidos,
+ *     o cuando el resto del lote sí se guarda) también se apartan.</li>
+ *     <li>Si no se guarda ninguno por un fallo transitorio del almacén, se lanza la excepción sin apartar nada y el
+ *     contenedor reintenta el lote con espera creciente; al reentregarse, el almacén omite los eventos que ya
+ *     tenía por su id.</li>
+ * </ul>
+ * Solo se aparta en el camino que confirma el lote, para que una reentrega no vuelva a apartar los mismos mensajes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditEventListener {
+
+    static final String CABECERA_MOTIVO = "x-motivo-rechazo";
+
+    private final AuditServiceInterface auditService;
+    private final AuditEventMessageConverter converter;
+    private final AmqpTemplate amqpTemplate;
+
+    @RabbitListener(queues = RabbitConfig.AUDIT_QUEUE, containerFactory = "auditBatchContainerFactory")
+    public void recibirLote(List<Message> mensajes) {
+        List<AuditEventDTO> eventos = new ArrayList<>(mensajes.size());
+        List<Message> leidos = new ArrayList<>(mensajes.size());
+        List<Message> apartados = new ArrayList<>();
+        for (Message mensaje : mensajes) {
+            try {
+                eventos.add(converter.fromMessage(mensaje));
+                leidos.add(mensaje);
+            } catch (MessageConversionException e) {
+                apartar(mensaje, "Formato inválido: " + e.getMessage(), apartados);
+            }
+        }
+        try {
+            auditService.registrarEventos(eventos);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo guardar el lote de {} eventos de auditoría, se reintenta uno a uno: {}",
+                    eventos.size(), e.getMessage());
+            guardarUnoAUno(eventos, leidos, apartados);
+        }
+        rechazar(apartados);
+    }
+
+    /** Lanza el fallo transitorio si no se guardó ninguno; si no, añade a {@code apartados} los que fallaron. */
+    private void guardarUnoAUno(List<AuditEventDTO> eventos, List<Message> mensajes, List<Message> apartados) {
+        List<Integer> fallidos = new ArrayList<>();
+        RuntimeException transitorio = null;
+        boolean algunoGuardado = false;
+        for (int i = 0; i < eventos.size(); i++) {
+            try {
+                auditService.registrarEventos(List.of(eventos.get(i)));
+                algunoGuardado = true;
+            } catch (RuntimeException e) {
+                if (esPermanente(e)) {
+                    apartar(mensajes.get(i), e.getMessage(), apartados);
+                } else {
+                    fallidos.add(i);
+                    transitorio = e;
+                }
+            }
+        }
+        if (transitorio != null && !algunoGuardado) {
+            throw transitorio;
+        }
+        for (int i : fallidos) {
+            apartar(mensajes.get(i), "No se pudo guardar aunque el resto del lote sí: " + transitorio.getMessage(),
+                    apartados);
+        }
+    }
+
+    private static boolean esPermanente(RuntimeException e) {
+        return e instanceof IllegalArgumentException
+                || (e instanceof DataIntegrityViolationException && !(e instanceof DuplicateKeyException));
+    }
+
+    private static void apartar(Message mensaje, String motivo, List<Message> apartados) {
+        mensaje.getMessageProperties().setHeader(CABECERA_MOTIVO, String.valueOf(motivo));
+        apartados.add(mensaje);
+    }
+
+    /** Si el envío falla, la excepción devuelve el lote entero a la cola y el mensaje no se pierde. */
+    private void rechazar(List<Message> apartados) {
+        for (Message mensaje : apartados) {
+            log.warn("Evento de auditoría apartado a {}: {}", RabbitConfig.AUDIT_DLQ,
+                    mensaje.getMessageProperties().<String>getHeader(CABECERA_MOTIVO));
+            amqpTemplate.send(RabbitConfig.AUDIT_DLQ, mensaje);
+        }
+    }
+}
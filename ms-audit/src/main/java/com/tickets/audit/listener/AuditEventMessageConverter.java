@@ -0,0 +1,67 @@
+package com.tickets.audit.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.audit.dto.AuditEventDTO;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Lee eventos de auditoría en el sobre binario ({@link AuditEnvelopeCodec}) o, por compatibilidad,
+ * como JSON: tanto {@code application/json} como el {@code text/plain} que enviaban los productores
+ * anteriores y que siguen enviando al reenviar su archivo de volcado. El id del evento sale del cuerpo JSON
+ * o, si no viene ahí, del {@code message-id}.
+ */
+@Component
+public class AuditEventMessageConverter implements MessageConverter {
+
+    private final ObjectMapper objectMapper;
+
+    public AuditEventMessageConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Message toMessage(Object objeto, MessageProperties propiedades) {
+        if (!(objeto instanceof AuditEventDTO evento)) {
+            throw new MessageConversionException("Tipo no soportado: " + objeto.getClass().getName());
+        }
+        propiedades.setContentType(AuditEnvelopeCodec.CONTENT_TYPE);
+        return new Message(AuditEnvelopeCodec.codificar(evento, Integer.MAX_VALUE), propiedades);
+    }
+
+    @Override
+    public AuditEventDTO fromMessage(Message mensaje) {
+        AuditEventDTO evento;
+        try {
+            if (AuditEnvelopeCodec.CONTENT_TYPE.equals(mensaje.getMessageProperties().getContentType())) {
+                evento = AuditEnvelopeCodec.decodificar(mensaje.getBody());
+            } else {
+                evento = objectMapper.readValue(mensaje.getBody(), AuditEventDTO.class);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new MessageConversionException("Evento de auditoría ilegible", e);
+        }
+        if (evento.getEventoId() == null) {
+            evento.setEventoId(eventoId(mensaje.getMessageProperties().getMessageId()));
+        }
+        return evento;
+    }
+
+    /** El {@code message-id} de los productores es el id del evento; otro valor se ignora. */
+    private static UUID eventoId(String messageId) {
+        if (messageId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(messageId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.tickets.audit.service;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+
+import java.util.List;
+
+public interface AuditServiceInterface {
+
+    void registrarEventos(List<AuditEventDTO> eventos);
+
+    List<AuditEventDTO> buscarEventos(FiltroAuditoriaDTO filtro, int pagina, int tamano);
+}
@@ -0,0 +1,54 @@
+package com.tickets.audit.service.impl;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import com.tickets.audit.service.AuditServiceInterface;
+import com.tickets.audit.store.AuditEventStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditServiceImpl implements AuditServiceInterface {
+
+    static final int MAX_TAMANO_PAGINA = 1000;
+    /** Profundidad máxima de la paginación: página por tamaño no puede pasar de aquí. */
+    static final int MAX_EVENTOS_CONSULTABLES = 100_000;
+
+    private final AuditEventStore store;
+
+    @Override
+    public void registrarEventos(List<AuditEventDTO> eventos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        for (AuditEventDTO evento : eventos) {
+            if (evento.getTimestamp() == null) {
+                evento.setTimestamp(ahora);
+            }
+        }
+        store.guardarLote(eventos);
+        log.debug("Lote de auditoría persistido: {} eventos", eventos.size());
+    }
+
+    @Override
+    public List<AuditEventDTO> buscarEventos(FiltroAuditoriaDTO filtro, int pagina, int tamano) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        if (tamano < 1 || tamano > MAX_TAMANO_PAGINA) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_TAMANO_PAGINA);
+        }
+        if (((long) pagina + 1) * tamano > MAX_EVENTOS_CONSULTABLES) {
+            throw new IllegalArgumentException("Solo se pueden consultar los " + MAX_EVENTOS_CONSULTABLES
+                    + " eventos más recientes del filtro; acote la búsqueda por fechas");
+        }
+        if (filtro.getDesde() != null && filtro.getHasta() != null && filtro.getDesde().isAfter(filtro.getHasta())) {
+            throw new IllegalArgumentException("La fecha 'desde' no puede ser posterior a 'hasta'");
+        }
+        return store.buscar(filtro, pagina, tamano);
+    }
+}
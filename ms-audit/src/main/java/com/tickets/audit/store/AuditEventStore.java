@@ -0,0 +1,17 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+
+import java.util.List;
+
+/**
+ * Almacenamiento de eventos de auditoría: escritura por lotes y consulta por filtros.
+ */
+public interface AuditEventStore {
+
+    void guardarLote(List<AuditEventDTO> eventos);
+
+    /** Eventos que cumplen el filtro, del más reciente al más antiguo. */
+    List<AuditEventDTO> buscar(FiltroAuditoriaDTO filtro, int pagina, int tamano);
+}
@@ -0,0 +1,185 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de un registro del log de segmentos:
+ * <pre>
+ * int  tamaño del cuerpo
+ * int  CRC32C del cuerpo
+ * cuerpo:
+ *   long offset (identificador del evento)
+ *   long fecha en nanosegundos desde epoch (UTC)
+ *   4 x (int longitud | bytes UTF-8): servicio, accion, usuario, data; longitud -1 = null
+ *   opcional: 16 bytes con el id del evento asignado por el productor (los registros antiguos no lo llevan)
+ * </pre>
+ * Los campos se leen directamente del buffer mapeado; solo se decodifican a {@code String}
+ * los registros que forman parte del resultado.
+ */
+final class AuditRecordCodec {
+
+    static final int CABECERA = 8;
+    static final int OFFSET = CABECERA;
+    static final int FECHA = CABECERA + 8;
+    static final int CAMPOS = CABECERA + 16;
+
+    static final int SERVICIO = 0;
+    static final int ACCION = 1;
+    static final int USUARIO = 2;
+    static final int DATA = 3;
+
+    private AuditRecordCodec() {
+    }
+
+    static byte[][] campos(AuditEventDTO evento) {
+        return new byte[][]{
+                bytes(evento.getServicio()),
+                bytes(evento.getAccion()),
+                bytes(evento.getUsuario()),
+                bytes(evento.getData())};
+    }
+
+    static int tamanoRegistro(byte[][] campos, UUID eventoId) {
+        int tamano = CAMPOS + (eventoId == null ? 0 : 16);
+        for (byte[] campo : campos) {
+            tamano += 4 + (campo == null ? 0 : campo.length);
+        }
+        return tamano;
+    }
+
+    /** Escribe el registro en {@code destino} a partir de {@code posicion}; el espacio ya debe estar comprobado. */
+    static void escribir(ByteBuffer destino, int posicion, long offset, long fecha, byte[][] campos, UUID eventoId) {
+        int cursor = posicion + OFFSET;
+        destino.putLong(cursor, offset);
+        destino.putLong(cursor + 8, fecha);
+        cursor = posicion + CAMPOS;
+        for (byte[] campo : campos) {
+            if (campo == null) {
+                destino.putInt(cursor, -1);
+                cursor += 4;
+            } else {
+                destino.putInt(cursor, campo.length);
+                destino.put(cursor + 4, campo);
+                cursor += 4 + campo.length;
+            }
+        }
+        if (eventoId != null) {
+            destino.putLong(cursor, eventoId.getMostSignificantBits());
+            destino.putLong(cursor + 8, eventoId.getLeastSignificantBits());
+            cursor += 16;
+        }
+        int tamanoCuerpo = cursor - posicion - CABECERA;
+        destino.putInt(posicion + 4, crc(destino, posicion + CABECERA, tamanoCuerpo));
+        destino.putInt(posicion, tamanoCuerpo);
+    }
+
+    /**
+     * Comprueba que en {@code posicion} hay un registro completo e íntegro dentro de {@code limite}.
+     * Devuelve su tamaño total o -1 si no hay registro válido (fin del log o cola truncada).
+     */
+    static int validar(ByteBuffer origen, int posicion, int limite) {
+        if (posicion + CABECERA > limite) {
+            return -1;
+        }
+        int tamanoCuerpo = origen.getInt(posicion);
+        if (tamanoCuerpo < CAMPOS - CABECERA || tamanoCuerpo > limite - posicion - CABECERA) {
+            return -1;
+        }
+        if (origen.getInt(posicion + 4) != crc(origen, posicion + CABECERA, tamanoCuerpo)) {
+            return -1;
+        }
+        return CABECERA + tamanoCuerpo;
+    }
+
+    static int tamano(ByteBuffer origen, int posicion) {
+        return CABECERA + origen.getInt(posicion);
+    }
+
+    static long offset(ByteBuffer origen, int posicion) {
+        return origen.getLong(posicion + OFFSET);
+    }
+
+    static long fecha(ByteBuffer origen, int posicion) {
+        return origen.getLong(posicion + FECHA);
+    }
+
+    /** Posición de la longitud del campo {@code indice} dentro del registro. */
+    static int posicionCampo(ByteBuffer origen, int posicion, int indice) {
+        int cursor = posicion + CAMPOS;
+        for (int i = 0; i < indice; i++) {
+            int longitud = origen.getInt(cursor);
+            cursor += 4 + Math.max(longitud, 0);
+        }
+        return cursor;
+    }
+
+    /** Id del evento o {@code null} si el registro no lo lleva. */
+    static UUID eventoId(ByteBuffer origen, int posicion) {
+        int cursor = posicionCampo(origen, posicion, DATA + 1);
+        if (cursor + 16 > posicion + tamano(origen, posicion)) {
+            return null;
+        }
+        return new UUID(origen.getLong(cursor), origen.getLong(cursor + 8));
+    }
+
+    /** Compara el campo con {@code esperado} sin copiar ni decodificar; {@code null} acepta cualquier valor. */
+    static boolean coincide(ByteBuffer origen, int posicion, int indice, byte[] esperado) {
+        if (esperado == null) {
+            return true;
+        }
+        int cursor = posicionCampo(origen, posicion, indice);
+        int longitud = origen.getInt(cursor);
+        return longitud == esperado.length
+                && origen.slice(cursor + 4, longitud).mismatch(ByteBuffer.wrap(esperado)) == -1;
+    }
+
+    static AuditEventDTO leer(ByteBuffer origen, int posicion) {
+        String[] valores = new String[4];
+        int cursor = posicion + CAMPOS;
+        for (int i = 0; i < valores.length; i++) {
+            int longitud = origen.getInt(cursor);
+            cursor += 4;
+            if (longitud >= 0) {
+                byte[] bytes = new byte[longitud];
+                origen.get(cursor, bytes);
+                valores[i] = new String(bytes, StandardCharsets.UTF_8);
+                cursor += longitud;
+            }
+        }
+        return AuditEventDTO.builder()
+                .id(offset(origen, posicion))
+                .eventoId(eventoId(origen, posicion))
+                .timestamp(aFecha(fecha(origen, posicion)))
+                .servicio(valores[SERVICIO])
+                .accion(valores[ACCION])
+                .usuario(valores[USUARIO])
+                .data(valores[DATA])
+                .build();
+    }
+
+    static long aNanos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fecha.getNano();
+    }
+
+    static LocalDateTime aFecha(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer origen, int posicion, int longitud) {
+        CRC32C crc = new CRC32C();
+        crc.update(origen.slice(posicion, longitud));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persiste los eventos con inserciones JDBC por lotes: un único round-trip y una transacción por lote recibido.
+ * Un lote reentregado no duplica eventos: se omiten los que ya tienen su {@code evento_id} en la tabla.
+ * Se activa con {@code auditoria.store.tipo=jdbc}.
+ */
+@Repository
+@ConditionalOnProperty(name = "auditoria.store.tipo", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcAuditEventStore implements AuditEventStore {
+
+    /** Inserta solo si el id del evento no está ya guardado; los eventos sin id se insertan siempre. */
+    private static final String INSERTAR = """
+            MERGE INTO auditoria_eventos e
+            USING (VALUES (CAST(? AS UUID))) AS n (evento_id) ON e.evento_id = n.evento_id
+            WHEN NOT MATCHED THEN INSERT (evento_id, fecha, servicio, accion, usuario, data)
+            VALUES (n.evento_id, ?, ?, ?, ?, ?)""";
+
+    private static final RowMapper<AuditEventDTO> MAPPER = (rs, fila) -> AuditEventDTO.builder()
+            .id(rs.getLong("id"))
+            .eventoId(rs.getObject("evento_id", UUID.class))
+            .timestamp(rs.getTimestamp("fecha").toLocalDateTime())
+            .servicio(rs.getString("servicio"))
+            .accion(rs.getString("accion"))
+            .usuario(rs.getString("usuario"))
+            .data(rs.getString("data"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void guardarLote(List<AuditEventDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERTAR, eventos, eventos.size(), (ps, evento) -> {
+            ps.setObject(1, evento.getEventoId());
+            ps.setTimestamp(2, Timestamp.valueOf(evento.getTimestamp()));
+            ps.setString(3, evento.getServicio());
+            ps.setString(4, evento.getAccion());
+            ps.setString(5, evento.getUsuario());
+            ps.setString(6, evento.getData());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEventDTO> buscar(FiltroAuditoriaDTO filtro, int pagina, int tamano) {
+        List<String> condiciones = new ArrayList<>();
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        if (filtro.getServicio() != null) {
+            condiciones.add("servicio = :servicio");
+            parametros.addValue("servicio", filtro.getServicio());
+        }
+        if (filtro.getAccion() != null) {
+            condiciones.add("accion = :accion");
+            parametros.addValue("accion", filtro.getAccion());
+        }
+        if (filtro.getUsuario() != null) {
+            condiciones.add("usuario = :usuario");
+            parametros.addValue("usuario", filtro.getUsuario());
+        }
+        if (filtro.getDesde() != null) {
+            condiciones.add("fecha >= :desde");
+            parametros.addValue("desde", Timestamp.valueOf(filtro.getDesde()));
+        }
+        if (filtro.getHasta() != null) {
+            condiciones.add("fecha <= :hasta");
+            parametros.addValue("hasta", Timestamp.valueOf(filtro.getHasta()));
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id, evento_id, fecha, servicio, accion, usuario, data FROM auditoria_eventos");
+        if (!condiciones.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+        sql.append(" ORDER BY fecha DESC, id DESC LIMIT :limite OFFSET :desplazamiento");
+        parametros.addValue("limite", tamano);
+        parametros.addValue("desplazamiento", (long) pagina * tamano);
+
+        return jdbcTemplate.query(sql.toString(), parametros, MAPPER);
+    }
+}
@@ -0,0 +1,275 @@
+package com.tickets.audit.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Un archivo del log de auditoría. El segmento activo se preasigna con la capacidad completa y se
+ * escribe a través de un {@link MappedByteBuffer}; al sellarlo se recorta al tamaño usado, se persiste
+ * su índice disperso y se vuelve a mapear en solo lectura.
+ * Los lectores trabajan sobre vistas del buffer limitadas a {@link #posicionEscritura}, que solo avanza
+ * cuando un registro está completo.
+ */
+@Slf4j
+final class LogSegment {
+
+    static final String EXTENSION_LOG = ".log";
+    static final String EXTENSION_INDICE = ".index";
+    private static final int MAGIA_INDICE = 0x41554449;
+
+    private final long offsetBase;
+    private final Path archivo;
+    private final Path archivoIndice;
+    private final SparseTimeIndex indice;
+
+    private volatile FileChannel canal;
+    private volatile MappedByteBuffer buffer;
+    private volatile int posicionEscritura;
+    private volatile long fechaMinima = Long.MAX_VALUE;
+    private volatile long fechaMaxima = Long.MIN_VALUE;
+    private long siguienteOffset;
+    private volatile boolean sellado;
+
+    private LogSegment(Path directorio, long offsetBase, int intervaloIndice) {
+        this.offsetBase = offsetBase;
+        this.archivo = directorio.resolve(nombre(offsetBase) + EXTENSION_LOG);
+        this.archivoIndice = directorio.resolve(nombre(offsetBase) + EXTENSION_INDICE);
+        this.indice = new SparseTimeIndex(intervaloIndice);
+        this.siguienteOffset = offsetBase;
+    }
+
+    static LogSegment crear(Path directorio, long offsetBase, int capacidad, int intervaloIndice) throws IOException {
+        LogSegment segmento = new LogSegment(directorio, offsetBase, intervaloIndice);
+        segmento.canal = FileChannel.open(segmento.archivo,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmento.buffer = segmento.canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+        return segmento;
+    }
+
+    /**
+     * Abre un segmento existente. Si es el activo se recorre completo validando cada registro y se
+     * descarta la cola a partir del primero incompleto o con CRC erróneo; si está sellado y tiene
+     * índice persistido se carga el índice sin recorrer los datos.
+     */
+    static LogSegment abrir(Path directorio, long offsetBase, boolean activo, int capacidad,
+                            int intervaloIndice) throws IOException {
+        LogSegment segmento = new LogSegment(directorio, offsetBase, intervaloIndice);
+        if (!activo && segmento.cargarIndice()) {
+            segmento.canal = FileChannel.open(segmento.archivo, StandardOpenOption.READ);
+            segmento.buffer = segmento.canal.map(FileChannel.MapMode.READ_ONLY, 0, segmento.posicionEscritura);
+            segmento.sellado = true;
+            return segmento;
+        }
+        segmento.canal = FileChannel.open(segmento.archivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamanoArchivo = segmento.canal.size();
+        segmento.buffer = segmento.canal.map(FileChannel.MapMode.READ_WRITE, 0,
+                activo ? Math.max(capacidad, tamanoArchivo) : tamanoArchivo);
+        segmento.recuperar();
+        if (!activo) {
+            segmento.sellar();
+        }
+        return segmento;
+    }
+
+    private void recuperar() {
+        int limite = buffer.capacity();
+        int posicion = 0;
+        while (true) {
+            int tamano = AuditRecordCodec.validar(buffer, posicion, limite);
+            if (tamano < 0 || AuditRecordCodec.offset(buffer, posicion) != siguienteOffset) {
+                break;
+            }
+            registrarEscrito(posicion, AuditRecordCodec.fecha(buffer, posicion));
+            posicion += tamano;
+        }
+        posicionEscritura = posicion;
+        if (posicion + 4 <= limite && buffer.getInt(posicion) != 0) {
+            log.warn("Segmento {}: registro incompleto o corrupto en la posición {}, se descarta la cola",
+                    archivo.getFileName(), posicion);
+            for (int i = posicion; i < limite; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Añade un registro. Devuelve {@code false} si no cabe y hay que pasar a un segmento nuevo.
+     */
+    boolean anexar(long fecha, byte[][] campos, UUID eventoId) {
+        int tamano = AuditRecordCodec.tamanoRegistro(campos, eventoId);
+        int posicion = posicionEscritura;
+        if (tamano > buffer.capacity() - posicion) {
+            return false;
+        }
+        AuditRecordCodec.escribir(buffer, posicion, siguienteOffset, fecha, campos, eventoId);
+        registrarEscrito(posicion, fecha);
+        posicionEscritura = posicion + tamano;
+        return true;
+    }
+
+    private void registrarEscrito(int posicion, long fecha) {
+        indice.registrar(posicion, fecha);
+        if (fecha < fechaMinima) {
+            fechaMinima = fecha;
+        }
+        if (fecha > fechaMaxima) {
+            fechaMaxima = fecha;
+        }
+        siguienteOffset++;
+    }
+
+    /**
+     * Descarta los registros escritos desde {@code posicion}, que vuelve a ser la posición de escritura con
+     * {@code offset} como siguiente offset. Solo para segmentos sin sellar. Las fechas mínima y máxima no se
+     * recalculan: quedan como cota, que es lo que necesitan las consultas.
+     */
+    void truncar(int posicion, long offset) {
+        int hasta = posicionEscritura;
+        posicionEscritura = posicion;
+        siguienteOffset = offset;
+        indice.truncar(posicion);
+        for (int i = posicion; i < hasta; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        if (hasta > posicion) {
+            buffer.force(posicion, hasta - posicion);
+        }
+    }
+
+    /** Fuerza a disco el rango escrito desde {@code desde}. */
+    void sincronizar(int desde) {
+        int hasta = posicionEscritura;
+        if (hasta > desde) {
+            buffer.force(desde, hasta - desde);
+        }
+    }
+
+    /** Recorta el archivo al tamaño usado, persiste el índice y deja el segmento en solo lectura. */
+    void sellar() throws IOException {
+        if (sellado) {
+            return;
+        }
+        buffer.force();
+        int usado = posicionEscritura;
+        canal.truncate(usado);
+        canal.close();
+        escribirIndice();
+        canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, usado);
+        sellado = true;
+    }
+
+    private void escribirIndice() throws IOException {
+        int entradas = indice.entradas();
+        ByteBuffer contenido = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 4 + entradas * 12);
+        contenido.putInt(MAGIA_INDICE)
+                .putInt(posicionEscritura)
+                .putLong(siguienteOffset)
+                .putLong(fechaMinima)
+                .putLong(fechaMaxima)
+                .putInt(entradas);
+        for (int i = 0; i < entradas; i++) {
+            contenido.putInt(indice.posicion(i)).putLong(indice.maximoAnterior(i));
+        }
+        contenido.flip();
+        Path temporal = archivoIndice.resolveSibling(archivoIndice.getFileName() + ".tmp");
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contenido.hasRemaining()) {
+                salida.write(contenido);
+            }
+            salida.force(true);
+        }
+        Files.move(temporal, archivoIndice, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean cargarIndice() throws IOException {
+        if (!Files.exists(archivoIndice)) {
+            return false;
+        }
+        ByteBuffer contenido = ByteBuffer.wrap(Files.readAllBytes(archivoIndice));
+        if (contenido.remaining() < 36 || contenido.getInt() != MAGIA_INDICE) {
+            return false;
+        }
+        int usado = contenido.getInt();
+        if (usado != Files.size(archivo)) {
+            return false;
+        }
+        posicionEscritura = usado;
+        siguienteOffset = contenido.getLong();
+        fechaMinima = contenido.getLong();
+        fechaMaxima = contenido.getLong();
+        int entradas = contenido.getInt();
+        if (contenido.remaining() < entradas * 12) {
+            return false;
+        }
+        for (int i = 0; i < entradas; i++) {
+            indice.cargar(contenido.getInt(), contenido.getLong());
+        }
+        return true;
+    }
+
+    /**
+     * Vista de solo lectura de los registros completos. Se puede seguir usando aunque el segmento
+     * se selle o se elimine después: el mapeo se libera cuando deja de estar referenciado.
+     */
+    ByteBuffer vista() {
+        int limite = posicionEscritura;
+        return buffer.asReadOnlyBuffer().limit(limite);
+    }
+
+    int posicionInicial(long desde) {
+        return indice.posicionInicial(desde);
+    }
+
+    void cerrar() throws IOException {
+        if (!sellado) {
+            buffer.force();
+        }
+        canal.close();
+    }
+
+    void eliminar() throws IOException {
+        canal.close();
+        Files.deleteIfExists(archivo);
+        Files.deleteIfExists(archivoIndice);
+    }
+
+    long getOffsetBase() {
+        return offsetBase;
+    }
+
+    long getSiguienteOffset() {
+        return siguienteOffset;
+    }
+
+    long getFechaMinima() {
+        return fechaMinima;
+    }
+
+    long getFechaMaxima() {
+        return fechaMaxima;
+    }
+
+    int getPosicionEscritura() {
+        return posicionEscritura;
+    }
+
+    boolean isVacio() {
+        return posicionEscritura == 0;
+    }
+
+    static String nombre(long offsetBase) {
+        return String.format("%020d", offsetBase);
+    }
+}
@@ -0,0 +1,307 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de auditoría como log de solo anexado en segmentos mapeados en memoria.
+ * <ul>
+ *     <li>Las escrituras se serializan y van siempre al último segmento; cuando se llena se sella y se abre otro.</li>
+ *     <li>Las consultas descartan segmentos por su rango de fechas, saltan dentro de cada uno con el índice
+ *     disperso y filtran comparando bytes sobre el mapeo, sin copiar registros que no forman parte del resultado.</li>
+ *     <li>Los segmentos sellados cuyo evento más reciente supera la retención se eliminan completos.</li>
+ *     <li>Se recuerdan los ids de los últimos {@code ventanaDuplicados} eventos guardados (también tras reiniciar,
+ *     leyéndolos de los segmentos más recientes) y se ignoran los eventos que llegan de nuevo con uno de ellos.</li>
+ * </ul>
+ */
+@Slf4j
+public class SegmentLogAuditEventStore implements AuditEventStore, AutoCloseable {
+
+    private static final Comparator<Candidato> ORDEN = Comparator
+            .comparingLong(Candidato::fecha)
+            .thenComparingLong(Candidato::offset);
+
+    private final Path directorio;
+    private final int capacidadSegmento;
+    private final int intervaloIndice;
+    private final Duration retencion;
+    private final boolean sincronizarCadaLote;
+    private final int ventanaDuplicados;
+    private final Clock clock;
+
+    private final CopyOnWriteArrayList<LogSegment> segmentos = new CopyOnWriteArrayList<>();
+    private final LinkedHashSet<UUID> recientes = new LinkedHashSet<>();
+    private LogSegment activo;
+    private long proximaRevisionRetencion;
+
+    public SegmentLogAuditEventStore(Path directorio, int capacidadSegmento, int intervaloIndice, Duration retencion,
+                                     boolean sincronizarCadaLote, int ventanaDuplicados, Clock clock) {
+        this.directorio = directorio;
+        this.capacidadSegmento = capacidadSegmento;
+        this.intervaloIndice = intervaloIndice;
+        this.retencion = retencion;
+        this.sincronizarCadaLote = sincronizarCadaLote;
+        this.ventanaDuplicados = ventanaDuplicados;
+        this.clock = clock;
+        try {
+            abrirSegmentos();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el log de auditoría en " + directorio, e);
+        }
+        aplicarRetencion();
+        cargarRecientes();
+    }
+
+    private void abrirSegmentos() throws IOException {
+        Files.createDirectories(directorio);
+        List<Long> bases;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            bases = archivos
+                    .map(archivo -> archivo.getFileName().toString())
+                    .filter(nombre -> nombre.endsWith(LogSegment.EXTENSION_LOG))
+                    .map(nombre -> Long.parseLong(nombre.substring(0, nombre.length() - LogSegment.EXTENSION_LOG.length())))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < bases.size(); i++) {
+            boolean ultimo = i == bases.size() - 1;
+            segmentos.add(LogSegment.abrir(directorio, bases.get(i), ultimo, capacidadSegmento, intervaloIndice));
+        }
+        if (segmentos.isEmpty()) {
+            segmentos.add(LogSegment.crear(directorio, 0, capacidadSegmento, intervaloIndice));
+        }
+        activo = segmentos.get(segmentos.size() - 1);
+        log.info("Log de auditoría abierto en {}: {} segmentos, siguiente offset {}",
+                directorio, segmentos.size(), activo.getSiguienteOffset());
+    }
+
+    /** Recorre los segmentos más recientes hasta reunir los ids de la ventana, en orden de escritura. */
+    private void cargarRecientes() {
+        Deque<List<UUID>> porSegmento = new ArrayDeque<>();
+        int total = 0;
+        for (int i = segmentos.size() - 1; i >= 0 && total < ventanaDuplicados; i--) {
+            List<UUID> ids = new ArrayList<>();
+            ByteBuffer vista = segmentos.get(i).vista();
+            for (int posicion = 0; posicion < vista.limit(); posicion += AuditRecordCodec.tamano(vista, posicion)) {
+                UUID id = AuditRecordCodec.eventoId(vista, posicion);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+            porSegmento.addFirst(ids);
+            total += ids.size();
+        }
+        porSegmento.forEach(ids -> ids.forEach(this::recordar));
+    }
+
+    private void recordar(UUID eventoId) {
+        if (recientes.add(eventoId) && recientes.size() > ventanaDuplicados) {
+            Iterator<UUID> masAntiguo = recientes.iterator();
+            masAntiguo.next();
+            masAntiguo.remove();
+        }
+    }
+
+    /**
+     * Anexa el lote completo o nada: los eventos se validan antes de escribir y, si la escritura falla a
+     * mitad, se descartan los segmentos abiertos durante el lote y el de partida vuelve a su posición inicial.
+     * Los segmentos que se llenan durante el lote no se sellan hasta que el lote termina. Los eventos cuyo id
+     * ya está guardado, o repetido dentro del lote, se omiten.
+     */
+    @Override
+    public synchronized void guardarLote(List<AuditEventDTO> lote) {
+        List<AuditEventDTO> eventos = new ArrayList<>(lote.size());
+        Set<UUID> idsLote = new HashSet<>();
+        for (AuditEventDTO evento : lote) {
+            UUID id = evento.getEventoId();
+            if (id == null || (!recientes.contains(id) && idsLote.add(id))) {
+                eventos.add(evento);
+            }
+        }
+        if (eventos.size() < lote.size()) {
+            log.debug("Omitidos {} eventos de auditoría ya guardados", lote.size() - eventos.size());
+        }
+        if (eventos.isEmpty()) {
+            return;
+        }
+        List<byte[][]> registros = new ArrayList<>(eventos.size());
+        long[] fechas = new long[eventos.size()];
+        for (int i = 0; i < eventos.size(); i++) {
+            AuditEventDTO evento = eventos.get(i);
+            byte[][] campos = AuditRecordCodec.campos(evento);
+            if (AuditRecordCodec.tamanoRegistro(campos, evento.getEventoId()) > capacidadSegmento) {
+                throw new IllegalArgumentException("El evento de auditoría excede el tamaño de segmento");
+            }
+            registros.add(campos);
+            fechas[i] = AuditRecordCodec.aNanos(evento.getTimestamp() != null
+                    ? evento.getTimestamp()
+                    : LocalDateTime.now(clock));
+        }
+
+        LogSegment inicio = activo;
+        int posicionInicio = inicio.getPosicionEscritura();
+        long offsetInicio = inicio.getSiguienteOffset();
+        List<LogSegment> llenos = new ArrayList<>();
+        try {
+            int inicioLote = posicionInicio;
+            for (int i = 0; i < registros.size(); i++) {
+                UUID id = eventos.get(i).getEventoId();
+                if (!activo.anexar(fechas[i], registros.get(i), id)) {
+                    llenos.add(activo);
+                    abrirSiguiente();
+                    inicioLote = 0;
+                    activo.anexar(fechas[i], registros.get(i), id);
+                }
+            }
+            if (sincronizarCadaLote) {
+                activo.sincronizar(inicioLote);
+            }
+        } catch (IOException | RuntimeException e) {
+            deshacer(inicio, posicionInicio, offsetInicio);
+            throw e instanceof IOException io
+                    ? new UncheckedIOException("Error escribiendo en el log de auditoría", io)
+                    : (RuntimeException) e;
+        }
+        idsLote.forEach(this::recordar);
+        try {
+            for (LogSegment lleno : llenos) {
+                lleno.sellar();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error sellando un segmento del log de auditoría", e);
+        }
+        if (clock.millis() >= proximaRevisionRetencion) {
+            aplicarRetencion();
+        }
+    }
+
+    private void abrirSiguiente() throws IOException {
+        LogSegment nuevo = LogSegment.crear(directorio, activo.getSiguienteOffset(), capacidadSegmento, intervaloIndice);
+        segmentos.add(nuevo);
+        activo = nuevo;
+        log.debug("Nuevo segmento de auditoría {}", LogSegment.nombre(nuevo.getOffsetBase()));
+    }
+
+    /** Devuelve el log al estado anterior a un lote fallido, para que al reintentarlo no queden duplicados. */
+    private void deshacer(LogSegment inicio, int posicion, long offset) {
+        for (int i = segmentos.size() - 1; segmentos.get(i) != inicio; i--) {
+            LogSegment descartado = segmentos.remove(i);
+            try {
+                descartado.eliminar();
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el segmento {} de un lote fallido",
+                        LogSegment.nombre(descartado.getOffsetBase()), e);
+            }
+        }
+        inicio.truncar(posicion, offset);
+        activo = inicio;
+        log.warn("Lote de auditoría descartado: el log vuelve al offset {}", offset);
+    }
+
+    /** Elimina los segmentos sellados cuyo evento más reciente es anterior al límite de retención. */
+    synchronized void aplicarRetencion() {
+        long limite = AuditRecordCodec.aNanos(LocalDateTime.now(clock).minus(retencion));
+        for (LogSegment segmento : segmentos) {
+            if (segmento == activo || segmento.getFechaMaxima() >= limite) {
+                continue;
+            }
+            try {
+                segmento.eliminar();
+                segmentos.remove(segmento);
+                log.info("Segmento de auditoría {} eliminado por retención", LogSegment.nombre(segmento.getOffsetBase()));
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el segmento {}", LogSegment.nombre(segmento.getOffsetBase()), e);
+            }
+        }
+        proximaRevisionRetencion = clock.millis() + Math.min(retencion.toMillis(), Duration.ofHours(1).toMillis());
+    }
+
+    @Override
+    public List<AuditEventDTO> buscar(FiltroAuditoriaDTO filtro, int pagina, int tamano) {
+        long desde = filtro.getDesde() == null ? Long.MIN_VALUE : AuditRecordCodec.aNanos(filtro.getDesde());
+        long hasta = filtro.getHasta() == null ? Long.MAX_VALUE : AuditRecordCodec.aNanos(filtro.getHasta());
+        byte[] servicio = AuditRecordCodec.bytes(filtro.getServicio());
+        byte[] accion = AuditRecordCodec.bytes(filtro.getAccion());
+        byte[] usuario = AuditRecordCodec.bytes(filtro.getUsuario());
+        int necesarios = Math.multiplyExact(pagina + 1, tamano);
+
+        // Montículo con los "necesarios" eventos más recientes vistos hasta ahora; la cima es el más antiguo.
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(ORDEN);
+        List<LogSegment> instantanea = List.copyOf(segmentos);
+        for (int i = instantanea.size() - 1; i >= 0; i--) {
+            LogSegment segmento = instantanea.get(i);
+            if (segmento.getFechaMaxima() < desde || segmento.getFechaMinima() > hasta) {
+                continue;
+            }
+            if (mejores.size() == necesarios && segmento.getFechaMaxima() < mejores.peek().fecha()) {
+                continue;
+            }
+            ByteBuffer vista = segmento.vista();
+            int limite = vista.limit();
+            int posicion = desde == Long.MIN_VALUE ? 0 : segmento.posicionInicial(desde);
+            while (posicion < limite) {
+                long fecha = AuditRecordCodec.fecha(vista, posicion);
+                if (fecha >= desde && fecha <= hasta
+                        && AuditRecordCodec.coincide(vista, posicion, AuditRecordCodec.SERVICIO, servicio)
+                        && AuditRecordCodec.coincide(vista, posicion, AuditRecordCodec.ACCION, accion)
+                        && AuditRecordCodec.coincide(vista, posicion, AuditRecordCodec.USUARIO, usuario)) {
+                    Candidato candidato = new Candidato(vista, posicion, fecha, AuditRecordCodec.offset(vista, posicion));
+                    if (mejores.size() < necesarios) {
+                        mejores.add(candidato);
+                    } else if (ORDEN.compare(candidato, mejores.peek()) > 0) {
+                        mejores.poll();
+                        mejores.add(candidato);
+                    }
+                }
+                posicion += AuditRecordCodec.tamano(vista, posicion);
+            }
+        }
+
+        List<Candidato> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(ORDEN.reversed());
+        int desplazamiento = pagina * tamano;
+        List<AuditEventDTO> resultado = new ArrayList<>(Math.max(0, Math.min(tamano, ordenados.size() - desplazamiento)));
+        for (int i = desplazamiento; i < ordenados.size(); i++) {
+            Candidato candidato = ordenados.get(i);
+            resultado.add(AuditRecordCodec.leer(candidato.vista(), candidato.posicion()));
+        }
+        return resultado;
+    }
+
+    int numeroSegmentos() {
+        return segmentos.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (LogSegment segmento : segmentos) {
+            segmento.cerrar();
+        }
+    }
+
+    private record Candidato(ByteBuffer vista, int posicion, long fecha, long offset) {
+    }
+}
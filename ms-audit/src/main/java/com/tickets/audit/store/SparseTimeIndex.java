@@ -0,0 +1,89 @@
+package com.tickets.audit.store;
+
+import java.util.Arrays;
+
+/**
+ * Índice disperso de un segmento: cada {@code intervalo} bytes guarda la posición de un registro y la
+ * fecha máxima de todos los registros anteriores a él. Como ese máximo es monótono, aunque los eventos
+ * lleguen algo desordenados se puede buscar por bisección el punto a partir del cual empezar a leer.
+ */
+final class SparseTimeIndex {
+
+    private final int intervalo;
+    private int[] posiciones = new int[64];
+    private long[] maximosAnteriores = new long[64];
+    private int entradas;
+    private int ultimaPosicion = -1;
+    private long maximo = Long.MIN_VALUE;
+
+    SparseTimeIndex(int intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    /** Registra un registro escrito en {@code posicion} con la fecha dada. Debe llamarse en orden de posición. */
+    synchronized void registrar(int posicion, long fecha) {
+        if (ultimaPosicion < 0 || posicion - ultimaPosicion >= intervalo) {
+            if (entradas == posiciones.length) {
+                posiciones = Arrays.copyOf(posiciones, entradas * 2);
+                maximosAnteriores = Arrays.copyOf(maximosAnteriores, entradas * 2);
+            }
+            posiciones[entradas] = posicion;
+            maximosAnteriores[entradas] = maximo;
+            entradas++;
+            ultimaPosicion = posicion;
+        }
+        maximo = Math.max(maximo, fecha);
+    }
+
+    /** Posición desde la que pueden aparecer registros con fecha {@code >= desde}. */
+    synchronized int posicionInicial(long desde) {
+        int bajo = 0;
+        int alto = entradas - 1;
+        int encontrada = 0;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (maximosAnteriores[medio] < desde) {
+                encontrada = posiciones[medio];
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return encontrada;
+    }
+
+    synchronized int entradas() {
+        return entradas;
+    }
+
+    synchronized int posicion(int entrada) {
+        return posiciones[entrada];
+    }
+
+    synchronized long maximoAnterior(int entrada) {
+        return maximosAnteriores[entrada];
+    }
+
+    /**
+     * Olvida las entradas desde {@code posicion}. El máximo acumulado se conserva: sigue siendo una cota
+     * válida para la bisección, solo que menos ajustada.
+     */
+    synchronized void truncar(int posicion) {
+        while (entradas > 0 && posiciones[entradas - 1] >= posicion) {
+            entradas--;
+        }
+        ultimaPosicion = entradas == 0 ? -1 : posiciones[entradas - 1];
+    }
+
+    /** Restaura una entrada leída del archivo de índice de un segmento sellado. */
+    synchronized void cargar(int posicion, long maximoAnterior) {
+        if (entradas == posiciones.length) {
+            posiciones = Arrays.copyOf(posiciones, entradas * 2);
+            maximosAnteriores = Arrays.copyOf(maximosAnteriores, entradas * 2);
+        }
+        posiciones[entradas] = posicion;
+        maximosAnteriores[entradas] = maximoAnterior;
+        entradas++;
+        ultimaPosicion = posicion;
+    }
+}
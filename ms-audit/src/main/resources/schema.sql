@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS auditoria_eventos (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    fecha    TIMESTAMP(9) NOT NULL,
+    servicio VARCHAR(100),
+    accion   VARCHAR(100),
+    usuario  VARCHAR(255),
+    data     CHARACTER LARGE OBJECT
+);
+
+ALTER TABLE auditoria_eventos ADD COLUMN IF NOT EXISTS evento_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_auditoria_fecha ON auditoria_eventos (fecha, id);
+CREATE INDEX IF NOT EXISTS idx_auditoria_servicio_fecha ON auditoria_eventos (servicio, fecha);
+CREATE INDEX IF NOT EXISTS idx_auditoria_accion_fecha ON auditoria_eventos (accion, fecha);
+CREATE INDEX IF NOT EXISTS idx_auditoria_usuario_fecha ON auditoria_eventos (usuario, fecha);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_auditoria_evento_id ON auditoria_eventos (evento_id);
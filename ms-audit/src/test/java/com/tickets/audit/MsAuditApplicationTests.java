@@ -0,0 +1,15 @@
+package com.tickets.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:auditdb",
+		"auditoria.store.segmentos.directorio=target/test-segmentos"})
+class MsAuditApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
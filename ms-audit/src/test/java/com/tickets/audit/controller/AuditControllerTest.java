@@ -0,0 +1,49 @@
+package com.tickets.audit.controller;
+
+import com.tickets.audit.service.impl.AuditServiceImpl;
+import com.tickets.audit.store.AuditEventStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AuditController.class)
+@Import(AuditServiceImpl.class)
+class AuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuditEventStore store;
+
+    @Test
+    void buscarEventos_paginaDemasiadoProfunda_devuelve400() throws Exception {
+        for (String pagina : new String[]{"2147483647", "1000"}) {
+            mockMvc.perform(get("/api/auditoria").param("page", pagina).param("size", "1000"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").exists());
+        }
+
+        verify(store, never()).buscar(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void buscarEventos_dentroDelLimite_consultaElStore() throws Exception {
+        when(store.buscar(any(), eq(99), eq(1000))).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/auditoria").param("page", "99").param("size", "1000"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,81 @@
+package com.tickets.audit.listener;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEnvelopeCodecTest {
+
+    private static AuditEventDTO evento(String data) {
+        return AuditEventDTO.builder()
+                .timestamp(LocalDateTime.of(2025, 3, 1, 12, 30, 45, 123456789))
+                .servicio("ms-tickets")
+                .accion("crear")
+                .usuario("ana@mail.com")
+                .data(data)
+                .build();
+    }
+
+    private static AuditEventDTO comprimible() {
+        return evento("{\"descripcion\":\"" + "repetido ".repeat(200) + "\"}");
+    }
+
+    @Test
+    void decodificar_idaYVueltaSinComprimir() {
+        AuditEventDTO original = evento("{\"descripcion\":\"Impresora sin tóner\"}");
+
+        assertEquals(original, AuditEnvelopeCodec.decodificar(AuditEnvelopeCodec.codificar(original, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void decodificar_idaYVueltaComprimidoConNulos() {
+        AuditEventDTO original = comprimible();
+        original.setUsuario(null);
+        original.setTimestamp(null);
+
+        byte[] sobre = AuditEnvelopeCodec.codificar(original, 512);
+
+        assertEquals(AuditEnvelopeCodec.FLAG_LZ4, sobre[1] & AuditEnvelopeCodec.FLAG_LZ4);
+        assertEquals(original, AuditEnvelopeCodec.decodificar(sobre));
+    }
+
+    @Test
+    void decodificar_rechazaVersionesDesconocidas() {
+        byte[] sobre = AuditEnvelopeCodec.codificar(evento("{}"), Integer.MAX_VALUE);
+        sobre[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> AuditEnvelopeCodec.decodificar(sobre));
+    }
+
+    @Test
+    void decodificar_rechazaLongitudesNegativasOExcesivasSinReservarlas() {
+        for (int longitud : new int[]{-1, Integer.MIN_VALUE, AuditEnvelopeCodec.MAXIMO_CUERPO + 1, Integer.MAX_VALUE}) {
+            byte[] sobre = AuditEnvelopeCodec.codificar(comprimible(), 512);
+            ByteBuffer.wrap(sobre).putInt(4, longitud);
+
+            assertThrows(IllegalArgumentException.class, () -> AuditEnvelopeCodec.decodificar(sobre), "longitud " + longitud);
+        }
+    }
+
+    @Test
+    void decodificar_rechazaCuerposTruncadosOCorruptos() {
+        byte[] comprimido = AuditEnvelopeCodec.codificar(comprimible(), 512);
+        byte[] plano = AuditEnvelopeCodec.codificar(evento("{}"), Integer.MAX_VALUE);
+        byte[] basura = comprimido.clone();
+        Arrays.fill(basura, AuditEnvelopeCodec.CABECERA, basura.length, (byte) 0xF0);
+        byte[] campoLargo = plano.clone();
+        campoLargo[AuditEnvelopeCodec.CABECERA + 8] = 0x7F;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditEnvelopeCodec.decodificar(Arrays.copyOf(comprimido, comprimido.length - 5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditEnvelopeCodec.decodificar(Arrays.copyOf(plano, plano.length - 3)));
+        assertThrows(IllegalArgumentException.class, () -> AuditEnvelopeCodec.decodificar(basura));
+        assertThrows(IllegalArgumentException.class, () -> AuditEnvelopeCodec.decodificar(campoLargo));
+    }
+}
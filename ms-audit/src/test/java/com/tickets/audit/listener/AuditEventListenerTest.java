@@ -0,0 +1,133 @@
+package com.tickets.audit.listener;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.audit.config.RabbitConfig;
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.service.AuditServiceInterface;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditEventListenerTest {
+
+    private final AuditServiceInterface auditService = mock(AuditServiceInterface.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+    private final AuditEventListener listener =
+            new AuditEventListener(auditService, new AuditEventMessageConverter(objectMapper), amqpTemplate);
+
+    private static Message mensaje(String json) {
+        return new Message(json.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recibirLote_apartaMensajesInvalidosYPersisteElResto() {
+        listener.recibirLote(List.of(
+                mensaje("{\"timestamp\":\"2025-03-01T12:30:45.123456789\",\"servicio\":\"ms-tickets\","
+                        + "\"accion\":\"crear\",\"usuario\":\"a@mail.com\",\"data\":\"{}\"}"),
+                mensaje("no es json"),
+                mensaje("{\"servicio\":\"ms-users\",\"accion\":\"eliminar\",\"extra\":1}")));
+
+        ArgumentCaptor<List<AuditEventDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService).registrarEventos(captor.capture());
+        List<AuditEventDTO> eventos = captor.getValue();
+        assertEquals(2, eventos.size());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 12, 30, 45, 123456789), eventos.get(0).getTimestamp());
+        assertEquals("ms-users", eventos.get(1).getServicio());
+        ArgumentCaptor<Message> rechazado = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq(RabbitConfig.AUDIT_DLQ), rechazado.capture());
+        assertEquals("no es json", new String(rechazado.getValue().getBody(), StandardCharsets.UTF_8));
+        assertNotNull(rechazado.getValue().getMessageProperties().getHeader(AuditEventListener.CABECERA_MOTIVO));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recibirLote_aceptaSobreBinario() {
+        AuditEventDTO original = AuditEventDTO.builder()
+                .timestamp(LocalDateTime.of(2025, 3, 1, 12, 30))
+                .servicio("ms-users")
+                .accion("crear")
+                .data("{\"email\":\"" + "x".repeat(1000) + "\"}")
+                .build();
+        MessageProperties propiedades = new MessageProperties();
+        propiedades.setContentType(AuditEnvelopeCodec.CONTENT_TYPE);
+
+        listener.recibirLote(List.of(new Message(AuditEnvelopeCodec.codificar(original, 512), propiedades)));
+
+        ArgumentCaptor<List<AuditEventDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditService).registrarEventos(captor.capture());
+        assertEquals(List.of(original), captor.getValue());
+    }
+
+    @Test
+    void recibirLote_tomaElIdDelEventoDelMessageId() {
+        UUID id = UUID.randomUUID();
+        Message mensaje = mensaje("{\"servicio\":\"ms-users\"}");
+        mensaje.getMessageProperties().setMessageId(id.toString());
+
+        listener.recibirLote(List.of(mensaje));
+
+        verify(auditService).registrarEventos(argThat(eventos -> id.equals(eventos.get(0).getEventoId())));
+    }
+
+    @Test
+    void recibirLote_siUnEventoNoSePuedeGuardarApartaSoloEse() {
+        doAnswer(inv -> {
+            List<AuditEventDTO> eventos = inv.getArgument(0);
+            if (eventos.stream().anyMatch(e -> "roto".equals(e.getServicio()))) {
+                throw new IllegalArgumentException("El evento de auditoría excede el tamaño de segmento");
+            }
+            return null;
+        }).when(auditService).registrarEventos(anyList());
+
+        listener.recibirLote(List.of(mensaje("{\"servicio\":\"ms-tickets\"}"), mensaje("{\"servicio\":\"roto\"}"),
+                mensaje("{\"servicio\":\"ms-users\"}")));
+
+        verify(auditService, times(4)).registrarEventos(anyList());
+        ArgumentCaptor<Message> rechazado = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq(RabbitConfig.AUDIT_DLQ), rechazado.capture());
+        assertTrue(new String(rechazado.getValue().getBody(), StandardCharsets.UTF_8).contains("roto"));
+    }
+
+    @Test
+    void recibirLote_siElAlmacenNoResponde_devuelveElLoteALaCola() {
+        doThrow(new UncheckedIOException(new IOException("disco lleno"))).when(auditService).registrarEventos(anyList());
+
+        assertThrows(UncheckedIOException.class, () -> listener.recibirLote(List.of(
+                mensaje("{\"servicio\":\"ms-tickets\"}"), mensaje("{\"servicio\":\"ms-users\"}"))));
+
+        verifyNoInteractions(amqpTemplate);
+    }
+
+    @Test
+    void recibirLote_siElAlmacenNoResponde_noApartaLosInvalidosHastaConfirmarElLote() {
+        doThrow(new UncheckedIOException(new IOException("disco lleno"))).when(auditService).registrarEventos(anyList());
+        List<Message> lote = List.of(mensaje("no es json"), mensaje("{\"servicio\":\"ms-tickets\"}"));
+
+        assertThrows(UncheckedIOException.class, () -> listener.recibirLote(lote));
+        verifyNoInteractions(amqpTemplate);
+
+        reset(auditService);
+        listener.recibirLote(lote);
+
+        verify(amqpTemplate, times(1)).send(eq(RabbitConfig.AUDIT_DLQ), any(Message.class));
+    }
+}
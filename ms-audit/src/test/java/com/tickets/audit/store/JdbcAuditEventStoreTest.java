@@ -0,0 +1,105 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcAuditEventStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private EmbeddedDatabase db;
+    private JdbcAuditEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("schema.sql")
+                .build();
+        store = new JdbcAuditEventStore(new NamedParameterJdbcTemplate(db));
+
+        List<AuditEventDTO> eventos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            eventos.add(AuditEventDTO.builder()
+                    .timestamp(BASE.plusMinutes(i))
+                    .servicio(i % 2 == 0 ? "ms-tickets" : "ms-users")
+                    .accion(i % 3 == 0 ? "crear" : "actualizar")
+                    .usuario("user" + (i % 5) + "@mail.com")
+                    .data("{\"i\":" + i + "}")
+                    .build());
+        }
+        store.guardarLote(eventos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void buscar_sinFiltroDevuelveLosMasRecientesPrimero() {
+        List<AuditEventDTO> pagina = store.buscar(FiltroAuditoriaDTO.builder().build(), 0, 10);
+
+        assertEquals(10, pagina.size());
+        assertEquals(BASE.plusMinutes(29), pagina.get(0).getTimestamp());
+        assertEquals("{\"i\":29}", pagina.get(0).getData());
+        assertNotNull(pagina.get(0).getId());
+    }
+
+    @Test
+    void buscar_combinaFiltrosYRangoDeFechas() {
+        FiltroAuditoriaDTO filtro = FiltroAuditoriaDTO.builder()
+                .servicio("ms-tickets")
+                .accion("crear")
+                .desde(BASE.plusMinutes(6))
+                .hasta(BASE.plusMinutes(24))
+                .build();
+
+        List<AuditEventDTO> eventos = store.buscar(filtro, 0, 100);
+
+        assertEquals(List.of(BASE.plusMinutes(24), BASE.plusMinutes(18), BASE.plusMinutes(12), BASE.plusMinutes(6)),
+                eventos.stream().map(AuditEventDTO::getTimestamp).toList());
+    }
+
+    @Test
+    void buscar_paginaConDesplazamiento() {
+        FiltroAuditoriaDTO filtro = FiltroAuditoriaDTO.builder().usuario("user0@mail.com").build();
+
+        assertEquals(4, store.buscar(filtro, 0, 4).size());
+        assertEquals(2, store.buscar(filtro, 1, 4).size());
+        assertTrue(store.buscar(filtro, 2, 4).isEmpty());
+    }
+
+    @Test
+    void guardarLote_ignoraEventosConIdYaGuardado() {
+        AuditEventDTO evento = AuditEventDTO.builder()
+                .eventoId(UUID.randomUUID())
+                .timestamp(BASE.plusDays(1))
+                .servicio("ms-users")
+                .build();
+        AuditEventDTO sinId = AuditEventDTO.builder().timestamp(BASE.plusDays(1)).servicio("legado").build();
+
+        store.guardarLote(List.of(evento, evento, sinId));
+        store.guardarLote(List.of(evento, sinId));
+
+        FiltroAuditoriaDTO desde = FiltroAuditoriaDTO.builder().desde(BASE.plusDays(1)).build();
+        List<AuditEventDTO> guardados = store.buscar(desde, 0, 10);
+        assertEquals(1, guardados.stream().filter(e -> evento.getEventoId().equals(e.getEventoId())).count());
+        assertEquals(2, guardados.stream().filter(e -> "legado".equals(e.getServicio())).count());
+    }
+}
@@ -0,0 +1,244 @@
+package com.tickets.audit.store;
+
+import com.tickets.audit.dto.AuditEventDTO;
+import com.tickets.audit.dto.FiltroAuditoriaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogAuditEventStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+    private static final Clock RELOJ = Clock.fixed(Instant.parse("2025-01-02T00:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    private SegmentLogAuditEventStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private SegmentLogAuditEventStore abrir(int capacidad, Clock reloj) {
+        return new SegmentLogAuditEventStore(dir, capacidad, 256, Duration.ofDays(30), true, 100, reloj);
+    }
+
+    private static List<AuditEventDTO> eventos(int desde, int cantidad) {
+        List<AuditEventDTO> eventos = new ArrayList<>();
+        for (int i = desde; i < desde + cantidad; i++) {
+            eventos.add(AuditEventDTO.builder()
+                    .timestamp(BASE.plusMinutes(i))
+                    .servicio(i % 2 == 0 ? "ms-tickets" : "ms-users")
+                    .accion(i % 3 == 0 ? "crear" : "actualizar")
+                    .usuario("user" + (i % 5) + "@mail.com")
+                    .data(i % 7 == 0 ? null : "{\"i\":" + i + ",\"texto\":\"ñandú\"}")
+                    .build());
+        }
+        return eventos;
+    }
+
+    private static FiltroAuditoriaDTO sinFiltro() {
+        return FiltroAuditoriaDTO.builder().build();
+    }
+
+    @Test
+    void guardarLote_yBuscarDevuelveLosMasRecientesPrimero() {
+        store = abrir(1 << 20, RELOJ);
+        store.guardarLote(eventos(0, 50));
+
+        List<AuditEventDTO> pagina = store.buscar(sinFiltro(), 0, 5);
+
+        assertEquals(5, pagina.size());
+        assertEquals(BASE.plusMinutes(49), pagina.get(0).getTimestamp());
+        assertEquals(49L, pagina.get(0).getId());
+        assertEquals("{\"i\":48,\"texto\":\"ñandú\"}", pagina.get(1).getData());
+        assertNull(store.buscar(FiltroAuditoriaDTO.builder().desde(BASE.plusMinutes(42)).hasta(BASE.plusMinutes(42)).build(), 0, 5)
+                .get(0).getData());
+    }
+
+    @Test
+    void buscar_rotaSegmentosYFiltraPorRangoYCampos() {
+        store = abrir(2048, RELOJ);
+        store.guardarLote(eventos(0, 200));
+        assertTrue(store.numeroSegmentos() > 5);
+
+        FiltroAuditoriaDTO filtro = FiltroAuditoriaDTO.builder()
+                .servicio("ms-tickets")
+                .accion("crear")
+                .desde(BASE.plusMinutes(60))
+                .hasta(BASE.plusMinutes(120))
+                .build();
+        List<AuditEventDTO> resultado = store.buscar(filtro, 0, 100);
+
+        List<LocalDateTime> esperadas = new ArrayList<>();
+        for (int i = 120; i >= 60; i--) {
+            if (i % 6 == 0) {
+                esperadas.add(BASE.plusMinutes(i));
+            }
+        }
+        assertEquals(esperadas, resultado.stream().map(AuditEventDTO::getTimestamp).toList());
+        FiltroAuditoriaDTO porUsuario = FiltroAuditoriaDTO.builder().usuario("user0@mail.com").build();
+        assertEquals(3, store.buscar(porUsuario, 12, 3).size());
+        List<AuditEventDTO> ultimaPagina = store.buscar(porUsuario, 13, 3);
+        assertEquals(1, ultimaPagina.size());
+        assertEquals(0L, ultimaPagina.get(0).getId());
+    }
+
+    @Test
+    void buscar_toleraEventosDesordenados() {
+        store = abrir(1 << 20, RELOJ);
+        List<AuditEventDTO> lote = eventos(0, 100);
+        lote.add(AuditEventDTO.builder().timestamp(BASE.minusMinutes(5)).servicio("tardio").build());
+        store.guardarLote(lote);
+
+        List<AuditEventDTO> resultado = store.buscar(FiltroAuditoriaDTO.builder()
+                .desde(BASE.minusMinutes(10)).hasta(BASE.minusMinutes(1)).build(), 0, 10);
+
+        assertEquals(1, resultado.size());
+        assertEquals("tardio", resultado.get(0).getServicio());
+    }
+
+    @Test
+    void reabrir_recuperaSegmentosYContinuaLosOffsets() throws IOException {
+        store = abrir(2048, RELOJ);
+        store.guardarLote(eventos(0, 60));
+        store.close();
+
+        store = abrir(2048, RELOJ);
+        store.guardarLote(eventos(60, 10));
+
+        List<AuditEventDTO> todos = store.buscar(sinFiltro(), 0, 1000);
+        assertEquals(70, todos.size());
+        assertEquals(69L, todos.get(0).getId());
+        assertEquals(BASE.plusMinutes(69), todos.get(0).getTimestamp());
+    }
+
+    @Test
+    void reabrir_descartaRegistroIncompletoAlFinal() throws IOException {
+        store = abrir(1 << 16, RELOJ);
+        store.guardarLote(eventos(0, 10));
+        store.close();
+        store = null;
+
+        Path activo = ultimoSegmento();
+        try (FileChannel canal = FileChannel.open(activo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int posicion = 0;
+            ByteBuffer tamano = ByteBuffer.allocate(4);
+            for (int i = 0; i < 9; i++) {
+                tamano.clear();
+                canal.read(tamano, posicion);
+                posicion += 8 + tamano.flip().getInt();
+            }
+            // Simula una escritura cortada: se conserva el tamaño pero se corrompe el cuerpo del último registro.
+            canal.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), posicion + 20);
+        }
+
+        store = abrir(1 << 16, RELOJ);
+        assertEquals(9, store.buscar(sinFiltro(), 0, 100).size());
+
+        store.guardarLote(eventos(100, 1));
+        List<AuditEventDTO> todos = store.buscar(sinFiltro(), 0, 100);
+        assertEquals(10, todos.size());
+        assertEquals(9L, todos.get(0).getId());
+    }
+
+    @Test
+    void retencion_eliminaSegmentosSelladosAntiguos() throws IOException {
+        store = abrir(2048, RELOJ);
+        store.guardarLote(eventos(0, 100));
+        assertTrue(store.numeroSegmentos() > 1);
+        store.close();
+
+        store = abrir(2048, Clock.offset(RELOJ, Duration.ofDays(40)));
+
+        assertEquals(1, store.numeroSegmentos());
+    }
+
+    @Test
+    void guardarLote_siFallaAMitadNoDejaNadaDelLote() throws IOException {
+        store = abrir(2048, RELOJ);
+        store.guardarLote(eventos(0, 3));
+        // Ocupa los nombres de los segmentos siguientes para que la rotación falle con parte del lote escrito.
+        List<Path> bloqueos = new ArrayList<>();
+        for (long offset = 4; offset < 300; offset++) {
+            bloqueos.add(Files.createDirectory(dir.resolve(LogSegment.nombre(offset) + LogSegment.EXTENSION_LOG)));
+        }
+
+        assertThrows(UncheckedIOException.class, () -> store.guardarLote(eventos(3, 100)));
+
+        assertEquals(3, store.buscar(sinFiltro(), 0, 1000).size());
+        assertEquals(1, store.numeroSegmentos());
+        for (Path bloqueo : bloqueos) {
+            Files.delete(bloqueo);
+        }
+        store.guardarLote(eventos(3, 100));
+        store.close();
+
+        store = abrir(2048, RELOJ);
+        List<AuditEventDTO> todos = store.buscar(sinFiltro(), 0, 1000);
+        assertEquals(103, todos.size());
+        assertEquals(102L, todos.get(0).getId());
+        assertEquals(BASE.plusMinutes(102), todos.get(0).getTimestamp());
+    }
+
+    @Test
+    void guardarLote_rechazaUnEventoDemasiadoGrandeSinEscribirElResto() {
+        store = abrir(2048, RELOJ);
+        List<AuditEventDTO> lote = eventos(0, 5);
+        lote.get(3).setData("x".repeat(4096));
+
+        assertThrows(IllegalArgumentException.class, () -> store.guardarLote(lote));
+
+        assertTrue(store.buscar(sinFiltro(), 0, 100).isEmpty());
+    }
+
+    @Test
+    void guardarLote_omiteEventosYaGuardadosAunqueSeReabra() throws IOException {
+        store = abrir(2048, RELOJ);
+        List<AuditEventDTO> lote = eventos(0, 40);
+        lote.forEach(evento -> evento.setEventoId(UUID.randomUUID()));
+        lote.add(lote.get(0));
+        store.guardarLote(lote);
+        store.guardarLote(lote.subList(30, 40));
+        assertEquals(40, store.buscar(sinFiltro(), 0, 1000).size());
+        store.close();
+
+        store = abrir(2048, RELOJ);
+        store.guardarLote(lote);
+        store.guardarLote(eventos(40, 1));
+
+        List<AuditEventDTO> todos = store.buscar(sinFiltro(), 0, 1000);
+        assertEquals(41, todos.size());
+        assertEquals(lote.get(39).getEventoId(), todos.get(1).getEventoId());
+        assertNull(todos.get(0).getEventoId());
+    }
+
+    private Path ultimoSegmento() throws IOException {
+        try (Stream<Path> archivos = Files.list(dir)) {
+            return archivos.filter(p -> p.toString().endsWith(".log")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+    }
+}
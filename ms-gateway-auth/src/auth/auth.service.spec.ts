@@ -11,7 +11,7 @@ describe('AuthService', () => {
   let authService: AuthService;
   let usersService: UsersService;
   let jwtService: JwtService;
-  const mockUsersService = {obtenerPorEmail: jest.fn(), };
+  const mockUsersService = {obtenerPorEmail: jest.fn(), rehashearContrasena: jest.fn(), };
   const mockJwtService = {sign: jest.fn(),};
 
   beforeEach(async () => {
@@ -38,6 +38,17 @@ describe('AuthService', () => {
       expect(payload).toEqual({ sub: user.id, email: user.email, rol: user.rol });
       expect(mockUsersService.obtenerPorEmail).toHaveBeenCalledWith(email);
       expect(bcrypt.compare).toHaveBeenCalledWith(password, user.passwordHash);
+      expect(mockUsersService.rehashearContrasena).not.toHaveBeenCalled();
+    });
+
+    it('debe pedir el rehash cuando ms-users indica otro coste BCrypt', async () => {
+      const user = { id: 1, email: 'test@example.com', passwordHash: 'hashPassword', rol: 'user', requiereRehash: true };
+      mockUsersService.obtenerPorEmail.mockResolvedValue(user);
+      mockUsersService.rehashearContrasena.mockRejectedValue(new Error('ms-users caído'));
+      (bcrypt.compare as jest.Mock).mockResolvedValue(true);
+      const payload = await authService.validateUser(user.email, 'password123');
+      expect(payload).toEqual({ sub: user.id, email: user.email, rol: user.rol });
+      expect(mockUsersService.rehashearContrasena).toHaveBeenCalledWith(user.id, 'password123');
     });
 
     it('debe lanzar UnauthorizedException cuando la contraseña es inválida', async () => {
@@ -1,10 +1,12 @@
-import { Injectable, UnauthorizedException } from '@nestjs/common';
+import { Injectable, Logger, UnauthorizedException } from '@nestjs/common';
 import { UsersService } from '../users/users.service';
 import { JwtService } from '@nestjs/jwt';
 import * as bcrypt from 'bcryptjs';
 
 @Injectable()
 export class AuthService {
+  private readonly logger = new Logger(AuthService.name);
+
   constructor(
     private readonly usersService: UsersService,
     private readonly jwtService: JwtService,
@@ -14,6 +16,11 @@ export class AuthService {
     const user = await this.usersService.obtenerPorEmail(email);
     const passwordValida = await bcrypt.compare(password, user.passwordHash);
     if (!passwordValida) {throw new UnauthorizedException('Credenciales incorrectas');}
+    if (user.requiereRehash) {
+      // Sin esperar: el login no paga el hash nuevo y, si falla, se reintenta en el siguiente
+      this.usersService.rehashearContrasena(user.id, password)
+        .catch((err) => this.logger.warn(`No se pudo rehashear la contraseña de ${user.id}: ${err?.message}`));
+    }
     return {sub: user.id,email: user.email,rol: user.rol,};
   }
 
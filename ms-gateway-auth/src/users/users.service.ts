@@ -73,5 +73,10 @@ export class UsersService {
       throw new BadRequestException(err?.response?.data?.message || 'Error al actualizar');
     }
   }
-  
-}
\ No newline at end of file
+
+  /** Pide a ms-users recalcular el hash con el coste BCrypt actual; ms-users vuelve a validar la contraseña. */
+  async rehashearContrasena(id: string, password: string): Promise<void> {
+    const res$ = this.http.post(`${this.baseUrl}/${id}/rehash`, { password });
+    await firstValueFrom(res$);
+  }
+}
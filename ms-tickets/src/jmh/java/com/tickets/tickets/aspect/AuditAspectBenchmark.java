@@ -0,0 +1,54 @@
+package com.tickets.tickets.aspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tickets.tickets.annotation.AuditEvent;
+import com.tickets.tickets.dto.AuditEventDTO;
+import com.tickets.tickets.dto.CrearTicketDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción del evento de auditoría en el hilo de la petición (serialización del argumento incluida).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditAspectBenchmark {
+
+    private AuditAspect aspect;
+    private AuditEvent anotacion;
+    private CrearTicketDTO argumento;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        aspect = new AuditAspect(null, null);
+        anotacion = AuditAspectBenchmark.class.getDeclaredMethod("auditado").getAnnotation(AuditEvent.class);
+        argumento = CrearTicketDTO.builder()
+                .descripcion("La impresora del tercer piso no responde")
+                .usuarioId(UUID.randomUUID())
+                .build();
+    }
+
+    @Benchmark
+    public AuditEventDTO construirEvento() throws JsonProcessingException {
+        return aspect.construirEvento(anotacion, argumento, "usuario@tickets.com");
+    }
+
+    @AuditEvent(accion = "CREAR_TICKET", servicio = "ms-tickets")
+    void auditado() {
+    }
+}
@@ -0,0 +1,57 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas de {@link TwoTierCache}: acierto en L1 y acierto en L2 con L1 vacío.
+ * El L2 es un {@link ConcurrentMapCache} para medir solo el coste propio de la cache de dos niveles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TwoTierCacheBenchmark {
+
+    private TwoTierCache conL1;
+    private TwoTierCache sinL1;
+    private UUID clave;
+
+    @Setup
+    public void preparar() {
+        clave = UUID.randomUUID();
+        ConcurrentMapCache remoto = new ConcurrentMapCache("ticket");
+        remoto.put(clave, "ticket-cacheado");
+
+        conL1 = new TwoTierCache("ticket", remoto, Caffeine.newBuilder().maximumSize(1_000).build(), null);
+        conL1.get(clave);
+        // Tamaño máximo 0: cada lectura se resuelve en L2.
+        sinL1 = new TwoTierCache("ticket", remoto, Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).build(), null);
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper aciertoL1() {
+        return conL1.get(clave);
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper aciertoL2() {
+        return sinL1.get(clave);
+    }
+}
@@ -0,0 +1,94 @@
+package com.tickets.tickets.config;
+
+import com.tickets.tickets.cache.CacheValueSerializer;
+import com.tickets.tickets.cache.TicketPageCache;
+import com.tickets.tickets.dto.TicketDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida y vuelta de un {@link TicketDTO} y de una página de 20 con el serializador de la cache de tickets en Redis,
+ * en JSON (el formato anterior) y en binario. El tamaño lo acota {@code CacheValueSerializerTest}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "binario"})
+    private String formato;
+
+    private CacheValueSerializer serializer;
+    private TicketDTO ticket;
+    private byte[] serializado;
+    private TicketPageCache.PaginaIds pagina;
+    private byte[] paginaSerializada;
+
+    @Setup
+    public void preparar() {
+        serializer = new CacheValueSerializer(RedisConfig.jsonRedisSerializer(), "binario".equals(formato), 1024);
+        ticket = ticket("La impresora del tercer piso no responde");
+        serializado = serializer.serialize(ticket);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        pagina = new TicketPageCache.PaginaIds(ids, 1000);
+        paginaSerializada = serializer.serialize(pagina);
+    }
+
+    private static TicketDTO ticket(String descripcion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .descripcion(descripcion)
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketDTO.Status.ABIERTO)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializar() {
+        return serializer.serialize(ticket);
+    }
+
+    @Benchmark
+    public Object deserializar() {
+        return serializer.deserialize(serializado);
+    }
+
+    @Benchmark
+    public Object idaYVuelta() {
+        return serializer.deserialize(serializer.serialize(ticket));
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() {
+        return serializer.serialize(pagina);
+    }
+
+    @Benchmark
+    public Object deserializarPagina() {
+        return serializer.deserialize(paginaSerializada);
+    }
+}
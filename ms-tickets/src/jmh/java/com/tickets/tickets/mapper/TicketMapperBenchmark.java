@@ -0,0 +1,47 @@
+package com.tickets.tickets.mapper;
+
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.entity.TicketEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketMapperBenchmark {
+
+    private TicketEntity entity;
+
+    @Setup
+    public void preparar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        entity = TicketEntity.builder()
+                .id(UUID.randomUUID())
+                .descripcion("La impresora del tercer piso no responde")
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketEntity.Status.ABIERTO)
+                .build();
+    }
+
+    @Benchmark
+    public TicketDTO toDTO() {
+        return TicketMapper.toDTO(entity);
+    }
+}
@@ -0,0 +1,59 @@
+package com.tickets.tickets.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.tickets.dto.AuditEventDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificación del evento de auditoría: sobre binario frente a JSON. La decodificación es cosa de ms-audit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditEnvelopeCodecBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private AuditEventDTO evento;
+
+    @Setup
+    public void preparar() {
+        evento = AuditEventDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .accion("CREAR_TICKET")
+                .servicio("ms-tickets")
+                .usuario("usuario@tickets.com")
+                .data("{\"descripcion\":\"La impresora del tercer piso no responde\","
+                        + "\"usuarioId\":\"4f0c3a52-9a43-4c0e-9d2b-0a7f3c1e2b11\"}")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] codificarBinario() {
+        return AuditEnvelopeCodec.codificar(evento, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public byte[] codificarJson() throws IOException {
+        return mapper.writeValueAsBytes(evento);
+    }
+}
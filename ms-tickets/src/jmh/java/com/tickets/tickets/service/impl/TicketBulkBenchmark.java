@@ -0,0 +1,109 @@
+package com.tickets.tickets.service.impl;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tickets insertados por segundo con Hibernate sobre H2 en memoria: una transacción por ticket (como
+ * {@code POST /api/tickets}) frente a tramos de 100 por transacción (como {@code POST /api/tickets/bulk}),
+ * con y sin lotes JDBC. H2 corre en el mismo proceso y no tiene viaje de red, así que la ganancia de los lotes
+ * JDBC es menor que contra una base remota.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketBulkBenchmark {
+
+    private static final int TICKETS = 1_000;
+    private static final int TAMANO_TRAMO = 100;
+
+    /** {@code hibernate.jdbc.batch_size}; 0 desactiva los lotes JDBC. */
+    @Param({"0", "100"})
+    public int tamanoLoteJdbc;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private UUID usuarioId;
+
+    @Setup
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:bulk-" + tamanoLoteJdbc + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        Configuration configuracion = new Configuration().addAnnotatedClass(TicketEntity.class);
+        configuracion.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        configuracion.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        configuracion.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(tamanoLoteJdbc));
+        configuracion.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        sessionFactory = configuracion.buildSessionFactory();
+        usuarioId = UUID.randomUUID();
+    }
+
+    @Setup(Level.Iteration)
+    public void vaciar() {
+        sessionFactory.inTransaction(sesion -> sesion.createMutationQuery("delete from TicketEntity").executeUpdate());
+    }
+
+    @TearDown
+    public void cerrar() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS)
+    public void individual() {
+        for (int i = 0; i < TICKETS; i++) {
+            TicketEntity ticket = nuevoTicket(i);
+            sessionFactory.inTransaction(sesion -> sesion.persist(ticket));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS)
+    public void porTramos() {
+        for (int desde = 0; desde < TICKETS; desde += TAMANO_TRAMO) {
+            int inicio = desde;
+            sessionFactory.inTransaction(sesion -> {
+                for (int i = inicio; i < inicio + TAMANO_TRAMO; i++) {
+                    sesion.persist(nuevoTicket(i));
+                }
+            });
+        }
+    }
+
+    private TicketEntity nuevoTicket(int i) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return TicketEntity.builder()
+                .descripcion("Ticket de carga " + i)
+                .usuarioId(usuarioId)
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketEntity.Status.ABIERTO)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tickets.tickets.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por petición de obtener el usuario del token en el aspecto de auditoría:
+ * construyendo el parser en cada llamada (implementación anterior), con el parser precompilado
+ * y con el sujeto ya verificado en cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRETO = "secreto-de-benchmark-con-al-menos-32-bytes";
+
+    private JwtUtils sinCache;
+    private JwtUtils conCache;
+    private String cabecera;
+
+    @Setup
+    public void preparar() {
+        sinCache = new JwtUtils(SECRETO, 0, Duration.ofMinutes(10));
+        conCache = new JwtUtils(SECRETO, 10_000, Duration.ofMinutes(10));
+        cabecera = "Bearer " + Jwts.builder()
+                .setSubject("ana@tickets.com")
+                .claim("rol", "USER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2)))
+                .signWith(Keys.hmacShaKeyFor(SECRETO.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        conCache.extractEmail(cabecera);
+    }
+
+    @Benchmark
+    public String parserPorLlamada() {
+        return Jwts.parserBuilder()
+                .setSigningKey(SECRETO.getBytes())
+                .build()
+                .parseClaimsJws(cabecera.replace("Bearer ", ""))
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parserPrecompilado() {
+        return sinCache.extractEmail(cabecera);
+    }
+
+    @Benchmark
+    public String aciertoCache() {
+        return conCache.extractEmail(cabecera);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tickets.tickets.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de generar un identificador: UUID aleatorio (v4, {@code SecureRandom}) frente a {@link UuidV7},
+ * con un hilo y con varios compitiendo por el mismo contador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidV7Benchmark {
+
+    @Benchmark
+    public UUID aleatorioV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID ordenadoV7() {
+        return UuidV7.generar();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID ordenadoV7Concurrente() {
+        return UuidV7.generar();
+    }
+}
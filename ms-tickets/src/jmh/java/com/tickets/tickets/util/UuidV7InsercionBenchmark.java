@@ -0,0 +1,119 @@
+package com.tickets.tickets.util;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Carga {@code filas} tickets en una base H2 en disco con clave primaria UUID aleatoria (v4, la de
+ * {@code @GeneratedValue}) o {@link UuidV7}, y mide el tiempo total y el espacio que ocupa la tabla con su índice.
+ * Con claves aleatorias cada inserción cae en una hoja distinta del árbol y las páginas se dividen a medio llenar;
+ * con v7 siempre se escribe en la última hoja.
+ * <p>
+ * El escenario de 10M de filas se ejecuta con JMH directamente: {@code -p filas=10000000}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+// A 10M de filas la carga con claves aleatorias supera los 10 min por defecto; al interrumpirla H2 cierra el archivo
+@Timeout(time = 2, timeUnit = TimeUnit.HOURS)
+@State(Scope.Benchmark)
+public class UuidV7InsercionBenchmark {
+
+    private static final int FILAS_POR_LOTE = 1_000;
+
+    @Param({"1000000"})
+    public int filas;
+
+    @Param({"v4", "v7"})
+    public String tipo;
+
+    private Path directorio;
+    private Connection conexion;
+
+    /** Espacio en disco de la tabla y su índice al terminar la carga, publicado junto al tiempo. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Espacio {
+        public long megabytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void crearBase() throws IOException, SQLException {
+        directorio = Files.createTempDirectory("uuid-" + tipo);
+        conexion = DriverManager.getConnection("jdbc:h2:file:" + directorio.resolve("tickets"), "sa", "");
+        conexion.setAutoCommit(false);
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE tickets (id UUID PRIMARY KEY, usuario_id UUID NOT NULL, "
+                    + "descripcion VARCHAR(500) NOT NULL, fecha_creacion TIMESTAMP NOT NULL)");
+        }
+        conexion.commit();
+    }
+
+    @Benchmark
+    public void insertar(Espacio espacio) throws SQLException {
+        boolean v7 = "v7".equals(tipo);
+        UUID usuarioId = UUID.randomUUID();
+        Timestamp fecha = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insercion = conexion.prepareStatement(
+                "INSERT INTO tickets (id, usuario_id, descripcion, fecha_creacion) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= filas; i++) {
+                insercion.setObject(1, v7 ? UuidV7.generar() : UUID.randomUUID());
+                insercion.setObject(2, usuarioId);
+                insercion.setString(3, "Ticket de carga");
+                insercion.setTimestamp(4, fecha);
+                insercion.addBatch();
+                if (i % FILAS_POR_LOTE == 0) {
+                    insercion.executeBatch();
+                    conexion.commit();
+                }
+            }
+            insercion.executeBatch();
+            conexion.commit();
+        }
+        try (Statement sentencia = conexion.createStatement();
+             ResultSet resultado = sentencia.executeQuery("SELECT DISK_SPACE_USED('TICKETS')")) {
+            resultado.next();
+            espacio.megabytes = resultado.getLong(1) / (1024 * 1024);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void borrarBase() throws IOException, SQLException {
+        conexion.close();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+}
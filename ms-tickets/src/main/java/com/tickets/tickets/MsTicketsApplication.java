@@ -2,9 +2,13 @@ package com.tickets.tickets;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 
-@SpringBootApplication
+// La lectura reactiva configura su propio pool R2DBC (R2dbcConfig); sin estas exclusiones habría un segundo
+// TransactionManager y los @Transactional de JPA dejarían de resolverse.
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableCaching
 public class MsTicketsApplication {
 
@@ -8,4 +8,6 @@ import java.lang.annotation.*;
 public @interface AuditEvent {
     String accion();
     String servicio();
+    /** Audita el valor devuelto en lugar del primer argumento (p. ej. el resumen de una operación masiva). */
+    boolean auditarResultado() default false;
 }
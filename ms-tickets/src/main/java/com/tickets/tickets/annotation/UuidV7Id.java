@@ -0,0 +1,17 @@
+package com.tickets.tickets.annotation;
+
+import com.tickets.tickets.util.UuidV7Generator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.*;
+
+/**
+ * Genera el identificador de la entidad como un {@link com.tickets.tickets.util.UuidV7} ordenado por tiempo.
+ * Sustituye a {@code @GeneratedValue} en el campo {@code @Id}.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UuidV7Id {
+}
@@ -1,10 +1,13 @@
 package com.tickets.tickets.aspect;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tickets.tickets.annotation.AuditEvent;
 import com.tickets.tickets.dto.AuditEventDTO;
 import com.tickets.tickets.publisher.AuditEventPublisher;
 import com.tickets.tickets.util.JwtUtils;
+import com.tickets.tickets.util.UuidV7;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +28,7 @@ public class AuditAspect {
     private final AuditEventPublisher publisher;
     private final JwtUtils jwtUtils;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     @AfterReturning(
             pointcut = "@annotation(com.tickets.tickets.annotation.AuditEvent)",
@@ -33,8 +36,11 @@ public class AuditAspect {
     public void enviarEventoAuditoria(JoinPoint joinPoint, Object result) {
 
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        HttpServletRequest request = attributes.getRequest();
-        String token = request.getHeader("Authorization");
+        String token = null;
+        if (attributes != null) {
+            HttpServletRequest request = attributes.getRequest();
+            token = request.getHeader("Authorization");
+        }
         String userToken = (token != null) ? jwtUtils.extractEmail(token) : "No_Auntenticado";
 
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
@@ -42,19 +48,21 @@ public class AuditAspect {
 
         Object[] args = joinPoint.getArgs();
         try {
-            String data = mapper.writeValueAsString(args[0]);
-
-            AuditEventDTO evento = AuditEventDTO.builder()
-                    .timestamp(String.valueOf(LocalDateTime.now()))
-                    .accion(annotation.accion())
-                    .servicio(annotation.servicio())
-                    .usuario(userToken)
-                    .data(data)
-                    .build();
-
-            publisher.publish(evento);
+            Object datos = annotation.auditarResultado() ? result : args[0];
+            publisher.publish(construirEvento(annotation, datos, userToken));
         } catch (Exception e) {
             log.error("Error generando evento de auditoría", e);
         }
     }
+
+    AuditEventDTO construirEvento(AuditEvent annotation, Object argumento, String usuario) throws JsonProcessingException {
+        return AuditEventDTO.builder()
+                .eventoId(UuidV7.generar())
+                .timestamp(LocalDateTime.now())
+                .accion(annotation.accion())
+                .servicio(annotation.servicio())
+                .usuario(usuario)
+                .data(mapper.writeValueAsString(argumento))
+                .build();
+    }
 }
\ No newline at end of file
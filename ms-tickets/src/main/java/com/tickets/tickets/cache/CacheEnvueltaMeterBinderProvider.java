@@ -0,0 +1,38 @@
+package com.tickets.tickets.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Spring Boot solo instrumenta las caches que reconoce ({@code cache.gets}, {@code cache.puts}...), y
+ * {@link CoalescingCache}, {@link TwoTierCache} y {@link TicketRedisCache} la ocultan: se desenvuelven hasta
+ * la {@link RedisCache} y se publican sus estadísticas con las etiquetas de Boot. En dos niveles cuentan solo
+ * las lecturas que llegan a Redis; las de L1 están en {@code cache.tier.gets}. Las escrituras por script de
+ * {@link TicketRedisCache} no pasan por la {@link RedisCache} y no cuentan en {@code cache.puts}.
+ */
+public class CacheEnvueltaMeterBinderProvider implements CacheMeterBinderProvider<Cache> {
+
+    @Override
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        Cache interna = desenvolver(cache);
+        return interna != cache && interna instanceof RedisCache redis ? new RedisCacheMetrics(redis, tags) : null;
+    }
+
+    private static Cache desenvolver(Cache cache) {
+        while (true) {
+            if (cache instanceof CoalescingCache coalescida) {
+                cache = coalescida.getDelegado();
+            } else if (cache instanceof TwoTierCache dosNiveles) {
+                cache = dosNiveles.getRemoto();
+            } else if (cache instanceof TicketRedisCache versionada) {
+                cache = versionada.getRemoto();
+            } else {
+                return cache;
+            }
+        }
+    }
+}
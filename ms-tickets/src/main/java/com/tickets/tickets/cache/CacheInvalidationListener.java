@@ -0,0 +1,38 @@
+package com.tickets.tickets.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recibe las invalidaciones publicadas por otros nodos y descarta las entradas afectadas del L1 local.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoTierCacheManager cacheManager;
+    private final String nodoLocal;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8)
+                .split(CacheInvalidationPublisher.SEPARADOR, 4);
+        if (partes.length < 4 || nodoLocal.equals(partes[0])) {
+            return;
+        }
+        TwoTierCache cache = cacheManager.getTwoTierCache(partes[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CacheInvalidationPublisher.CLEAR.equals(partes[1])) {
+            cache.invalidarLocalCompleto();
+        } else {
+            cache.invalidarLocal(partes[3]);
+        }
+        log.debug("Invalidación L1 recibida de {}: cache={}, clave={}", partes[0], partes[2], partes[3]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tickets.tickets.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Difunde por Redis pub/sub las invalidaciones de L1 para que el resto de nodos descarten sus copias locales.
+ * Formato del mensaje: {@code nodo;tipo;cache;clave}, donde tipo es E (evict) o C (clear).
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+    static final String SEPARADOR = ";";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String canal;
+    private final String nodo = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String canal) {
+        this.redisTemplate = redisTemplate;
+        this.canal = canal;
+    }
+
+    public void publicarEvict(String cache, String clave) {
+        enviar(String.join(SEPARADOR, nodo, EVICT, cache, clave));
+    }
+
+    public void publicarClear(String cache) {
+        enviar(String.join(SEPARADOR, nodo, CLEAR, cache, ""));
+    }
+
+    public String getNodo() {
+        return nodo;
+    }
+
+    public String getCanal() {
+        return canal;
+    }
+
+    private void enviar(String mensaje) {
+        try {
+            redisTemplate.convertAndSend(canal, mensaje);
+        } catch (Exception e) {
+            log.warn("No se pudo publicar la invalidación de cache '{}': {}", mensaje, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tickets.tickets.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Arranca la suscripción de invalidaciones en segundo plano y la reintenta hasta que Redis esté disponible,
+ * de forma que el servicio pueda levantar aunque Redis aún no responda.
+ * El contenedor no se registra como bean para que Spring no lo arranque de forma síncrona.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements SmartLifecycle {
+
+    private final RedisMessageListenerContainer container;
+    private final Duration reintento;
+    private volatile Thread hilo;
+
+    public CacheInvalidationSubscriber(RedisMessageListenerContainer container, Duration reintento) {
+        this.container = container;
+        this.reintento = reintento;
+    }
+
+    @Override
+    public void start() {
+        container.afterPropertiesSet();
+        hilo = new Thread(this::suscribir, "cache-invalidation-subscriber");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    private void suscribir() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                container.start();
+                log.info("Suscrito a invalidaciones de cache L1");
+                return;
+            } catch (Exception e) {
+                log.warn("No se pudo suscribir a invalidaciones de cache, reintentando en {}: {}",
+                        reintento, e.getMessage());
+                try {
+                    Thread.sleep(reintento.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread actual = hilo;
+        if (actual != null) {
+            actual.interrupt();
+        }
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.debug("Error deteniendo el contenedor de invalidaciones", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        Thread actual = hilo;
+        return actual != null && (actual.isAlive() || container.isRunning());
+    }
+}
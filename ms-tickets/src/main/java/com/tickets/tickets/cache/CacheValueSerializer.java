@@ -0,0 +1,343 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serializador de los valores de las caches de tickets en Redis. Los tipos conocidos se guardan en binario
+ * con un sobre versionado como el de {@link com.tickets.tickets.publisher.AuditEnvelopeCodec}:
+ * <pre>
+ * byte   versión ({@link #VERSION}; ningún JSON empieza por un byte de control)
+ * byte   flags (bit 0: cuerpo comprimido con LZ4)
+ * short  esquema del cuerpo
+ * int    longitud del cuerpo sin comprimir
+ * bytes  cuerpo (comprimido o no)
+ * </pre>
+ * Esquemas:
+ * <ul>
+ *   <li>{@link #ESQUEMA_TICKET}, un {@link TicketDTO}: un byte con los campos presentes (bit 0 id, 1 usuarioId,
+ *   2 fechaCreacion, 3 fechaActualizacion, 4 status), los UUID en 16 bytes, las fechas en nanosegundos desde
+ *   epoch (UTC), el estatus como ordinal y la descripción en UTF-8 con prefijo varint (0 = null, n = n-1 bytes).</li>
+ *   <li>{@link #ESQUEMA_PAGINA_IDS}, una {@link TicketPageCache.PaginaIds}: el total (long), el número de
+ *   ids (varint) y los ids en 16 bytes. El esquema 2 era la página con los tickets completos; ya no se
+ *   lee (cuenta como fallo) ni se reutiliza.</li>
+ *   <li>{@link #ESQUEMA_JSON}: cualquier otro valor, como el JSON de {@link GenericJackson2JsonRedisSerializer}.</li>
+ * </ul>
+ * Cambiar la forma de un esquema (incluido reordenar {@link TicketDTO.Status}) exige un número de esquema nuevo.
+ * Un nodo que lee una versión o un esquema que no conoce, o una entrada corrupta, lo trata como un fallo de
+ * cache y lo reescribe en su formato, y las entradas JSON anteriores al sobre se siguen leyendo. Con
+ * {@code binario = false} se escribe JSON como antes, para desplegar primero los lectores y después activar
+ * el binario.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION = 1;
+    static final short ESQUEMA_JSON = 0;
+    static final short ESQUEMA_TICKET = 1;
+    static final short ESQUEMA_PAGINA_IDS = 3;
+    static final byte FLAG_LZ4 = 0x01;
+    static final int CABECERA = 8;
+    /** Cota de la longitud declarada, para no reservar lo que diga una entrada corrupta. */
+    static final int MAXIMO_CUERPO = 16 * 1024 * 1024;
+
+    private static final int CON_ID = 1;
+    private static final int CON_USUARIO = 1 << 1;
+    private static final int CON_CREACION = 1 << 2;
+    private static final int CON_ACTUALIZACION = 1 << 3;
+    private static final int CON_STATUS = 1 << 4;
+    private static final TicketDTO.Status[] ESTATUS = TicketDTO.Status.values();
+
+    private static final LZ4Compressor COMPRESOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor DESCOMPRESOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final GenericJackson2JsonRedisSerializer json;
+    private final boolean binario;
+    private final int umbralCompresion;
+
+    /**
+     * @param umbralCompresion tamaño del cuerpo a partir del cual se prueba LZ4; solo se guarda comprimido si reduce
+     */
+    public CacheValueSerializer(GenericJackson2JsonRedisSerializer json, boolean binario, int umbralCompresion) {
+        this.json = json;
+        this.binario = binario;
+        this.umbralCompresion = umbralCompresion;
+    }
+
+    @Override
+    public byte[] serialize(Object valor) {
+        if (valor == null || !binario) {
+            return json.serialize(valor);
+        }
+        if (valor instanceof TicketDTO ticket) {
+            byte[] descripcion = bytes(ticket.getDescripcion());
+            ByteBuffer cuerpo = ByteBuffer.allocate(CABECERA + tamanoTicket(ticket, descripcion));
+            cuerpo.position(CABECERA);
+            escribirTicket(cuerpo, ticket, descripcion);
+            return sobre(cuerpo.array(), ESQUEMA_TICKET);
+        }
+        if (valor instanceof TicketPageCache.PaginaIds pagina) {
+            List<UUID> ids = pagina.getIds() != null ? pagina.getIds() : List.of();
+            ByteBuffer cuerpo = ByteBuffer.allocate(CABECERA + 8 + tamanoVarint(ids.size()) + 16 * ids.size());
+            cuerpo.position(CABECERA);
+            cuerpo.putLong(pagina.getTotalElementos());
+            escribirVarint(cuerpo, ids.size());
+            for (UUID id : ids) {
+                escribirUuid(cuerpo, id);
+            }
+            return sobre(cuerpo.array(), ESQUEMA_PAGINA_IDS);
+        }
+        byte[] texto = json.serialize(valor);
+        byte[] plano = new byte[CABECERA + texto.length];
+        System.arraycopy(texto, 0, plano, CABECERA, texto.length);
+        return sobre(plano, ESQUEMA_JSON);
+    }
+
+    @Override
+    public Object deserialize(byte[] datos) {
+        if (datos == null || datos.length == 0) {
+            return null;
+        }
+        if (!esSobre(datos)) {
+            return json.deserialize(datos);
+        }
+        if (datos.length < CABECERA) {
+            log.warn("Valor de cache truncado ({} bytes); se trata como fallo", datos.length);
+            return null;
+        }
+        ByteBuffer entrada = ByteBuffer.wrap(datos);
+        byte version = entrada.get();
+        byte flags = entrada.get();
+        short esquema = entrada.getShort();
+        int longitudCuerpo = entrada.getInt();
+        if (version != VERSION
+                || (esquema != ESQUEMA_JSON && esquema != ESQUEMA_TICKET && esquema != ESQUEMA_PAGINA_IDS)) {
+            log.debug("Valor de cache en un formato desconocido (versión {}, esquema {}); se trata como fallo",
+                    version, esquema);
+            return null;
+        }
+        try {
+            if (longitudCuerpo < 0 || longitudCuerpo > MAXIMO_CUERPO) {
+                throw new IllegalArgumentException("Longitud de cuerpo fuera de rango: " + longitudCuerpo);
+            }
+            ByteBuffer cuerpo = entrada.slice();
+            if ((flags & FLAG_LZ4) != 0) {
+                byte[] plano = new byte[longitudCuerpo];
+                int leidos = DESCOMPRESOR.decompress(datos, CABECERA, datos.length - CABECERA, plano, 0, longitudCuerpo);
+                if (leidos != longitudCuerpo) {
+                    throw new IllegalArgumentException("Cuerpo de " + leidos + " bytes, se esperaban " + longitudCuerpo);
+                }
+                cuerpo = ByteBuffer.wrap(plano);
+            } else if (cuerpo.remaining() != longitudCuerpo) {
+                throw new IllegalArgumentException("Cuerpo de " + cuerpo.remaining() + " bytes, se esperaban " + longitudCuerpo);
+            }
+            return switch (esquema) {
+                case ESQUEMA_TICKET -> leerTicket(cuerpo);
+                case ESQUEMA_PAGINA_IDS -> leerPagina(cuerpo);
+                default -> json.deserialize(Arrays.copyOfRange(cuerpo.array(),
+                        cuerpo.arrayOffset(), cuerpo.arrayOffset() + longitudCuerpo));
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | DateTimeException | LZ4Exception | SerializationException e) {
+            log.warn("Valor de cache ilegible (esquema {}); se trata como fallo: {}", esquema, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Los valores JSON empiezan por un carácter imprimible o un espacio; el sobre, por la versión. */
+    static boolean esSobre(byte[] datos) {
+        return datos[0] > 0 && datos[0] < '\t';
+    }
+
+    /** Completa la cabecera del cuerpo que empieza en {@link #CABECERA} y lo comprime si compensa. */
+    private byte[] sobre(byte[] plano, short esquema) {
+        int longitudCuerpo = plano.length - CABECERA;
+        if (longitudCuerpo >= umbralCompresion) {
+            byte[] comprimido = new byte[CABECERA + COMPRESOR.maxCompressedLength(longitudCuerpo)];
+            int longitudComprimida = COMPRESOR.compress(plano, CABECERA, longitudCuerpo, comprimido, CABECERA);
+            if (longitudComprimida < longitudCuerpo) {
+                escribirCabecera(comprimido, FLAG_LZ4, esquema, longitudCuerpo);
+                return Arrays.copyOf(comprimido, CABECERA + longitudComprimida);
+            }
+        }
+        escribirCabecera(plano, (byte) 0, esquema, longitudCuerpo);
+        return plano;
+    }
+
+    private static void escribirCabecera(byte[] destino, byte flags, short esquema, int longitudCuerpo) {
+        ByteBuffer.wrap(destino, 0, CABECERA)
+                .put(VERSION)
+                .put(flags)
+                .putShort(esquema)
+                .putInt(longitudCuerpo);
+    }
+
+    private static int tamanoTicket(TicketDTO ticket, byte[] descripcion) {
+        return 1
+                + (ticket.getId() != null ? 16 : 0)
+                + (ticket.getUsuarioId() != null ? 16 : 0)
+                + (ticket.getFechaCreacion() != null ? 8 : 0)
+                + (ticket.getFechaActualizacion() != null ? 8 : 0)
+                + (ticket.getStatus() != null ? 1 : 0)
+                + tamanoCampo(descripcion);
+    }
+
+    private static void escribirTicket(ByteBuffer destino, TicketDTO ticket, byte[] descripcion) {
+        int presentes = (ticket.getId() != null ? CON_ID : 0)
+                | (ticket.getUsuarioId() != null ? CON_USUARIO : 0)
+                | (ticket.getFechaCreacion() != null ? CON_CREACION : 0)
+                | (ticket.getFechaActualizacion() != null ? CON_ACTUALIZACION : 0)
+                | (ticket.getStatus() != null ? CON_STATUS : 0);
+        destino.put((byte) presentes);
+        if (ticket.getId() != null) {
+            escribirUuid(destino, ticket.getId());
+        }
+        if (ticket.getUsuarioId() != null) {
+            escribirUuid(destino, ticket.getUsuarioId());
+        }
+        if (ticket.getFechaCreacion() != null) {
+            destino.putLong(aNanos(ticket.getFechaCreacion()));
+        }
+        if (ticket.getFechaActualizacion() != null) {
+            destino.putLong(aNanos(ticket.getFechaActualizacion()));
+        }
+        if (ticket.getStatus() != null) {
+            destino.put((byte) ticket.getStatus().ordinal());
+        }
+        escribirCampo(destino, descripcion);
+    }
+
+    private static TicketDTO leerTicket(ByteBuffer origen) {
+        int presentes = origen.get();
+        TicketDTO ticket = new TicketDTO();
+        if ((presentes & CON_ID) != 0) {
+            ticket.setId(leerUuid(origen));
+        }
+        if ((presentes & CON_USUARIO) != 0) {
+            ticket.setUsuarioId(leerUuid(origen));
+        }
+        if ((presentes & CON_CREACION) != 0) {
+            ticket.setFechaCreacion(aFecha(origen.getLong()));
+        }
+        if ((presentes & CON_ACTUALIZACION) != 0) {
+            ticket.setFechaActualizacion(aFecha(origen.getLong()));
+        }
+        if ((presentes & CON_STATUS) != 0) {
+            int ordinal = origen.get();
+            if (ordinal < 0 || ordinal >= ESTATUS.length) {
+                throw new IllegalArgumentException("Estatus desconocido: " + ordinal);
+            }
+            ticket.setStatus(ESTATUS[ordinal]);
+        }
+        ticket.setDescripcion(leerCampo(origen));
+        return ticket;
+    }
+
+    private static TicketPageCache.PaginaIds leerPagina(ByteBuffer origen) {
+        long total = origen.getLong();
+        int cantidad = leerVarint(origen);
+        if (cantidad > origen.remaining() / 16) {
+            throw new BufferUnderflowException();
+        }
+        List<UUID> ids = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(leerUuid(origen));
+        }
+        return new TicketPageCache.PaginaIds(ids, total);
+    }
+
+    private static void escribirUuid(ByteBuffer destino, UUID uuid) {
+        destino.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID leerUuid(ByteBuffer origen) {
+        return new UUID(origen.getLong(), origen.getLong());
+    }
+
+    private static int tamanoCampo(byte[] campo) {
+        int longitud = campo == null ? 0 : campo.length;
+        return tamanoVarint(longitud + 1) + longitud;
+    }
+
+    private static void escribirCampo(ByteBuffer destino, byte[] campo) {
+        if (campo == null) {
+            escribirVarint(destino, 0);
+            return;
+        }
+        escribirVarint(destino, campo.length + 1);
+        destino.put(campo);
+    }
+
+    private static String leerCampo(ByteBuffer origen) {
+        int longitud = leerVarint(origen) - 1;
+        if (longitud < 0) {
+            return null;
+        }
+        if (longitud > origen.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String valor = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud, StandardCharsets.UTF_8);
+        origen.position(origen.position() + longitud);
+        return valor;
+    }
+
+    private static int tamanoVarint(int valor) {
+        int tamano = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    private static void escribirVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int leerVarint(ByteBuffer origen) {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = origen.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint mal formado en valor de cache");
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long aNanos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fecha.getNano();
+    }
+
+    private static LocalDateTime aFecha(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
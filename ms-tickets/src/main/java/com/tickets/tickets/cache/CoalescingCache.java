@@ -0,0 +1,324 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Protección contra estampidas para {@code @Cacheable(sync = true)} sobre una cache con TTL en Redis.
+ * <ul>
+ *   <li>Carga única: en un fallo, el primer hilo del nodo carga y los demás esperan su resultado; entre nodos,
+ *   solo carga quien obtiene un bloqueo corto en Redis ({@code SET NX PX}) y el resto sondea la cache hasta
+ *   que aparece el valor o vence el bloqueo.</li>
+ *   <li>Refresco anticipado probabilístico (XFetch): un acierto recalcula la entrada con una probabilidad que
+ *   crece al acercarse su expiración, en proporción a lo que tarda en calcularse, así que una clave caliente
+ *   se renueva antes de caducar en lugar de fallar todos a la vez.</li>
+ * </ul>
+ * La expiración de cada clave se consulta con {@code PTTL} y se recuerda un tiempo corto. El resto de
+ * operaciones se delegan sin cambios.
+ */
+@Slf4j
+public class CoalescingCache implements Cache {
+
+    private static final RedisScript<Long> LIBERAR = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final Duration SONDEO = Duration.ofMillis(20);
+    private static final Duration VIGENCIA_EXPIRACION = Duration.ofSeconds(30);
+    private static final double RECALCULO_INICIAL_MS = 10;
+    /** Peso de la última carga en la media móvil del tiempo de recálculo. */
+    private static final double PESO_MEDIA = 0.2;
+
+    private final Cache delegado;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration bloqueo;
+    private final double beta;
+    private final String propietario = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> enVuelo = new ConcurrentHashMap<>();
+    private final Set<String> refrescando = ConcurrentHashMap.newKeySet();
+    /** Instante (ms) en que caduca cada clave en Redis, tal como lo vio este nodo. */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> expiraciones;
+    private volatile double recalculoMedioMs = RECALCULO_INICIAL_MS;
+
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder esperas = new LongAdder();
+    private final LongAdder refrescosAnticipados = new LongAdder();
+
+    /**
+     * @param bloqueo duración del bloqueo entre nodos; debe superar el tiempo de carga habitual
+     * @param beta    agresividad del refresco anticipado (1 es el valor de XFetch; 0 lo desactiva)
+     */
+    public CoalescingCache(Cache delegado, StringRedisTemplate redisTemplate, Duration bloqueo, double beta,
+                           long tamanoMaximo) {
+        this.delegado = delegado;
+        this.redisTemplate = redisTemplate;
+        this.bloqueo = bloqueo;
+        this.beta = beta;
+        this.expiraciones = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(VIGENCIA_EXPIRACION)
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String clave = String.valueOf(key);
+        ValueWrapper cacheado = delegado.get(key);
+        if (cacheado == null) {
+            return (T) cargarUnaVez(key, clave, valueLoader);
+        }
+        if (beta > 0 && debeRefrescar(expiracion(clave))) {
+            ValueWrapper refrescado = refrescarAnticipadamente(key, clave, valueLoader);
+            if (refrescado != null) {
+                return (T) refrescado.get();
+            }
+        }
+        return (T) cacheado.get();
+    }
+
+    private Object cargarUnaVez(Object key, String clave, Callable<?> valueLoader) {
+        CompletableFuture<Object> propio = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enVuelo.putIfAbsent(clave, propio);
+        if (existente != null) {
+            esperas.increment();
+            return esperar(existente);
+        }
+        try {
+            // Otra carga pudo terminar entre el fallo y el registro de esta
+            ValueWrapper recienCargado = delegado.get(key);
+            Object valor = recienCargado != null ? recienCargado.get() : cargarEntreNodos(key, clave, valueLoader);
+            propio.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enVuelo.remove(clave, propio);
+        }
+    }
+
+    private Object esperar(CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private Object cargarEntreNodos(Object key, String clave, Callable<?> valueLoader) {
+        String candado = claveBloqueo(clave);
+        boolean bloqueado = bloquear(candado);
+        if (!bloqueado) {
+            ValueWrapper cargadoPorOtro = esperarOtroNodo(key);
+            if (cargadoPorOtro != null) {
+                esperas.increment();
+                return cargadoPorOtro.get();
+            }
+            log.debug("Venció el bloqueo de carga de {} sin valor en cache, se carga sin él", candado);
+        }
+        try {
+            return cargar(key, clave, valueLoader);
+        } finally {
+            if (bloqueado) {
+                liberar(candado);
+            }
+        }
+    }
+
+    /** XFetch: el refresco solo lo hace un hilo por nodo y un nodo a la vez; el resto sigue con el valor cacheado. */
+    private ValueWrapper refrescarAnticipadamente(Object key, String clave, Callable<?> valueLoader) {
+        if (!refrescando.add(clave)) {
+            return null;
+        }
+        try {
+            // Otro nodo pudo renovar la entrada desde que se consultó su expiración
+            long expiracion = consultarExpiracion(clave);
+            expiraciones.put(clave, expiracion);
+            String candado = claveBloqueo(clave);
+            if (!debeRefrescar(expiracion) || !bloquear(candado)) {
+                return null;
+            }
+            try {
+                refrescosAnticipados.increment();
+                return new SimpleValueWrapper(cargar(key, clave, valueLoader));
+            } finally {
+                liberar(candado);
+            }
+        } finally {
+            refrescando.remove(clave);
+        }
+    }
+
+    private Object cargar(Object key, String clave, Callable<?> valueLoader) {
+        long inicio = System.nanoTime();
+        Object valor;
+        try {
+            valor = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        double milisegundos = (System.nanoTime() - inicio) / 1_000_000.0;
+        recalculoMedioMs = recalculoMedioMs * (1 - PESO_MEDIA) + milisegundos * PESO_MEDIA;
+        cargas.increment();
+        delegado.put(key, valor);
+        expiraciones.invalidate(clave);
+        return valor;
+    }
+
+    private boolean debeRefrescar(long expiracion) {
+        double margen = -recalculoMedioMs * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + margen >= expiracion;
+    }
+
+    private long expiracion(String clave) {
+        return expiraciones.get(clave, this::consultarExpiracion);
+    }
+
+    /** Sin TTL se considera que nunca caduca; si ya no está en Redis (solo queda en L1), que caducó ahora. */
+    private long consultarExpiracion(String clave) {
+        try {
+            Long restante = redisTemplate.getExpire(claveRedis(clave), TimeUnit.MILLISECONDS);
+            if (restante == null || restante == -1) {
+                return Long.MAX_VALUE;
+            }
+            return System.currentTimeMillis() + Math.max(restante, 0);
+        } catch (RuntimeException e) {
+            log.debug("No se pudo consultar la expiración de {}: {}", clave, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /** Si Redis no responde se carga sin coordinar con otros nodos. */
+    private boolean bloquear(String candado) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(candado, propietario, bloqueo));
+        } catch (RuntimeException e) {
+            log.debug("No se pudo tomar el bloqueo {}: {}", candado, e.getMessage());
+            return true;
+        }
+    }
+
+    private void liberar(String candado) {
+        try {
+            redisTemplate.execute(LIBERAR, List.of(candado), propietario);
+        } catch (RuntimeException e) {
+            log.debug("No se pudo liberar el bloqueo {}; vencerá solo: {}", candado, e.getMessage());
+        }
+    }
+
+    private ValueWrapper esperarOtroNodo(Object key) {
+        long limite = System.nanoTime() + bloqueo.toNanos();
+        while (System.nanoTime() < limite) {
+            try {
+                Thread.sleep(SONDEO.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper valor = delegado.get(key);
+            if (valor != null) {
+                return valor;
+            }
+        }
+        return null;
+    }
+
+    /** Misma clave que {@code RedisCache} con el prefijo por defecto ({@code nombre::clave}). */
+    private String claveRedis(String clave) {
+        return getName() + "::" + clave;
+    }
+
+    private String claveBloqueo(String clave) {
+        return "carga:" + claveRedis(clave);
+    }
+
+    @Override
+    public String getName() {
+        return delegado.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegado.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegado.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegado.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegado.put(key, value);
+        expiraciones.invalidate(String.valueOf(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegado.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegado.evict(key);
+        expiraciones.invalidate(String.valueOf(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean existia = delegado.evictIfPresent(key);
+        expiraciones.invalidate(String.valueOf(key));
+        return existia;
+    }
+
+    @Override
+    public void clear() {
+        delegado.clear();
+        expiraciones.invalidateAll();
+    }
+
+    /** Cache envuelta, para instrumentarla. */
+    public Cache getDelegado() {
+        return delegado;
+    }
+
+    /** Cargas desde la base de datos (fallos y refrescos). */
+    public long getCargas() {
+        return cargas.sum();
+    }
+
+    /** Fallos resueltos con la carga de otro hilo u otro nodo. */
+    public long getEsperas() {
+        return esperas.sum();
+    }
+
+    public long getRefrescosAnticipados() {
+        return refrescosAnticipados.sum();
+    }
+}
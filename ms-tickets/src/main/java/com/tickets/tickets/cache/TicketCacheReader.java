@@ -0,0 +1,143 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Lectura por lotes de la cache {@value TicketCacheWriter#CACHE}, con las mismas claves y serialización que
+ * {@code @Cacheable}: primero el L1 de este nodo, después un solo {@code MGET} a Redis para el resto, una sola
+ * carga de la base para lo que falte y la escritura de lo cargado en un pipeline con el script de
+ * {@link TicketRedisCache}. Para N tickets son como mucho dos viajes a Redis y una consulta, en lugar de N de cada.
+ * <p>
+ * La escritura no pisa una versión posterior guardada entretanto por {@link TicketCacheWriter}; lo cargado solo
+ * pasa al L1 si se llegó a guardar. Si Redis falla se lee todo de la base y no se guarda nada.
+ */
+@Slf4j
+public class TicketCacheReader {
+
+    private final Cache tickets;
+    private final TicketRedisCache remoto;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @param tickets la cache de tickets del {@link TwoTierCacheManager}: con L1 ({@link TwoTierCache}) o
+     *                directamente la {@link TicketRedisCache}
+     */
+    public TicketCacheReader(Cache tickets, StringRedisTemplate redisTemplate) {
+        this.tickets = tickets;
+        this.remoto = (TicketRedisCache) (tickets instanceof TwoTierCache dosNiveles ? dosNiveles.getRemoto() : tickets);
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Tickets con los ids dados, en el orden recibido y sin repetir; los que no existen no aparecen.
+     *
+     * @param cargar tickets de la base por id, para los que no están en cache; se llama una vez como mucho
+     */
+    public Map<UUID, TicketDTO> obtener(Collection<UUID> ids, Function<Collection<UUID>, List<TicketDTO>> cargar) {
+        Set<UUID> pendientes = new LinkedHashSet<>(ids);
+        Map<UUID, TicketDTO> encontrados = new LinkedHashMap<>();
+        leerLocal(pendientes, encontrados);
+
+        boolean redisDisponible = true;
+        if (!pendientes.isEmpty()) {
+            try {
+                leerRemoto(pendientes, encontrados);
+            } catch (RuntimeException e) {
+                redisDisponible = false;
+                log.warn("Cache de tickets no disponible, se leen {} de la base: {}", pendientes.size(), e.getMessage());
+            }
+        }
+
+        if (!pendientes.isEmpty()) {
+            List<TicketDTO> cargados = cargar.apply(pendientes);
+            cargados.forEach(ticket -> encontrados.put(ticket.getId(), ticket));
+            if (redisDisponible && !cargados.isEmpty()) {
+                guardar(cargados);
+            }
+        }
+
+        Map<UUID, TicketDTO> ordenados = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            TicketDTO ticket = encontrados.get(id);
+            if (ticket != null) {
+                ordenados.put(id, ticket);
+            }
+        }
+        return ordenados;
+    }
+
+    private void leerLocal(Set<UUID> pendientes, Map<UUID, TicketDTO> encontrados) {
+        if (!(tickets instanceof TwoTierCache dosNiveles)) {
+            return;
+        }
+        pendientes.removeIf(id -> {
+            Cache.ValueWrapper enLocal = dosNiveles.getLocal().getIfPresent(TwoTierCache.claveLocal(id));
+            if (enLocal != null && enLocal.get() instanceof TicketDTO ticket) {
+                encontrados.put(id, ticket);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void leerRemoto(Set<UUID> pendientes, Map<UUID, TicketDTO> encontrados) {
+        List<UUID> orden = new ArrayList<>(pendientes);
+        byte[][] claves = orden.stream().map(this::clave).toArray(byte[][]::new);
+        List<byte[]> valores = redisTemplate.execute((RedisCallback<List<byte[]>>) conexion ->
+                conexion.stringCommands().mGet(claves));
+        if (valores == null) {
+            return;
+        }
+        RedisCacheConfiguration configuracion = remoto.getRemoto().getCacheConfiguration();
+        for (int i = 0; i < orden.size(); i++) {
+            byte[] valor = valores.get(i);
+            if (valor != null && configuracion.getValueSerializationPair().read(ByteBuffer.wrap(valor))
+                    instanceof TicketDTO ticket) {
+                encontrados.put(orden.get(i), ticket);
+                pendientes.remove(orden.get(i));
+                guardarLocal(ticket);
+            }
+        }
+    }
+
+    /** Si falla, las entradas se vuelven a cargar en la próxima lectura. */
+    private void guardar(List<TicketDTO> cargados) {
+        try {
+            List<Boolean> guardados = remoto.guardar(cargados);
+            for (int i = 0; i < cargados.size(); i++) {
+                if (guardados.get(i)) {
+                    guardarLocal(cargados.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar {} tickets en cache: {}", cargados.size(), e.getMessage());
+        }
+    }
+
+    private void guardarLocal(TicketDTO ticket) {
+        if (tickets instanceof TwoTierCache dosNiveles) {
+            dosNiveles.getLocal().put(TwoTierCache.claveLocal(ticket.getId()), new SimpleValueWrapper(ticket));
+        }
+    }
+
+    private byte[] clave(UUID id) {
+        return redisTemplate.getStringSerializer().serialize(remoto.clave(id));
+    }
+}
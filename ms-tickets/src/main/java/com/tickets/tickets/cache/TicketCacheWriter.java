@@ -0,0 +1,92 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escritura directa (write-through) en la cache {@value #CACHE}: tras escribir un ticket se guarda su versión
+ * nueva en lugar de descartarla, de modo que la siguiente lectura es un acierto (en L1 en este nodo) y no
+ * una carga desde la base que además podrían repetir a la vez varios lectores.
+ * <p>
+ * Dentro de una transacción el guardado espera al commit, así que un rollback nunca llega a la cache.
+ * Si dos ediciones del mismo ticket confirman casi a la vez, la que llega tarde no pisa a una versión
+ * con {@code fechaActualizacion} posterior: de eso se encarga, en una sola operación en Redis,
+ * {@link TicketRedisCache}, que es la cache remota de {@value #CACHE}.
+ */
+@Slf4j
+public class TicketCacheWriter {
+
+    public static final String CACHE = "ticket";
+
+    private final Cache tickets;
+
+    public TicketCacheWriter(Cache tickets) {
+        this.tickets = tickets;
+    }
+
+    public void guardarTrasCommit(TicketDTO ticket) {
+        guardarTrasCommit(List.of(ticket));
+    }
+
+    public void guardarTrasCommit(Collection<TicketDTO> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guardar(lote);
+                }
+            });
+        } else {
+            guardar(lote);
+        }
+    }
+
+    /**
+     * Si guardar un ticket falla se descarta su entrada, para que no se siga leyendo la versión anterior, y se
+     * sigue con el resto. Si tampoco se puede descartar, Redis no responde: del resto del lote solo se limpia
+     * el L1 de este nodo, sin esperar a Redis por cada ticket.
+     */
+    private void guardar(Collection<TicketDTO> lote) {
+        boolean remotoDisponible = true;
+        for (TicketDTO ticket : lote) {
+            if (!remotoDisponible) {
+                descartarLocal(ticket.getId());
+                continue;
+            }
+            try {
+                tickets.put(ticket.getId(), ticket);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo refrescar el ticket {} en cache, se descarta: {}", ticket.getId(), e.getMessage());
+                remotoDisponible = descartar(ticket.getId());
+            }
+        }
+    }
+
+    private boolean descartar(UUID id) {
+        try {
+            tickets.evict(id);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("No se pudo descartar el ticket {} de la cache; en Redis puede leerse la versión anterior "
+                    + "hasta que caduque: {}", id, e.getMessage());
+            descartarLocal(id);
+            return false;
+        }
+    }
+
+    private void descartarLocal(UUID id) {
+        if (tickets instanceof TwoTierCache dosNiveles) {
+            dosNiveles.invalidarLocal(TwoTierCache.claveLocal(id));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache de páginas de tickets filtradas por estatus y/o usuario, con invalidación por etiquetas.
+ * Cada combinación de filtros es una etiqueta con una versión en Redis que forma parte de la clave de la página:
+ * {@code v<version>|status|usuario|page|size|sort}. Al escribir un ticket se incrementan, tras el commit, solo
+ * las versiones de las etiquetas que lo incluyen (su estatus y su dueño, por separado, juntos y sin filtros);
+ * las páginas anteriores dejan de ser alcanzables y caducan por TTL. Una lectura que empezó antes del commit
+ * guarda su resultado bajo la versión vieja, así que nunca se sirve una página obsoleta.
+ * <p>
+ * Una página guarda solo los ids de sus tickets y el total ({@link PaginaIds}); al leerla, el contenido se busca
+ * por lotes en la cache {@value TicketCacheWriter#CACHE} ({@link TicketCacheReader}: L1 casi siempre, y al día
+ * por la escritura directa) y lo que falte en la base con una sola consulta.
+ */
+@Slf4j
+public class TicketPageCache {
+
+    public static final String CACHE = "ticket_pagina";
+    static final String PREFIJO_VERSION = CACHE + ":version:";
+    static final String TODOS = "*";
+    private static final String SEPARADOR = "|";
+
+    private final Cache paginas;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttlVersion;
+
+    /**
+     * @param ttlPaginas TTL de las páginas; las versiones se conservan el doble para que una versión
+     *                   no vuelva a cero mientras sigan vivas páginas guardadas con ella.
+     */
+    public TicketPageCache(Cache paginas, StringRedisTemplate redisTemplate, Duration ttlPaginas) {
+        this.paginas = paginas;
+        this.redisTemplate = redisTemplate;
+        this.ttlVersion = ttlPaginas.multipliedBy(2);
+    }
+
+    /**
+     * Devuelve la página cacheada para los filtros y el {@link Pageable} dados o la obtiene con {@code consulta}.
+     * Si Redis no responde se consulta directamente la base de datos.
+     *
+     * @param buscarTickets tickets por id (los que no existen no aparecen), para completar una página cacheada
+     */
+    public Page<TicketDTO> obtener(String status, UUID usuarioId, Pageable pageable, Supplier<Page<TicketDTO>> consulta,
+                                   Function<Collection<UUID>, Map<UUID, TicketDTO>> buscarTickets) {
+        String etiqueta = etiqueta(status != null ? status.toUpperCase() : TODOS,
+                usuarioId != null ? usuarioId.toString() : TODOS);
+        String clave;
+        try {
+            clave = clave(version(etiqueta), etiqueta, pageable);
+            Cache.ValueWrapper entrada = paginas.get(clave);
+            if (entrada != null && entrada.get() instanceof PaginaIds cacheada) {
+                List<TicketDTO> contenido = hidratar(cacheada.getIds(), buscarTickets);
+                if (contenido != null) {
+                    return new PageImpl<>(contenido, pageable, cacheada.getTotalElementos());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache de páginas no disponible, se consulta la base de datos: {}", e.getMessage());
+            return consulta.get();
+        }
+
+        Page<TicketDTO> pagina = consulta.get();
+        try {
+            List<UUID> ids = new ArrayList<>(pagina.getNumberOfElements());
+            pagina.forEach(ticket -> ids.add(ticket.getId()));
+            paginas.put(clave, new PaginaIds(ids, pagina.getTotalElements()));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo guardar la página {} en cache: {}", clave, e.getMessage());
+        }
+        return pagina;
+    }
+
+    /** Tickets de la página en su orden, o null si alguno ya no existe y la página se vuelve a consultar. */
+    private static List<TicketDTO> hidratar(List<UUID> ids, Function<Collection<UUID>, Map<UUID, TicketDTO>> buscarTickets) {
+        Map<UUID, TicketDTO> encontrados = buscarTickets.apply(ids);
+        List<TicketDTO> contenido = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            TicketDTO ticket = encontrados.get(id);
+            if (ticket == null) {
+                return null;
+            }
+            contenido.add(ticket);
+        }
+        return contenido;
+    }
+
+    /**
+     * Invalida las páginas que pueden contener un ticket del usuario con alguno de los estatus dados
+     * (antes y después de un cambio de estatus). Dentro de una transacción espera al commit.
+     */
+    public void invalidar(UUID usuarioId, String... estatus) {
+        Set<String> etiquetas = new LinkedHashSet<>();
+        String usuario = usuarioId.toString();
+        for (String status : estatus) {
+            etiquetas.add(etiqueta(status, usuario));
+            etiquetas.add(etiqueta(status, TODOS));
+        }
+        etiquetas.add(etiqueta(TODOS, usuario));
+        etiquetas.add(etiqueta(TODOS, TODOS));
+        invalidarEtiquetas(etiquetas);
+    }
+
+    /**
+     * Igual que {@link #invalidar(UUID, String...)} para los tickets de una operación masiva: cada etiqueta
+     * se incrementa una sola vez aunque la compartan muchos tickets. Puede invalidar de más
+     * (cada usuario con cada estatus), nunca de menos.
+     */
+    public void invalidar(Collection<UUID> usuarioIds, Collection<String> estatus) {
+        Set<String> etiquetas = new LinkedHashSet<>();
+        for (String status : estatus) {
+            etiquetas.add(etiqueta(status, TODOS));
+        }
+        for (UUID usuarioId : usuarioIds) {
+            String usuario = usuarioId.toString();
+            for (String status : estatus) {
+                etiquetas.add(etiqueta(status, usuario));
+            }
+            etiquetas.add(etiqueta(TODOS, usuario));
+        }
+        etiquetas.add(etiqueta(TODOS, TODOS));
+        invalidarEtiquetas(etiquetas);
+    }
+
+    private void invalidarEtiquetas(Set<String> etiquetas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementarVersiones(etiquetas);
+                }
+            });
+        } else {
+            incrementarVersiones(etiquetas);
+        }
+    }
+
+    private void incrementarVersiones(Set<String> etiquetas) {
+        try {
+            for (String etiqueta : etiquetas) {
+                redisTemplate.opsForValue().increment(PREFIJO_VERSION + etiqueta);
+                redisTemplate.expire(PREFIJO_VERSION + etiqueta, ttlVersion);
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudieron invalidar las páginas de tickets {}; caducarán por TTL", etiquetas, e);
+        }
+    }
+
+    private long version(String etiqueta) {
+        String version = redisTemplate.opsForValue().get(PREFIJO_VERSION + etiqueta);
+        return version != null ? Long.parseLong(version) : 0;
+    }
+
+    static String etiqueta(String status, String usuario) {
+        return status + SEPARADOR + usuario;
+    }
+
+    static String clave(long version, String etiqueta, Pageable pageable) {
+        return "v" + version + SEPARADOR + etiqueta + SEPARADOR
+                + (pageable.isPaged() ? pageable.getPageNumber() + SEPARADOR + pageable.getPageSize() : "todo")
+                + SEPARADOR + pageable.getSort();
+    }
+
+    /** Ids del contenido y total de una página; el {@link Pageable} se reconstruye con el de la petición. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaginaIds {
+        private List<UUID> ids;
+        private long totalElementos;
+    }
+}
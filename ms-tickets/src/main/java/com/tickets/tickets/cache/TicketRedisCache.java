@@ -0,0 +1,182 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache {@value TicketCacheWriter#CACHE} en Redis que no pisa un ticket con una versión posterior. Junto a cada
+ * entrada se guarda su {@code fechaActualizacion} en otra clave ({@value #SUFIJO_VERSION}) y un script Lua escribe
+ * las dos, con el mismo TTL, solo si la versión guardada no es más nueva. Todo lo que escribe en esta cache pasa
+ * por {@link #SCRIPT}: la escritura tras un commit ({@link TicketCacheWriter}), las cargas de {@code @Cacheable},
+ * las de {@link TicketCacheReader} y las de la lectura reactiva; así una carga que leyó la fila antes de una
+ * edición no sustituye al valor que guardó la edición.
+ * <p>
+ * La versión son los nanosegundos desde epoch con ancho fijo, para compararla como texto en Lua sin perder
+ * precisión. Los valores de otros tipos y el resto de operaciones se delegan en la {@link RedisCache}.
+ */
+public class TicketRedisCache implements Cache {
+
+    static final String SUFIJO_VERSION = ":version";
+
+    /** KEYS: entrada y versión; ARGV: valor, versión y TTL en ms (0 = sin TTL). Devuelve 1 si guardó. */
+    public static final byte[] SCRIPT = """
+            local guardada = redis.call('get', KEYS[2])
+            if guardada and guardada > ARGV[2] then
+              return 0
+            end
+            if ARGV[3] == '0' then
+              redis.call('set', KEYS[1], ARGV[1])
+              redis.call('set', KEYS[2], ARGV[2])
+            else
+              redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[3])
+              redis.call('set', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisCache remoto;
+    private final StringRedisTemplate redisTemplate;
+
+    public TicketRedisCache(RedisCache remoto, StringRedisTemplate redisTemplate) {
+        this.remoto = remoto;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /** Guarda el ticket salvo que haya en Redis una versión posterior; devuelve si lo guardó. */
+    public boolean guardar(TicketDTO ticket) {
+        Long guardado = redisTemplate.execute((RedisCallback<Long>) conexion ->
+                conexion.scriptingCommands().eval(SCRIPT, ReturnType.INTEGER, 2, clavesYArgumentos(ticket)));
+        return Long.valueOf(1).equals(guardado);
+    }
+
+    /** Como {@link #guardar(TicketDTO)} para varios tickets en un pipeline; devuelve si se guardó cada uno. */
+    public List<Boolean> guardar(List<TicketDTO> tickets) {
+        List<Object> resultados = redisTemplate.executePipelined((RedisCallback<Object>) conexion -> {
+            for (TicketDTO ticket : tickets) {
+                conexion.scriptingCommands().eval(SCRIPT, ReturnType.INTEGER, 2, clavesYArgumentos(ticket));
+            }
+            return null;
+        });
+        return resultados.stream().map(resultado -> Long.valueOf(1).equals(resultado)).toList();
+    }
+
+    /** Claves y argumentos de {@link #SCRIPT} para el ticket, en el orden de {@code EVAL}. */
+    public byte[][] clavesYArgumentos(TicketDTO ticket) {
+        RedisCacheConfiguration configuracion = remoto.getCacheConfiguration();
+        String clave = clave(ticket.getId());
+        ByteBuffer valor = configuracion.getValueSerializationPair().write(ticket);
+        byte[] datos = new byte[valor.remaining()];
+        valor.get(datos);
+        Duration ttl = configuracion.getTtlFunction().getTimeToLive(ticket.getId(), ticket);
+        long ttlMs = ttl == null || ttl.isZero() || ttl.isNegative() ? 0 : ttl.toMillis();
+        return new byte[][]{
+                bytes(clave),
+                bytes(clave + SUFIJO_VERSION),
+                datos,
+                bytes(version(ticket.getFechaActualizacion())),
+                bytes(Long.toString(ttlMs))
+        };
+    }
+
+    /** Clave de Redis de la entrada, la misma que usa {@link RedisCache} ({@code ticket::<id>}). */
+    public String clave(Object key) {
+        return remoto.getCacheConfiguration().getKeyPrefixFor(remoto.getName()) + key;
+    }
+
+    /** Sin fecha la versión es la mínima: cualquier otra la sustituye. */
+    static String version(LocalDateTime fechaActualizacion) {
+        if (fechaActualizacion == null) {
+            return "";
+        }
+        long nanos = fechaActualizacion.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fechaActualizacion.getNano();
+        return String.format("%020d", nanos);
+    }
+
+    public RedisCache getRemoto() {
+        return remoto;
+    }
+
+    @Override
+    public String getName() {
+        return remoto.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoto.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return remoto.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return remoto.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cacheado = remoto.get(key);
+        if (cacheado != null) {
+            return (T) cacheado.get();
+        }
+        T valor;
+        try {
+            valor = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, valor);
+        return valor;
+    }
+
+    /** Los tickets se guardan con {@link #guardar(TicketDTO)}; si hay una versión posterior no se hace nada. */
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof TicketDTO ticket) {
+            guardar(ticket);
+        } else {
+            remoto.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return remoto.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoto.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return remoto.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+    }
+
+    private byte[] bytes(String texto) {
+        return redisTemplate.getStringSerializer().serialize(texto);
+    }
+}
@@ -0,0 +1,173 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tickets.tickets.dto.TicketDTO;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de dos niveles: L1 en memoria (Caffeine, W-TinyLFU) delante de L2 en Redis.
+ * Las escrituras van a ambos niveles y se notifican al resto de nodos para que descarten su L1. Si L2 es una
+ * {@link TicketRedisCache}, lo que esta no guarda por haber una versión posterior tampoco se guarda en L1.
+ */
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final org.springframework.cache.Cache remoto;
+    private final Cache<String, ValueWrapper> local;
+    private final CacheInvalidationPublisher invalidaciones;
+
+    private final LongAdder aciertosRemotos = new LongAdder();
+    private final LongAdder fallosRemotos = new LongAdder();
+
+    public TwoTierCache(String name,
+                        org.springframework.cache.Cache remoto,
+                        Cache<String, ValueWrapper> local,
+                        CacheInvalidationPublisher invalidaciones) {
+        this.name = name;
+        this.remoto = remoto;
+        this.local = local;
+        this.invalidaciones = invalidaciones;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoto.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String claveLocal = claveLocal(key);
+        ValueWrapper enLocal = local.getIfPresent(claveLocal);
+        if (enLocal != null) {
+            return enLocal;
+        }
+        ValueWrapper enRemoto = remoto.get(key);
+        if (enRemoto != null) {
+            aciertosRemotos.increment();
+            local.put(claveLocal, enRemoto);
+        } else {
+            fallosRemotos.increment();
+        }
+        return enRemoto;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "El valor en cache no es del tipo requerido [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String claveLocal = claveLocal(key);
+        ValueWrapper enLocal = local.getIfPresent(claveLocal);
+        if (enLocal != null) {
+            return (T) enLocal.get();
+        }
+        boolean[] cargado = {false};
+        T value = remoto.get(key, () -> {
+            cargado[0] = true;
+            return valueLoader.call();
+        });
+        if (cargado[0]) {
+            fallosRemotos.increment();
+            // Lo cargado puede no haberse guardado en L2; la próxima lectura lo toma de allí
+            if (remoto instanceof TicketRedisCache) {
+                return value;
+            }
+        } else {
+            aciertosRemotos.increment();
+        }
+        local.put(claveLocal, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (remoto instanceof TicketRedisCache versionada && value instanceof TicketDTO ticket) {
+            if (versionada.guardar(ticket)) {
+                local.put(claveLocal(key), new SimpleValueWrapper(value));
+            } else {
+                invalidarLocal(claveLocal(key));
+            }
+        } else {
+            remoto.put(key, value);
+            local.put(claveLocal(key), new SimpleValueWrapper(value));
+        }
+        invalidaciones.publicarEvict(name, claveLocal(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = remoto.putIfAbsent(key, value);
+        invalidarLocal(claveLocal(key));
+        invalidaciones.publicarEvict(name, claveLocal(key));
+        return existente;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoto.evict(key);
+        invalidarLocal(claveLocal(key));
+        invalidaciones.publicarEvict(name, claveLocal(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean existia = remoto.evictIfPresent(key);
+        invalidarLocal(claveLocal(key));
+        invalidaciones.publicarEvict(name, claveLocal(key));
+        return existia;
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+        invalidarLocalCompleto();
+        invalidaciones.publicarClear(name);
+    }
+
+    /** Descarta una entrada de L1 sin tocar Redis; usado al recibir invalidaciones de otros nodos. */
+    public void invalidarLocal(String claveLocal) {
+        local.invalidate(claveLocal);
+    }
+
+    public void invalidarLocalCompleto() {
+        local.invalidateAll();
+    }
+
+    public org.springframework.cache.Cache getRemoto() {
+        return remoto;
+    }
+
+    public Cache<String, ValueWrapper> getLocal() {
+        return local;
+    }
+
+    public long getAciertosRemotos() {
+        return aciertosRemotos.sum();
+    }
+
+    public long getFallosRemotos() {
+        return fallosRemotos.sum();
+    }
+
+    static String claveLocal(Object key) {
+        return String.valueOf(key);
+    }
+}
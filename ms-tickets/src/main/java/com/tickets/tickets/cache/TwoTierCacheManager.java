@@ -0,0 +1,131 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Envuelve el {@link RedisCacheManager} y antepone un L1 Caffeine, de tamaño propio, a las caches indicadas.
+ * El resto de caches se sirven directamente desde Redis. La cache de Redis de algunas caches puede sustituirse por
+ * otra que la envuelve (p. ej. {@link TicketRedisCache}), y es esa la que usan los dos casos.
+ */
+public class TwoTierCacheManager implements CacheManager, InitializingBean, MeterBinder {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationPublisher invalidaciones;
+    private final Map<String, Long> tamanosL1;
+    private final Duration ttlLocal;
+    private final Map<String, Function<RedisCache, Cache>> remotos;
+
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> envueltas = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               CacheInvalidationPublisher invalidaciones,
+                               Map<String, Long> tamanosL1,
+                               Duration ttlLocal) {
+        this(redisCacheManager, invalidaciones, tamanosL1, ttlLocal, Map.of());
+    }
+
+    /** @param remotos por nombre de cache, la cache que sustituye a la de Redis */
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               CacheInvalidationPublisher invalidaciones,
+                               Map<String, Long> tamanosL1,
+                               Duration ttlLocal,
+                               Map<String, Function<RedisCache, Cache>> remotos) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidaciones = invalidaciones;
+        this.tamanosL1 = Map.copyOf(tamanosL1);
+        this.ttlLocal = ttlLocal;
+        this.remotos = Map.copyOf(remotos);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        redisCacheManager.afterPropertiesSet();
+        tamanosL1.keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!tamanosL1.containsKey(name)) {
+            return remoto(name);
+        }
+        return caches.computeIfAbsent(name, this::crearCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    public TwoTierCache getTwoTierCache(String name) {
+        return caches.get(name);
+    }
+
+    public String getNodo() {
+        return invalidaciones.getNodo();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.values().forEach(cache -> registrarMetricas(cache, registry));
+    }
+
+    private TwoTierCache crearCache(String name) {
+        Cache remoto = remoto(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(tamanosL1.get(name))
+                .expireAfterWrite(ttlLocal)
+                .recordStats()
+                .build();
+        return new TwoTierCache(name, remoto, local, invalidaciones);
+    }
+
+    private Cache remoto(String name) {
+        Cache cache = redisCacheManager.getCache(name);
+        Function<RedisCache, Cache> envoltura = remotos.get(name);
+        if (envoltura == null || cache == null) {
+            return cache;
+        }
+        return envueltas.computeIfAbsent(name, n -> envoltura.apply((RedisCache) cache));
+    }
+
+    private void registrarMetricas(TwoTierCache cache, MeterRegistry registry) {
+        String name = cache.getName();
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.getLocal().stats().hitCount())
+                .tags("cache", name, "tier", "l1", "result", "hit")
+                .description("Lecturas resueltas por nivel de cache")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> c.getLocal().stats().missCount())
+                .tags("cache", name, "tier", "l1", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoTierCache::getAciertosRemotos)
+                .tags("cache", name, "tier", "l2", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoTierCache::getFallosRemotos)
+                .tags("cache", name, "tier", "l2", "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.evictions", cache, c -> c.getLocal().stats().evictionCount())
+                .tags("cache", name, "tier", "l1")
+                .description("Entradas expulsadas del L1 por tamaño o expiración")
+                .register(registry);
+        Gauge.builder("cache.tier.size", cache, c -> c.getLocal().estimatedSize())
+                .tags("cache", name, "tier", "l1")
+                .register(registry);
+    }
+}
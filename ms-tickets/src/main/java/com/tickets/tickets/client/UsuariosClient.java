@@ -0,0 +1,35 @@
+package com.tickets.tickets.client;
+
+import com.tickets.tickets.dto.UsuarioDTO;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Cliente de ms-users: resuelve usuarios por lotes con {@code POST /api/usuarios/batch}. */
+@Component
+public class UsuariosClient {
+
+    private static final ParameterizedTypeReference<List<UsuarioDTO>> LISTA_USUARIOS = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    public UsuariosClient(RestClient usuariosRestClient) {
+        this.restClient = usuariosRestClient;
+    }
+
+    /** Los usuarios existentes entre {@code ids}; los que no existen no aparecen. */
+    public List<UsuarioDTO> obtenerPorIds(Collection<UUID> ids) {
+        List<UsuarioDTO> usuarios = restClient.post()
+                .uri("/api/usuarios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ids)
+                .retrieve()
+                .body(LISTA_USUARIOS);
+        return usuarios != null ? usuarios : List.of();
+    }
+}
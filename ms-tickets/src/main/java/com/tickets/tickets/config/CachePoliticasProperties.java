@@ -0,0 +1,54 @@
+package com.tickets.tickets.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Política de cada cache ({@code tickets.cache.politicas.<cache>}); las caches sin entrada usan
+ * {@code tickets.cache.politicas-por-defecto}. {@link RedisConfig} arma con ellas los gestores de cache y
+ * comprueba al arrancar que cada nombre corresponde a una cache conocida.
+ */
+@Data
+@ConfigurationProperties(prefix = "tickets.cache")
+public class CachePoliticasProperties {
+
+    private Map<String, Politica> politicas = new LinkedHashMap<>();
+
+    private Politica politicasPorDefecto = new Politica();
+
+    public Politica politica(String cache) {
+        return politicas.getOrDefault(cache, politicasPorDefecto);
+    }
+
+    public Set<String> conCargaUnica() {
+        return politicas.entrySet().stream()
+                .filter(entrada -> entrada.getValue().isCargaUnica())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Data
+    public static class Politica {
+
+        /** TTL de las entradas en Redis. */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /** Entradas como máximo en el L1 de cada nodo; 0 = sin L1, se lee directamente de Redis. */
+        private long maximoLocal;
+
+        /** Carga única y refresco anticipado ({@link com.tickets.tickets.cache.CoalescingCache}). */
+        private boolean cargaUnica;
+
+        /** Guardar {@code null}; si no, guardar un valor nulo es un error. */
+        private boolean nulos;
+
+        /** binario | json; vacío para usar {@code tickets.cache.formato}. */
+        private String formato;
+    }
+}
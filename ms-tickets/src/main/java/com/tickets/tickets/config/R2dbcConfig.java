@@ -0,0 +1,59 @@
+package com.tickets.tickets.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Acceso R2DBC para la API reactiva de lectura. Apunta a la misma base que JPA (una base H2 en memoria
+ * o en archivo se comparte dentro de la JVM por nombre). El pool no se registra como bean: un
+ * {@code ConnectionFactory} en el contexto desactivaría el {@code DataSource} de JPA.
+ */
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+
+    @Value("${tickets.r2dbc.url:r2dbc:h2:mem:///ticketsdb?options=DB_CLOSE_DELAY=-1}")
+    private String url;
+
+    @Value("${spring.datasource.username:sa}")
+    private String usuario;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${tickets.r2dbc.pool.max-size:10}")
+    private int tamanoMaximo;
+
+    @Value("${tickets.r2dbc.pool.max-idle-time:30m}")
+    private Duration inactividadMaxima;
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient ticketsDatabaseClient() {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .maxSize(tamanoMaximo)
+                .maxIdleTime(inactividadMaxima)
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
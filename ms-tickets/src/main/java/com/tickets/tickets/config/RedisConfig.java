@@ -1,41 +1,91 @@
 package com.tickets.tickets.config;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.tickets.cache.CacheInvalidationListener;
+import com.tickets.tickets.cache.CacheInvalidationPublisher;
+import com.tickets.tickets.cache.CacheInvalidationSubscriber;
+import com.tickets.tickets.cache.CacheValueSerializer;
+import com.tickets.tickets.cache.CoalescingCacheManager;
+import com.tickets.tickets.cache.TicketCacheReader;
+import com.tickets.tickets.cache.TicketCacheWriter;
+import com.tickets.tickets.cache.TicketPageCache;
+import com.tickets.tickets.cache.TicketRedisCache;
+import com.tickets.tickets.cache.TwoTierCache;
+import com.tickets.tickets.cache.TwoTierCacheManager;
+import com.tickets.tickets.dto.TicketDTO;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 
+/**
+ * Motor de cache: cada cache se arma con su política ({@link CachePoliticasProperties}: TTL, tamaño del L1,
+ * carga única, nulos y formato) sobre Redis, con L1 opcional ({@link TwoTierCacheManager}) y carga única
+ * delante ({@link CoalescingCacheManager}). Al arrancar se comprueba que cada política nombra una cache
+ * existente y que cada cache devuelve igual un valor de muestra con su serializador.
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePoliticasProperties.class)
 public class RedisConfig {
 
+    /** Tamaño del registro de expiraciones de cada cache con carga única. */
+    private static final long EXPIRACIONES_CARGA_UNICA = 10_000;
+
     @Value("${spring.redis.host:redis}")
     private String redisHost;
 
     @Value("${spring.redis.port:6379}")
     private int redisPort;
 
+    @Value("${tickets.cache.formato:binario}")
+    private String formatoCache;
+
+    @Value("${tickets.cache.umbral-compresion:1024}")
+    private int umbralCompresionCache;
+
+    @Value("${tickets.cache.local.ttl:60s}")
+    private Duration ttlLocal;
+
+    @Value("${tickets.cache.local.canal-invalidacion:tickets.cache.invalidacion}")
+    private String canalInvalidacion;
+
+    @Value("${tickets.cache.carga-unica.bloqueo:2s}")
+    private Duration bloqueoCarga;
+
+    @Value("${tickets.cache.refresco-anticipado.beta:1.0}")
+    private double betaRefresco;
+
+    /** Lettuce sirve tanto al cliente bloqueante como al reactivo ({@link #reactiveRedisTemplate}). */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
         redisConfig.setHostName(redisHost);
         redisConfig.setPort(redisPort);
@@ -50,63 +100,165 @@ public class RedisConfig {
         return template;
     }
 
+    /** Valores de cache en binario ({@code tickets.cache.formato}); el JSON queda para otros tipos y entradas antiguas. */
     @Bean
-    public GenericJackson2JsonRedisSerializer redisSerializer() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.registerModule(new Jdk8Module());
-        objectMapper.registerModule(new SimpleModule());
+    public CacheValueSerializer redisSerializer() {
+        return new CacheValueSerializer(jsonRedisSerializer(), !"json".equalsIgnoreCase(formatoCache),
+                umbralCompresionCache);
+    }
 
-        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    public static GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
+        return new GenericJackson2JsonRedisSerializer()
+                .configure(objectMapper -> objectMapper
+                        .registerModule(new JavaTimeModule())
+                        .registerModule(new Jdk8Module()));
     }
 
+    /**
+     * Plantilla reactiva con las mismas claves y serialización que la cache, para leer desde la API reactiva
+     * las entradas que escribe {@link TwoTierCacheManager} (p. ej. {@code ticket::<id>}).
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                       CacheValueSerializer redisSerializer) {
+        RedisSerializationContext<String, Object> contexto = RedisSerializationContext
+                .<String, Object>newSerializationContext(RedisSerializer.string())
+                .value(redisSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, contexto);
+    }
 
-        RedisSerializer<Object> valueSerializer = new GenericJackson2JsonRedisSerializer();
-        RedisSerializationContext.SerializationPair<Object> pair = RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer);
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, canalInvalidacion);
+    }
+
+    @Bean
+    public TwoTierCacheManager twoTierCacheManager(RedisConnectionFactory connectionFactory,
+                                                   CacheInvalidationPublisher cacheInvalidationPublisher,
+                                                   StringRedisTemplate stringRedisTemplate,
+                                                   CachePoliticasProperties politicas) {
+        validarPoliticas(politicas);
 
         Map<String, RedisCacheConfiguration> configs = new HashMap<>();
+        Map<String, Long> tamanosL1 = new HashMap<>();
+        politicas.getPoliticas().forEach((cache, politica) -> {
+            configs.put(cache, configuracion(politica));
+            if (politica.getMaximoLocal() > 0) {
+                tamanosL1.put(cache, politica.getMaximoLocal());
+            }
+        });
 
-        configs.put("ticket", RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(pair)
-                .entryTtl(Duration.ofMinutes(30)));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(configuracion(politicas.getPoliticasPorDefecto()))
+                .withInitialCacheConfigurations(configs)
+                .enableStatistics()
+                .build();
 
-        configs.put("ticket_status", RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(pair)
-                .entryTtl(Duration.ofMinutes(5)));
+        return new TwoTierCacheManager(redisCacheManager, cacheInvalidationPublisher, tamanosL1, ttlLocal,
+                Map.of(TicketCacheWriter.CACHE, remoto -> new TicketRedisCache(remoto, stringRedisTemplate)));
+    }
 
-        configs.put("ticket_usuarioid", RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(pair)
-                .entryTtl(Duration.ofMinutes(5)));
+    /** Gestor usado por {@code @Cacheable}: carga única y refresco anticipado delante de L1 + Redis. */
+    @Bean
+    @Primary
+    public CoalescingCacheManager cacheManager(TwoTierCacheManager twoTierCacheManager,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               CachePoliticasProperties politicas) {
+        return new CoalescingCacheManager(twoTierCacheManager, stringRedisTemplate, politicas.conCargaUnica(),
+                bloqueoCarga, betaRefresco, EXPIRACIONES_CARGA_UNICA);
+    }
 
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(pair)
-                .entryTtl(Duration.ofMinutes(10));
+    @Bean
+    public TicketPageCache ticketPageCache(TwoTierCacheManager cacheManager, StringRedisTemplate stringRedisTemplate,
+                                           CachePoliticasProperties politicas) {
+        return new TicketPageCache(cacheManager.getCache(TicketPageCache.CACHE), stringRedisTemplate,
+                politicas.politica(TicketPageCache.CACHE).getTtl());
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(configs)
-                .build();
+    @Bean
+    public TicketCacheReader ticketCacheReader(TwoTierCacheManager cacheManager, StringRedisTemplate stringRedisTemplate) {
+        return new TicketCacheReader(cacheManager.getCache(TicketCacheWriter.CACHE), stringRedisTemplate);
     }
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
-        ObjectMapper mapper = new ObjectMapper();
-        SimpleModule module = new SimpleModule();
-        module.addDeserializer(PageImpl.class, new PageImplDeserializer());
-        mapper.registerModule(module);
+    public TicketCacheWriter ticketCacheWriter(TwoTierCacheManager cacheManager) {
+        return new TicketCacheWriter(cacheManager.getCache(TicketCacheWriter.CACHE));
+    }
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
+    /** La cache de Redis de {@value TicketCacheWriter#CACHE}, sin L1, para escribir en ella desde la API reactiva. */
+    @Bean
+    public TicketRedisCache ticketRedisCache(TwoTierCacheManager cacheManager) {
+        Cache tickets = cacheManager.getCache(TicketCacheWriter.CACHE);
+        return (TicketRedisCache) (tickets instanceof TwoTierCache dosNiveles ? dosNiveles.getRemoto() : tickets);
+    }
 
-        return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(60))
-                .disableCachingNullValues()
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(cacheManager, cacheManager.getNodo()),
+                new ChannelTopic(canalInvalidacion));
+        return new CacheInvalidationSubscriber(container, Duration.ofSeconds(10));
     }
 
     @Bean
     public SimpleCacheErrorHandler errorHandler() {
         return new SimpleCacheErrorHandler();
     }
-}
\ No newline at end of file
+
+    private RedisCacheConfiguration configuracion(CachePoliticasProperties.Politica politica) {
+        RedisCacheConfiguration configuracion = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer(politica)))
+                .entryTtl(politica.getTtl());
+        return politica.isNulos() ? configuracion : configuracion.disableCachingNullValues();
+    }
+
+    private CacheValueSerializer serializer(CachePoliticasProperties.Politica politica) {
+        String formato = politica.getFormato() != null && !politica.getFormato().isBlank()
+                ? politica.getFormato() : formatoCache;
+        if (!"json".equalsIgnoreCase(formato) && !"binario".equalsIgnoreCase(formato)) {
+            throw new IllegalStateException("Formato de cache desconocido: " + formato + " (binario | json)");
+        }
+        return new CacheValueSerializer(jsonRedisSerializer(), "binario".equalsIgnoreCase(formato),
+                umbralCompresionCache);
+    }
+
+    /**
+     * Falla al arrancar si una política nombra una cache que no existe (una errata dejaría la cache real con la
+     * política por defecto) o si una cache no devuelve igual su valor de muestra con el serializador que le toca.
+     */
+    void validarPoliticas(CachePoliticasProperties politicas) {
+        Map<String, Object> muestras = muestras();
+        Set<String> desconocidas = new TreeSet<>(politicas.getPoliticas().keySet());
+        desconocidas.removeAll(muestras.keySet());
+        if (!desconocidas.isEmpty()) {
+            throw new IllegalStateException("Políticas de cache para caches inexistentes: " + desconocidas
+                    + "; las caches son " + new TreeSet<>(muestras.keySet()));
+        }
+        muestras.forEach((cache, muestra) -> {
+            CacheValueSerializer serializer = serializer(politicas.politica(cache));
+            Object leido = serializer.deserialize(serializer.serialize(muestra));
+            if (!muestra.equals(leido)) {
+                throw new IllegalStateException("La cache '" + cache + "' no devuelve lo que guarda: "
+                        + muestra + " -> " + leido);
+            }
+        });
+    }
+
+    /** Un valor de muestra de cada cache de la aplicación. */
+    static Map<String, Object> muestras() {
+        TicketDTO ticket = TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .descripcion("Muestra de validación")
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(LocalDateTime.now())
+                .fechaActualizacion(LocalDateTime.now())
+                .status(TicketDTO.Status.ABIERTO)
+                .build();
+        return Map.of(
+                TicketCacheWriter.CACHE, ticket,
+                TicketPageCache.CACHE, new TicketPageCache.PaginaIds(List.of(ticket.getId()), 1));
+    }
+}
@@ -0,0 +1,28 @@
+package com.tickets.tickets.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+@Configuration
+public class UsuariosClientConfig {
+
+    @Value("${tickets.usuarios.url:http://localhost:8081}")
+    private String url;
+
+    @Value("${tickets.usuarios.timeout:2s}")
+    private Duration timeout;
+
+    /** Cliente HTTP de ms-users; con el builder de Spring Boot, así que sus llamadas se miden en {@code http.client.requests}. */
+    @Bean
+    public RestClient usuariosRestClient(RestClient.Builder builder) {
+        SimpleClientHttpRequestFactory fabrica = new SimpleClientHttpRequestFactory();
+        fabrica.setConnectTimeout(timeout);
+        fabrica.setReadTimeout(timeout);
+        return builder.baseUrl(url).requestFactory(fabrica).build();
+    }
+}
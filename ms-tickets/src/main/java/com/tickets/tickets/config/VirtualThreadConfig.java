@@ -0,0 +1,29 @@
+package com.tickets.tickets.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}, requiere Java 21): Tomcat, las tareas
+ * {@code @Async}, los listeners de RabbitMQ y el publicador de auditoría corren en hilos virtuales.
+ * En ese modo se vigilan los bloqueos que fijan el hilo virtual a su portador.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Value("${hilos-virtuales.monitor-pinning.umbral:20ms}")
+    private Duration umbralPinning;
+
+    @Bean
+    @ConditionalOnProperty(name = "hilos-virtuales.monitor-pinning.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor() {
+        return new VirtualThreadPinningMonitor(umbralPinning);
+    }
+}
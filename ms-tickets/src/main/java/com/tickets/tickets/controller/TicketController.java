@@ -1,9 +1,16 @@
 package com.tickets.tickets.controller;
 
 import com.tickets.tickets.dto.ActualizarTicketDTO;
+import com.tickets.tickets.dto.ActualizarTicketLoteDTO;
 import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.PaginaCursorDTO;
+import com.tickets.tickets.dto.ResultadoLoteDTO;
+import com.tickets.tickets.dto.TicketConUsuarioDTO;
 import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.service.TicketBulkServiceInterface;
+import com.tickets.tickets.service.TicketExportServiceInterface;
 import com.tickets.tickets.service.TicketServiceInterface;
+import com.tickets.tickets.service.TicketUsuarioServiceInterface;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,10 +19,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,6 +40,9 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketServiceInterface ticketService;
+    private final TicketExportServiceInterface ticketExportService;
+    private final TicketBulkServiceInterface ticketBulkService;
+    private final TicketUsuarioServiceInterface ticketUsuarioService;
 
     @Operation(summary = "Crear un nuevo ticket")
     @ApiResponses(value = {
@@ -37,6 +54,32 @@ public class TicketController {
         return new ResponseEntity<>(nuevoTicket, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Crear tickets en lote",
+            description = "Devuelve el resultado de cada ticket en el orden recibido; los inválidos no impiden crear el resto.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Todos los tickets fueron creados"),
+            @ApiResponse(responseCode = "207", description = "Algunos tickets no se pudieron crear"),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")})
+    @PostMapping("/bulk")
+    public ResponseEntity<ResultadoLoteDTO> crearTickets(@RequestBody List<CrearTicketDTO> tickets) {
+        ResultadoLoteDTO resultado = ticketBulkService.crearTickets(tickets);
+        return ResponseEntity.status(resultado.getFallidos() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(resultado);
+    }
+
+    @Operation(summary = "Editar tickets en lote",
+            description = "Devuelve el resultado de cada ticket en el orden recibido; los inválidos o inexistentes no impiden editar el resto.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todos los tickets fueron actualizados"),
+            @ApiResponse(responseCode = "207", description = "Algunos tickets no se pudieron actualizar"),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")})
+    @PutMapping("/bulk")
+    public ResponseEntity<ResultadoLoteDTO> actualizarTickets(@RequestBody List<ActualizarTicketLoteDTO> tickets) {
+        ResultadoLoteDTO resultado = ticketBulkService.actualizarTickets(tickets);
+        return ResponseEntity.status(resultado.getFallidos() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS)
+                .body(resultado);
+    }
+
     @Operation(summary = "Editar un ticket por ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket actualizado"),
@@ -68,6 +111,16 @@ public class TicketController {
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
+    @Operation(summary = "Obtener varios tickets por ID",
+            description = "Devuelve los tickets existentes en el orden recibido; los IDs inexistentes se omiten.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado grande")})
+    @PostMapping("/lookup")
+    public ResponseEntity<List<TicketDTO>> buscarTicketsPorIds(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(ticketService.buscarTicketsPorIds(ids));
+    }
+
     @Operation(summary = "Obtener un listado de ticket paginado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket encontrado")})
@@ -77,17 +130,98 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @Operation(summary = "Obtener un listado de ticket paginado con su usuario",
+            description = "Con expand=usuario cada ticket incluye su usuario, resuelto con una sola llamada a ms-users por página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets encontrados")})
+    @GetMapping(params = {"expand=usuario", "!cursor"})
+    public ResponseEntity<Page<TicketConUsuarioDTO>> obtenerTicketsPaginadosConUsuario(Pageable pageable) {
+        return ResponseEntity.ok(ticketUsuarioService.conUsuarios(ticketService.obtenerTicketsPaginados(pageable)));
+    }
+
 
-    @Operation(summary = "Filtrar tickets por estatus y/o usuario")
+    @Operation(summary = "Obtener un listado de tickets paginado por cursor",
+            description = "Envíe cursor vacío para la primera página y el siguienteCursor recibido para las siguientes.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Tickets filtrados exitosamente")
+            @ApiResponse(responseCode = "200", description = "Tickets encontrados"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")})
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PaginaCursorDTO<TicketDTO>> obtenerTicketsPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ticketService.obtenerTicketsPorCursor(cursor, size));
+    }
+
+    @Operation(summary = "Filtrar tickets por estatus, usuario y/o rango de fecha de creación",
+            description = "El rango necesita 'desde' y 'hasta' y no se combina con cursor ni con expand.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets filtrados exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Rango de fechas, combinación de parámetros o estatus inválido")
     })
     @GetMapping("/filtrar")
     public ResponseEntity<Page<TicketDTO>> filtrarTickets(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) UUID usuarioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand,
             Pageable pageable) {
-        Page<TicketDTO> tickets = ticketService.filtrarTickets(status, usuarioId, pageable);
-        return ResponseEntity.ok(tickets);
+        if (desde == null && hasta == null) {
+            return ResponseEntity.ok(ticketService.filtrarTickets(status, usuarioId, pageable));
+        }
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("El rango de fechas necesita 'desde' y 'hasta'.");
+        }
+        if (cursor != null || expand != null) {
+            throw new IllegalArgumentException("El rango de fechas no se puede combinar con 'cursor' ni con 'expand'.");
+        }
+        return ResponseEntity.ok(ticketService.filtrarTicketsPorFecha(status, usuarioId, desde, hasta, pageable));
+    }
+
+    @Operation(summary = "Filtrar tickets por estatus y/o usuario con su usuario",
+            description = "Con expand=usuario cada ticket incluye su usuario, resuelto con una sola llamada a ms-users por página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets filtrados exitosamente")})
+    @GetMapping(value = "/filtrar", params = {"expand=usuario", "!cursor", "!desde", "!hasta"})
+    public ResponseEntity<Page<TicketConUsuarioDTO>> filtrarTicketsConUsuario(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) UUID usuarioId,
+            Pageable pageable) {
+        return ResponseEntity.ok(ticketUsuarioService.conUsuarios(ticketService.filtrarTickets(status, usuarioId, pageable)));
+    }
+
+    @Operation(summary = "Filtrar tickets por estatus y/o usuario paginando por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets filtrados exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Cursor o estatus inválido")})
+    @GetMapping(value = "/filtrar", params = {"cursor", "!desde", "!hasta"})
+    public ResponseEntity<PaginaCursorDTO<TicketDTO>> filtrarTicketsPorCursor(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) UUID usuarioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ticketService.filtrarTicketsPorCursor(status, usuarioId, cursor, size));
+    }
+
+    @Operation(summary = "Exportar tickets filtrados por estatus y/o usuario",
+            description = "Transmite todos los tickets que cumplen el filtro, del más reciente al más antiguo, "
+                    + "como NDJSON (un ticket por línea) o CSV, sin paginar ni contar.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+            @ApiResponse(responseCode = "400", description = "Estatus o formato inválido")})
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTickets(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) UUID usuarioId,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        TicketExportServiceInterface.Formato formatoExportacion = TicketExportServiceInterface.Formato.desde(formato);
+        StreamingResponseBody cuerpo = ticketExportService.exportarTickets(status, usuarioId, formatoExportacion);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets." + formatoExportacion.getExtension())
+                        .build().toString())
+                .body(cuerpo);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.tickets.tickets.controller;
+
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.service.TicketReactiveServiceInterface;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Lectura reactiva de tickets. Los listados se envían como NDJSON (un ticket por línea) a medida que
+ * llegan de la base de datos; el siguiente se pide cuando el anterior se ha escrito en la respuesta.
+ */
+@RestController
+@RequestMapping("/api/tickets/reactivo")
+@RequiredArgsConstructor
+@Tag(name = "Tickets (reactivo)", description = "Lectura de tickets sin bloquear hilos del servidor")
+public class TicketReactiveController {
+
+    private final TicketReactiveServiceInterface ticketReactiveService;
+
+    @Operation(summary = "Obtener un ticket por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket encontrado"),
+            @ApiResponse(responseCode = "400", description = "Ticket no encontrado")})
+    @GetMapping("/{id}")
+    public Mono<TicketDTO> obtenerTicketPorId(@PathVariable UUID id) {
+        return ticketReactiveService.obtenerTicketPorId(id);
+    }
+
+    @Operation(summary = "Listar tickets del más reciente al más antiguo")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TicketDTO> obtenerTickets(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return ticketReactiveService.obtenerTickets(page, size);
+    }
+
+    @Operation(summary = "Filtrar tickets por estatus y/o usuario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets filtrados exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Estatus inválido")})
+    @GetMapping(value = "/filtrar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TicketDTO> filtrarTickets(@RequestParam(required = false) String status,
+                                          @RequestParam(required = false) UUID usuarioId,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
+        return ticketReactiveService.filtrarTickets(status, usuarioId, page, size);
+    }
+}
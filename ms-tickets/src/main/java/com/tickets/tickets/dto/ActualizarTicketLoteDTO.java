@@ -0,0 +1,24 @@
+package com.tickets.tickets.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActualizarTicketLoteDTO {
+
+    @NotNull(message = "El id del ticket es obligatorio")
+    private UUID id;
+    @NotBlank(message = "La descripción no puede estar vacío")
+    private String descripcion;
+    @NotNull(message = "El estatus es obligatorio")
+    private TicketDTO.Status status;
+}
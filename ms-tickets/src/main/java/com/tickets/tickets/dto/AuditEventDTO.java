@@ -1,13 +1,22 @@
 package com.tickets.tickets.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AuditEventDTO {
 
-    private String timestamp;
+    /** Identificador del evento, para que ms-audit descarte las entregas repetidas. */
+    private UUID eventoId;
+    private LocalDateTime timestamp;
     private String servicio;
     private String accion;
     private String usuario;
@@ -0,0 +1,19 @@
+package com.tickets.tickets.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean haySiguiente;
+    private String siguienteCursor;
+}
@@ -0,0 +1,35 @@
+package com.tickets.tickets.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de una operación masiva: un elemento por ticket recibido, en el mismo orden.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private List<Item> resultados;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int indice;
+        private UUID id;
+        private boolean exitoso;
+        private String error;
+    }
+}
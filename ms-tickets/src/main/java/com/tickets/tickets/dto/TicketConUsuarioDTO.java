@@ -0,0 +1,19 @@
+package com.tickets.tickets.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket con su usuario ({@code expand=usuario}): los campos del ticket van al mismo nivel y {@code usuario}
+ * es null si el usuario no existe o ms-users no respondió.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketConUsuarioDTO {
+    @JsonUnwrapped
+    private TicketDTO ticket;
+    private UsuarioDTO usuario;
+}
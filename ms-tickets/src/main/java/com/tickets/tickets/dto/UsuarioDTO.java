@@ -0,0 +1,21 @@
+package com.tickets.tickets.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/** Usuario tal como lo devuelve ms-users. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioDTO {
+    private UUID id;
+    private String nombres;
+    private String apellidos;
+    private String email;
+    private String rol;
+}
@@ -1,5 +1,6 @@
 package com.tickets.tickets.entity;
 
+import com.tickets.tickets.annotation.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,23 +11,28 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_usuario_status_fecha", columnList = "usuario_id, status, fecha_creacion, id"),
+        @Index(name = "idx_tickets_usuario_fecha", columnList = "usuario_id, fecha_creacion, id"),
+        @Index(name = "idx_tickets_status_fecha", columnList = "status, fecha_creacion, id"),
+        @Index(name = "idx_tickets_fecha", columnList = "fecha_creacion, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TicketEntity {
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
     @Column(nullable = false, length = 500)
     private String descripcion;
-    @Column(nullable = false)
+    @Column(name = "usuario_id", nullable = false)
     private UUID usuarioId;
     @Column(name = "fecha_creacion", nullable = false)
-    private String fechaCreacion;
+    private LocalDateTime fechaCreacion;
     @Column(name = "fecha_actualizacion", nullable = false)
-    private String fechaActualizacion;
+    private LocalDateTime fechaActualizacion;
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Status status;
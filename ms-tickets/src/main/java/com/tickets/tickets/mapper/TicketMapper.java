@@ -1,6 +1,7 @@
 package com.tickets.tickets.mapper;
 
 import com.tickets.tickets.dto.ActualizarTicketDTO;
+import com.tickets.tickets.dto.ActualizarTicketLoteDTO;
 import com.tickets.tickets.dto.CrearTicketDTO;
 import com.tickets.tickets.dto.TicketDTO;
 import com.tickets.tickets.entity.TicketEntity;
@@ -13,11 +14,12 @@ public class TicketMapper {
     }
 
     public static TicketEntity toEntity(CrearTicketDTO dto) {
+        LocalDateTime ahora = LocalDateTime.now();
         return TicketEntity.builder()
                 .descripcion(dto.getDescripcion())
                 .usuarioId(dto.getUsuarioId())
-                .fechaCreacion(String.valueOf(LocalDateTime.now()))
-                .fechaActualizacion(String.valueOf(LocalDateTime.now()))
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
                 .status(TicketEntity.Status.ABIERTO)
                 .build();
     }
@@ -27,8 +29,8 @@ public class TicketMapper {
                 .id(entity.getId())
                 .descripcion(entity.getDescripcion())
                 .usuarioId(entity.getUsuarioId())
-                .fechaCreacion(String.valueOf(entity.getFechaCreacion()))
-                .fechaActualizacion(String.valueOf(entity.getFechaActualizacion()))
+                .fechaCreacion(entity.getFechaCreacion())
+                .fechaActualizacion(entity.getFechaActualizacion())
                 .status(TicketDTO.Status.valueOf(entity.getStatus().name()))
                 .build();
     }
@@ -36,6 +38,12 @@ public class TicketMapper {
     public static void actualizarEntidad(TicketEntity entity, ActualizarTicketDTO dto) {
         entity.setDescripcion(dto.getDescripcion());
         entity.setStatus(TicketEntity.Status.valueOf(dto.getStatus().name()));
-        entity.setFechaActualizacion(String.valueOf(LocalDateTime.now()));
+        entity.setFechaActualizacion(LocalDateTime.now());
     }
-}
\ No newline at end of file
+
+    public static void actualizarEntidad(TicketEntity entity, ActualizarTicketLoteDTO dto, LocalDateTime ahora) {
+        entity.setDescripcion(dto.getDescripcion());
+        entity.setStatus(TicketEntity.Status.valueOf(dto.getStatus().name()));
+        entity.setFechaActualizacion(ahora);
+    }
+}
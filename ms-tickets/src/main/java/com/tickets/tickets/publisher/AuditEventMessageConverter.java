@@ -0,0 +1,65 @@
+package com.tickets.tickets.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.tickets.dto.AuditEventDTO;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Convierte {@link AuditEventDTO} al sobre binario ({@link AuditEnvelopeCodec}) o, si se configura
+ * el formato JSON, a JSON plano para consumidores que aún no entienden el binario.
+ * El id del evento viaja como {@code message-id} del mensaje.
+ * Cualquier otro tipo (p. ej. los mensajes JSON reenviados desde el archivo de volcado, que ya llevan el id
+ * en el cuerpo) se delega en el {@link SimpleMessageConverter} por defecto.
+ */
+public class AuditEventMessageConverter implements MessageConverter {
+
+    private final boolean binario;
+    private final int umbralCompresion;
+    private final ObjectMapper objectMapper;
+    private final SimpleMessageConverter alternativo = new SimpleMessageConverter();
+
+    public AuditEventMessageConverter(boolean binario, int umbralCompresion, ObjectMapper objectMapper) {
+        this.binario = binario;
+        this.umbralCompresion = umbralCompresion;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Message toMessage(Object objeto, MessageProperties propiedades) {
+        if (!(objeto instanceof AuditEventDTO evento)) {
+            return alternativo.toMessage(objeto, propiedades);
+        }
+        if (evento.getEventoId() != null) {
+            propiedades.setMessageId(evento.getEventoId().toString());
+        }
+        if (binario) {
+            propiedades.setContentType(AuditEnvelopeCodec.CONTENT_TYPE);
+            return new Message(AuditEnvelopeCodec.codificar(evento, umbralCompresion), propiedades);
+        }
+        try {
+            propiedades.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            propiedades.setContentEncoding("UTF-8");
+            return new Message(objectMapper.writeValueAsBytes(evento), propiedades);
+        } catch (IOException e) {
+            throw new MessageConversionException("No se pudo serializar el evento de auditoría", e);
+        }
+    }
+
+    @Override
+    public Object fromMessage(Message mensaje) {
+        try {
+            if (MessageProperties.CONTENT_TYPE_JSON.equals(mensaje.getMessageProperties().getContentType())) {
+                return objectMapper.readValue(mensaje.getBody(), AuditEventDTO.class);
+            }
+        } catch (IOException e) {
+            throw new MessageConversionException("Evento de auditoría ilegible", e);
+        }
+        return alternativo.fromMessage(mensaje);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tickets.tickets.repository;
+
+import com.tickets.tickets.entity.TicketEntity;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Consultas de solo lectura sobre {@code tickets} con R2DBC. Las filas se emiten a medida que el
+ * consumidor las pide, en el orden de los índices {@code (…, fecha_creacion, id)}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketReactiveRepository {
+
+    private static final String SELECT = "SELECT id, descripcion, usuario_id, fecha_creacion, fecha_actualizacion, status FROM tickets";
+    private static final String ORDEN = " ORDER BY fecha_creacion DESC, id DESC LIMIT :limite OFFSET :desplazamiento";
+
+    private final DatabaseClient ticketsDatabaseClient;
+
+    public Mono<TicketEntity> findById(UUID id) {
+        return ticketsDatabaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(TicketReactiveRepository::aEntidad)
+                .one();
+    }
+
+    public Flux<TicketEntity> filtrar(TicketEntity.Status status, UUID usuarioId, long limite, long desplazamiento) {
+        // Hibernate crea status como ENUM en H2 y r2dbc-h2 enlaza los String como CLOB, que no se convierte a ENUM.
+        String where;
+        if (status != null && usuarioId != null) {
+            where = " WHERE usuario_id = :usuarioId AND status = CAST(:status AS VARCHAR(16))";
+        } else if (status != null) {
+            where = " WHERE status = CAST(:status AS VARCHAR(16))";
+        } else if (usuarioId != null) {
+            where = " WHERE usuario_id = :usuarioId";
+        } else {
+            where = "";
+        }
+        DatabaseClient.GenericExecuteSpec consulta = ticketsDatabaseClient.sql(SELECT + where + ORDEN)
+                .bind("limite", limite)
+                .bind("desplazamiento", desplazamiento);
+        if (status != null) {
+            consulta = consulta.bind("status", status.name());
+        }
+        if (usuarioId != null) {
+            consulta = consulta.bind("usuarioId", usuarioId);
+        }
+        return consulta.map(TicketReactiveRepository::aEntidad).all();
+    }
+
+    private static TicketEntity aEntidad(Readable fila) {
+        return TicketEntity.builder()
+                .id(fila.get("id", UUID.class))
+                .descripcion(fila.get("descripcion", String.class))
+                .usuarioId(fila.get("usuario_id", UUID.class))
+                .fechaCreacion(fila.get("fecha_creacion", LocalDateTime.class))
+                .fechaActualizacion(fila.get("fecha_actualizacion", LocalDateTime.class))
+                .status(TicketEntity.Status.valueOf(fila.get("status", String.class)))
+                .build();
+    }
+}
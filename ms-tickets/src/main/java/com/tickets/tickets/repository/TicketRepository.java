@@ -2,12 +2,24 @@ package com.tickets.tickets.repository;
 
 import com.tickets.tickets.dto.TicketDTO;
 import com.tickets.tickets.entity.TicketEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TicketRepository extends JpaRepository<TicketEntity, UUID> {
@@ -15,4 +27,40 @@ public interface TicketRepository extends JpaRepository<TicketEntity, UUID> {
     Page<TicketEntity> findByUsuarioId(UUID usuarioId, Pageable pageable);
     Page<TicketEntity> findByStatusAndUsuarioId(TicketEntity.Status status, UUID usuarioId, Pageable pageable);
     Page<TicketEntity> findByStatus(TicketEntity.Status status, Pageable pageable);
+
+    Page<TicketEntity> findByFechaCreacionBetween(LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+    Page<TicketEntity> findByStatusAndFechaCreacionBetween(TicketEntity.Status status, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+    Page<TicketEntity> findByUsuarioIdAndFechaCreacionBetween(UUID usuarioId, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+    Page<TicketEntity> findByUsuarioIdAndStatusAndFechaCreacionBetween(UUID usuarioId, TicketEntity.Status status, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+
+    Window<TicketEntity> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    Window<TicketEntity> findByUsuarioId(UUID usuarioId, ScrollPosition position, Limit limit, Sort sort);
+    Window<TicketEntity> findByStatusAndUsuarioId(TicketEntity.Status status, UUID usuarioId, ScrollPosition position, Limit limit, Sort sort);
+    Window<TicketEntity> findByStatus(TicketEntity.Status status, ScrollPosition position, Limit limit, Sort sort);
+
+    /*
+     * Exportación: cursor de solo avance (ScrollMode.FORWARD_ONLY) que trae FETCH_SIZE_EXPORTACION filas por viaje.
+     * Deben consumirse dentro de una transacción y cerrarse; las entidades se cargan en solo lectura.
+     */
+    String FETCH_SIZE_EXPORTACION = "500";
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    Stream<TicketEntity> streamAllBy(Sort sort);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    Stream<TicketEntity> streamByUsuarioId(UUID usuarioId, Sort sort);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    Stream<TicketEntity> streamByStatus(TicketEntity.Status status, Sort sort);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACION),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    Stream<TicketEntity> streamByStatusAndUsuarioId(TicketEntity.Status status, UUID usuarioId, Sort sort);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.tickets.tickets.service;
+
+import com.tickets.tickets.dto.ActualizarTicketLoteDTO;
+import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.ResultadoLoteDTO;
+
+import java.util.List;
+
+public interface TicketBulkServiceInterface {
+
+    ResultadoLoteDTO crearTickets(List<CrearTicketDTO> tickets);
+
+    ResultadoLoteDTO actualizarTickets(List<ActualizarTicketLoteDTO> tickets);
+}
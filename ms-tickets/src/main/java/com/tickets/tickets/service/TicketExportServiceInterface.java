@@ -0,0 +1,44 @@
+package com.tickets.tickets.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+public interface TicketExportServiceInterface {
+
+    /**
+     * Valida los filtros y devuelve el cuerpo que escribe, del más reciente al más antiguo,
+     * todos los tickets que cumplen el filtro. La consulta se ejecuta al escribir la respuesta.
+     */
+    StreamingResponseBody exportarTickets(String status, UUID usuarioId, Formato formato);
+
+    enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String tipoContenido;
+        private final String extension;
+
+        Formato(String tipoContenido, String extension) {
+            this.tipoContenido = tipoContenido;
+            this.extension = extension;
+        }
+
+        public String getTipoContenido() {
+            return tipoContenido;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Formato desde(String formato) {
+            for (Formato valor : values()) {
+                if (valor.name().equalsIgnoreCase(formato)) {
+                    return valor;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportación inválido: " + formato);
+        }
+    }
+}
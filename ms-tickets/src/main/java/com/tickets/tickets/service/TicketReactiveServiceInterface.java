@@ -0,0 +1,16 @@
+package com.tickets.tickets.service;
+
+import com.tickets.tickets.dto.TicketDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface TicketReactiveServiceInterface {
+
+    Mono<TicketDTO> obtenerTicketPorId(UUID id);
+
+    Flux<TicketDTO> obtenerTickets(int page, int size);
+
+    Flux<TicketDTO> filtrarTickets(String status, UUID usuarioId, int page, int size);
+}
@@ -2,10 +2,13 @@ package com.tickets.tickets.service;
 
 import com.tickets.tickets.dto.ActualizarTicketDTO;
 import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.PaginaCursorDTO;
 import com.tickets.tickets.dto.TicketDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,9 +22,17 @@ public interface TicketServiceInterface {
 
     Optional<TicketDTO> obtenerTicketPorId(UUID id);
 
+    List<TicketDTO> buscarTicketsPorIds(List<UUID> ids);
+
     Page<TicketDTO> obtenerTicketsPaginados(Pageable pageable);
 
     Page<TicketDTO> filtrarTickets(String status, UUID usuarioId, Pageable pageable);
 
+    Page<TicketDTO> filtrarTicketsPorFecha(String status, UUID usuarioId, LocalDateTime desde, LocalDateTime hasta, Pageable pageable);
+
+    PaginaCursorDTO<TicketDTO> obtenerTicketsPorCursor(String cursor, int size);
+
+    PaginaCursorDTO<TicketDTO> filtrarTicketsPorCursor(String status, UUID usuarioId, String cursor, int size);
+
 	
 }
\ No newline at end of file
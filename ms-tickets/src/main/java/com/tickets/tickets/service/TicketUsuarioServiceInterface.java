@@ -0,0 +1,11 @@
+package com.tickets.tickets.service;
+
+import com.tickets.tickets.dto.TicketConUsuarioDTO;
+import com.tickets.tickets.dto.TicketDTO;
+import org.springframework.data.domain.Page;
+
+public interface TicketUsuarioServiceInterface {
+
+    /** Añade a cada ticket de la página su usuario, con una sola llamada a ms-users por página. */
+    Page<TicketConUsuarioDTO> conUsuarios(Page<TicketDTO> tickets);
+}
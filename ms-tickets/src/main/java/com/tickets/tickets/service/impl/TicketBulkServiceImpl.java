@@ -0,0 +1,244 @@
+package com.tickets.tickets.service.impl;
+
+import com.tickets.tickets.annotation.AuditEvent;
+import com.tickets.tickets.cache.TicketCacheWriter;
+import com.tickets.tickets.cache.TicketPageCache;
+import com.tickets.tickets.dto.ActualizarTicketLoteDTO;
+import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.ResultadoLoteDTO;
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.exception.TicketNotFoundException;
+import com.tickets.tickets.mapper.TicketMapper;
+import com.tickets.tickets.repository.TicketRepository;
+import com.tickets.tickets.service.TicketBulkServiceInterface;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Altas y ediciones masivas. Los tickets válidos se escriben en tramos del tamaño del lote JDBC de Hibernate
+ * ({@code hibernate.jdbc.batch_size}), cada tramo en su propia transacción: un tramo son unas pocas sentencias
+ * por lotes en lugar de una por ticket. Si un tramo falla se reintenta ticket a ticket para saber cuáles
+ * fallaron; el resto del lote no se pierde.
+ */
+@Timed("tickets.servicio")
+@Slf4j
+@Service
+public class TicketBulkServiceImpl implements TicketBulkServiceInterface {
+
+    private final TicketRepository ticketRepository;
+    private final TicketPageCache ticketPageCache;
+    private final TicketCacheWriter ticketCacheWriter;
+    private final Validator validator;
+    private final TransactionTemplate transaccion;
+    private final int tamanoTramo;
+    private final int maxItems;
+
+    public TicketBulkServiceImpl(TicketRepository ticketRepository,
+                                 TicketPageCache ticketPageCache,
+                                 TicketCacheWriter ticketCacheWriter,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int tamanoTramo,
+                                 @Value("${tickets.lote.max-items:5000}") int maxItems) {
+        this.ticketRepository = ticketRepository;
+        this.ticketPageCache = ticketPageCache;
+        this.ticketCacheWriter = ticketCacheWriter;
+        this.validator = validator;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoTramo = Math.max(1, tamanoTramo);
+        this.maxItems = maxItems;
+    }
+
+    @AuditEvent(servicio = "ms-tickets", accion = "CREAR_TICKETS_LOTE", auditarResultado = true)
+    public ResultadoLoteDTO crearTickets(List<CrearTicketDTO> tickets) {
+        validarTamano(tickets);
+        ResultadoLoteDTO.Item[] resultados = new ResultadoLoteDTO.Item[tickets.size()];
+        List<Integer> validos = new ArrayList<>(tickets.size());
+        for (int i = 0; i < tickets.size(); i++) {
+            CrearTicketDTO ticket = tickets.get(i);
+            String error = validar(ticket);
+            if (error == null && ticket.getUsuarioId() == null) {
+                error = "El usuario es obligatorio";
+            }
+            if (error != null) {
+                resultados[i] = fallo(i, null, error);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        for (List<Integer> tramo : tramos(validos)) {
+            try {
+                List<TicketEntity> guardados = transaccion.execute(tx -> insertar(tickets, tramo));
+                for (int k = 0; k < tramo.size(); k++) {
+                    resultados[tramo.get(k)] = exito(tramo.get(k), guardados.get(k).getId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falló el alta de un tramo de {} tickets, se reintenta uno a uno: {}", tramo.size(), causa(e));
+                for (Integer i : tramo) {
+                    try {
+                        TicketEntity guardado = transaccion.execute(tx -> insertar(tickets, List.of(i)).get(0));
+                        resultados[i] = exito(i, guardado.getId());
+                    } catch (RuntimeException ex) {
+                        resultados[i] = fallo(i, null, "Error al crear el ticket: " + causa(ex));
+                    }
+                }
+            }
+        }
+        return resumen(resultados);
+    }
+
+    @AuditEvent(servicio = "ms-tickets", accion = "ACTUALIZAR_TICKETS_LOTE", auditarResultado = true)
+    public ResultadoLoteDTO actualizarTickets(List<ActualizarTicketLoteDTO> tickets) {
+        validarTamano(tickets);
+        ResultadoLoteDTO.Item[] resultados = new ResultadoLoteDTO.Item[tickets.size()];
+        List<Integer> validos = new ArrayList<>(tickets.size());
+        for (int i = 0; i < tickets.size(); i++) {
+            String error = validar(tickets.get(i));
+            if (error != null) {
+                resultados[i] = fallo(i, tickets.get(i) != null ? tickets.get(i).getId() : null, error);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        for (List<Integer> tramo : tramos(validos)) {
+            Map<Integer, ResultadoLoteDTO.Item> parciales;
+            try {
+                parciales = transaccion.execute(tx -> actualizar(tickets, tramo));
+            } catch (RuntimeException e) {
+                log.warn("Falló la edición de un tramo de {} tickets, se reintenta uno a uno: {}", tramo.size(), causa(e));
+                parciales = new HashMap<>();
+                for (Integer i : tramo) {
+                    try {
+                        parciales.putAll(transaccion.execute(tx -> actualizar(tickets, List.of(i))));
+                    } catch (RuntimeException ex) {
+                        parciales.put(i, fallo(i, tickets.get(i).getId(), "Error al actualizar el ticket: " + causa(ex)));
+                    }
+                }
+            }
+            parciales.forEach((i, item) -> resultados[i] = item);
+        }
+        return resumen(resultados);
+    }
+
+    private List<TicketEntity> insertar(List<CrearTicketDTO> tickets, List<Integer> indices) {
+        List<TicketEntity> entidades = new ArrayList<>(indices.size());
+        Set<UUID> usuarios = new HashSet<>();
+        for (Integer i : indices) {
+            TicketEntity entidad = TicketMapper.toEntity(tickets.get(i));
+            entidades.add(entidad);
+            usuarios.add(entidad.getUsuarioId());
+        }
+        List<TicketEntity> guardados = ticketRepository.saveAll(entidades);
+        ticketPageCache.invalidar(usuarios, List.of(TicketEntity.Status.ABIERTO.name()));
+        return guardados;
+    }
+
+    /**
+     * Carga el tramo con una sola consulta; la confirmación envía las actualizaciones en lotes.
+     * Como en la edición individual, las versiones nuevas se guardan en cache solo si el tramo confirma.
+     */
+    private Map<Integer, ResultadoLoteDTO.Item> actualizar(List<ActualizarTicketLoteDTO> tickets, List<Integer> indices) {
+        Set<UUID> ids = indices.stream().map(i -> tickets.get(i).getId()).collect(Collectors.toSet());
+        Map<UUID, TicketEntity> existentes = new HashMap<>();
+        ticketRepository.findAllById(ids).forEach(entidad -> existentes.put(entidad.getId(), entidad));
+
+        Map<Integer, ResultadoLoteDTO.Item> resultados = new HashMap<>();
+        Set<UUID> usuarios = new HashSet<>();
+        Set<String> estatus = new HashSet<>();
+        List<TicketDTO> actualizados = new ArrayList<>(indices.size());
+        LocalDateTime ahora = LocalDateTime.now();
+        for (Integer i : indices) {
+            ActualizarTicketLoteDTO dto = tickets.get(i);
+            TicketEntity entidad = existentes.get(dto.getId());
+            if (entidad == null) {
+                resultados.put(i, fallo(i, dto.getId(), new TicketNotFoundException(dto.getId().toString()).getMessage()));
+                continue;
+            }
+            estatus.add(entidad.getStatus().name());
+            TicketMapper.actualizarEntidad(entidad, dto, ahora);
+            estatus.add(entidad.getStatus().name());
+            usuarios.add(entidad.getUsuarioId());
+            actualizados.add(TicketMapper.toDTO(entidad));
+            resultados.put(i, exito(i, dto.getId()));
+        }
+        if (!usuarios.isEmpty()) {
+            ticketPageCache.invalidar(usuarios, estatus);
+        }
+        ticketCacheWriter.guardarTrasCommit(actualizados);
+        return resultados;
+    }
+
+    private void validarTamano(List<?> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            throw new IllegalArgumentException("El lote de tickets no puede estar vacío");
+        }
+        if (tickets.size() > maxItems) {
+            throw new IllegalArgumentException("El lote admite como máximo " + maxItems + " tickets");
+        }
+    }
+
+    private String validar(Object ticket) {
+        if (ticket == null) {
+            return "El ticket no puede ser nulo";
+        }
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(ticket);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<List<Integer>> tramos(List<Integer> indices) {
+        List<List<Integer>> tramos = new ArrayList<>();
+        for (int desde = 0; desde < indices.size(); desde += tamanoTramo) {
+            tramos.add(indices.subList(desde, Math.min(desde + tamanoTramo, indices.size())));
+        }
+        return tramos;
+    }
+
+    private static String causa(Exception e) {
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    private static ResultadoLoteDTO.Item exito(int indice, UUID id) {
+        return ResultadoLoteDTO.Item.builder().indice(indice).id(id).exitoso(true).build();
+    }
+
+    private static ResultadoLoteDTO.Item fallo(int indice, UUID id, String error) {
+        return ResultadoLoteDTO.Item.builder().indice(indice).id(id).exitoso(false).error(error).build();
+    }
+
+    private static ResultadoLoteDTO resumen(ResultadoLoteDTO.Item[] resultados) {
+        int exitosos = (int) Arrays.stream(resultados).filter(ResultadoLoteDTO.Item::isExitoso).count();
+        return ResultadoLoteDTO.builder()
+                .total(resultados.length)
+                .exitosos(exitosos)
+                .fallidos(resultados.length - exitosos)
+                .resultados(Arrays.asList(resultados))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.tickets.tickets.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.mapper.TicketMapper;
+import com.tickets.tickets.repository.TicketRepository;
+import com.tickets.tickets.service.TicketExportServiceInterface;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Exporta tickets recorriendo un cursor JDBC de solo avance y escribiendo cada fila en la respuesta
+ * a medida que llega. Cada entidad se desvincula del contexto de persistencia tras escribirse, así que
+ * la memoria usada no depende del número de tickets exportados.
+ */
+@Slf4j
+@Service
+public class TicketExportServiceImpl implements TicketExportServiceInterface {
+
+    private static final Sort ORDEN_EXPORTACION = Sort.by(Sort.Direction.DESC, "fechaCreacion", "id");
+    private static final int FILAS_POR_VOLCADO = Integer.parseInt(TicketRepository.FETCH_SIZE_EXPORTACION);
+    private static final String CABECERA_CSV = "id,descripcion,usuarioId,fechaCreacion,fechaActualizacion,status";
+
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaccionLectura;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter escritorJson;
+
+    public TicketExportServiceImpl(TicketRepository ticketRepository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper) {
+        this.ticketRepository = ticketRepository;
+        this.entityManager = entityManager;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        // El volcado lo decide el bucle; sin esto Jackson vaciaría el buffer en cada ticket
+        this.escritorJson = objectMapper.writerFor(TicketDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public StreamingResponseBody exportarTickets(String status, UUID usuarioId, Formato formato) {
+        TicketEntity.Status estatus;
+        try {
+            estatus = status != null ? TicketEntity.Status.valueOf(status.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estatus inválido: " + status);
+        }
+        return salida -> {
+            long exportados = transaccionLectura.execute(tx -> {
+                try (Stream<TicketEntity> tickets = consultar(estatus, usuarioId)) {
+                    return formato == Formato.CSV
+                            ? escribirCsv(tickets.iterator(), salida)
+                            : escribirNdjson(tickets.iterator(), salida);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.debug("Exportados {} tickets en {} (status={}, usuarioId={})", exportados, formato, status, usuarioId);
+        };
+    }
+
+    private Stream<TicketEntity> consultar(TicketEntity.Status estatus, UUID usuarioId) {
+        if (estatus != null && usuarioId != null) {
+            return ticketRepository.streamByStatusAndUsuarioId(estatus, usuarioId, ORDEN_EXPORTACION);
+        } else if (estatus != null) {
+            return ticketRepository.streamByStatus(estatus, ORDEN_EXPORTACION);
+        } else if (usuarioId != null) {
+            return ticketRepository.streamByUsuarioId(usuarioId, ORDEN_EXPORTACION);
+        }
+        return ticketRepository.streamAllBy(ORDEN_EXPORTACION);
+    }
+
+    private long escribirNdjson(Iterator<TicketEntity> tickets, OutputStream salida) throws IOException {
+        long escritos = 0;
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (tickets.hasNext()) {
+                escritorJson.writeValue(generador, siguiente(tickets));
+                generador.writeRaw('\n');
+                if (++escritos % FILAS_POR_VOLCADO == 0) {
+                    generador.flush();
+                }
+            }
+        }
+        return escritos;
+    }
+
+    private long escribirCsv(Iterator<TicketEntity> tickets, OutputStream salida) throws IOException {
+        long escritos = 0;
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        escritor.write(CABECERA_CSV);
+        escritor.write("\r\n");
+        while (tickets.hasNext()) {
+            TicketDTO ticket = siguiente(tickets);
+            escritor.write(String.valueOf(ticket.getId()));
+            escritor.write(',');
+            escribirCampoCsv(escritor, ticket.getDescripcion());
+            escritor.write(',');
+            escritor.write(String.valueOf(ticket.getUsuarioId()));
+            escritor.write(',');
+            escritor.write(String.valueOf(ticket.getFechaCreacion()));
+            escritor.write(',');
+            escritor.write(String.valueOf(ticket.getFechaActualizacion()));
+            escritor.write(',');
+            escritor.write(ticket.getStatus().name());
+            escritor.write("\r\n");
+            if (++escritos % FILAS_POR_VOLCADO == 0) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+        return escritos;
+    }
+
+    /** Mapea el siguiente ticket y lo saca del contexto de persistencia para que pueda recolectarse. */
+    private TicketDTO siguiente(Iterator<TicketEntity> tickets) {
+        TicketEntity entidad = tickets.next();
+        TicketDTO dto = TicketMapper.toDTO(entidad);
+        entityManager.detach(entidad);
+        return dto;
+    }
+
+    /** RFC 4180: entre comillas si contiene separador, comillas o saltos de línea; las comillas se duplican. */
+    static void escribirCampoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+}
@@ -0,0 +1,83 @@
+package com.tickets.tickets.service.impl;
+
+import com.tickets.tickets.cache.TicketRedisCache;
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.exception.TicketNotFoundException;
+import com.tickets.tickets.mapper.TicketMapper;
+import com.tickets.tickets.repository.TicketReactiveRepository;
+import com.tickets.tickets.service.TicketReactiveServiceInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Lectura de tickets sin bloquear hilos: la cache se consulta con Lettuce reactivo (mismas claves que
+ * {@code @Cacheable("ticket")}) y la base de datos con R2DBC. Si Redis falla se lee directamente de la base.
+ * Lo leído de la base se guarda con el script de {@link TicketRedisCache}, que no pisa una versión posterior.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketReactiveServiceImpl implements TicketReactiveServiceInterface {
+
+    static final String PREFIJO_CACHE_TICKET = "ticket::";
+    private static final int MAX_TAMANO = 1000;
+
+    private final TicketReactiveRepository ticketReactiveRepository;
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final TicketRedisCache ticketRedisCache;
+
+    public Mono<TicketDTO> obtenerTicketPorId(UUID id) {
+        String clave = PREFIJO_CACHE_TICKET + id;
+        return reactiveRedisTemplate.opsForValue().get(clave)
+                .ofType(TicketDTO.class)
+                .onErrorResume(e -> {
+                    log.warn("Cache reactiva no disponible para {}: {}", clave, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> ticketReactiveRepository.findById(id)
+                        .map(TicketMapper::toDTO)
+                        .flatMap(dto -> guardarEnCache(clave, dto))))
+                .switchIfEmpty(Mono.error(() -> new TicketNotFoundException(id.toString())));
+    }
+
+    public Flux<TicketDTO> obtenerTickets(int page, int size) {
+        return filtrarTickets(null, null, page, size);
+    }
+
+    public Flux<TicketDTO> filtrarTickets(String status, UUID usuarioId, int page, int size) {
+        TicketEntity.Status estatus;
+        try {
+            estatus = status != null ? TicketEntity.Status.valueOf(status.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new IllegalArgumentException("Estatus inválido: " + status));
+        }
+        int tamano = Math.max(1, Math.min(size, MAX_TAMANO));
+        long desplazamiento = (long) Math.max(0, page) * tamano;
+        return ticketReactiveRepository.filtrar(estatus, usuarioId, tamano, desplazamiento)
+                .map(TicketMapper::toDTO);
+    }
+
+    private Mono<TicketDTO> guardarEnCache(String clave, TicketDTO dto) {
+        ByteBuffer[] clavesYArgumentos = Arrays.stream(ticketRedisCache.clavesYArgumentos(dto))
+                .map(ByteBuffer::wrap)
+                .toArray(ByteBuffer[]::new);
+        return reactiveRedisTemplate.execute(conexion -> conexion.scriptingCommands()
+                        .eval(ByteBuffer.wrap(TicketRedisCache.SCRIPT), ReturnType.INTEGER, 2, clavesYArgumentos))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("No se pudo guardar {} en cache: {}", clave, e.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn(dto);
+    }
+}
@@ -1,34 +1,48 @@
 package com.tickets.tickets.service.impl;
 
 import com.tickets.tickets.annotation.AuditEvent;
+import com.tickets.tickets.cache.TicketCacheReader;
+import com.tickets.tickets.cache.TicketCacheWriter;
+import com.tickets.tickets.cache.TicketPageCache;
 import com.tickets.tickets.dto.ActualizarTicketDTO;
 import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.PaginaCursorDTO;
 import com.tickets.tickets.dto.TicketDTO;
 import com.tickets.tickets.entity.TicketEntity;
 import com.tickets.tickets.exception.TicketNotFoundException;
 import com.tickets.tickets.mapper.TicketMapper;
 import com.tickets.tickets.repository.TicketRepository;
 import com.tickets.tickets.service.TicketServiceInterface;
+import com.tickets.tickets.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 
+@Timed("tickets.servicio")
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -39,58 +53,108 @@ public class TicketServiceImpl implements TicketServiceInterface {
     @Autowired
     private final CacheManager cacheManager;
 
+    private final TicketPageCache ticketPageCache;
+
+    private final TicketCacheWriter ticketCacheWriter;
+
+    private final TicketCacheReader ticketCacheReader;
+
+    @Value("${tickets.busqueda.max-ids:1000}")
+    private int maxIdsBusqueda;
+
     private static final Logger logger = LoggerFactory.getLogger(TicketServiceImpl.class);
 
+    private static final Sort ORDEN_KEYSET = Sort.by(Sort.Direction.DESC, "fechaCreacion", "id");
+    private static final int MAX_TAMANO_CURSOR = 500;
+
     @Transactional
     @AuditEvent(servicio = "ms-tickets", accion = "CREAR_TICKET")
     public TicketDTO crearTicket(CrearTicketDTO crearTicketDTO) {
         try {
             TicketEntity ticketEntity = TicketMapper.toEntity(crearTicketDTO);
             TicketEntity savedEntity = ticketRepository.save(ticketEntity);
-            return TicketMapper.toDTO(savedEntity);
+            ticketPageCache.invalidar(savedEntity.getUsuarioId(), savedEntity.getStatus().name());
+            TicketDTO creado = TicketMapper.toDTO(savedEntity);
+            ticketCacheWriter.guardarTrasCommit(creado);
+            return creado;
         } catch (Exception e) {
             throw new RuntimeException("Error al crear el ticket: " + e.getMessage(), e);
         }
     }
 
+    /** La versión nueva se guarda en la cache "ticket" tras el commit en lugar de descartarla. */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "ticket", key = "#id")
-    })
     @AuditEvent(servicio = "ms-tickets", accion = "ACTUALIZAR_TICKET")
     public TicketDTO actualizarTicket(UUID id, ActualizarTicketDTO actualizarTicketDTO) {
         TicketEntity ticketEntity = ticketRepository.findById(id)
                 .orElseThrow(() -> new TicketNotFoundException(id.toString()));
+        String statusAnterior = ticketEntity.getStatus().name();
         TicketMapper.actualizarEntidad(ticketEntity, actualizarTicketDTO);
-        return TicketMapper.toDTO(ticketEntity);
+        ticketPageCache.invalidar(ticketEntity.getUsuarioId(), statusAnterior, ticketEntity.getStatus().name());
+        TicketDTO actualizado = TicketMapper.toDTO(ticketEntity);
+        ticketCacheWriter.guardarTrasCommit(actualizado);
+        return actualizado;
      }
 
     @Transactional
+    @CacheEvict(value = "ticket", key = "#id")
     @AuditEvent(servicio = "ms-tickets", accion = "ELIMINAR_TICKET")
     public void eliminarTicket(UUID id) {
-        ticketRepository.findById(id).orElseThrow(() -> new TicketNotFoundException(id.toString()));
+        TicketEntity ticketEntity = ticketRepository.findById(id)
+                .orElseThrow(() -> new TicketNotFoundException(id.toString()));
         ticketRepository.deleteById(id);
+        ticketPageCache.invalidar(ticketEntity.getUsuarioId(), ticketEntity.getStatus().name());
     }
 
+    /** Con {@code sync} los fallos concurrentes de una misma clave comparten una sola carga. */
     @Transactional
-    @Cacheable(value = "ticket", key = "#id")
+    @Cacheable(value = "ticket", key = "#id", sync = true)
     public Optional<TicketDTO> obtenerTicketPorId(UUID id) {
         return ticketRepository.findById(id)
             .map(TicketMapper::toDTO)
             .or(() -> {throw new TicketNotFoundException(id.toString());});
     }
 
+    /**
+     * Varios tickets por id con un {@code MGET} a la cache y una sola consulta para los que falten
+     * ({@link TicketCacheReader}); los inexistentes se omiten y los repetidos se devuelven una vez.
+     */
+    @Transactional(readOnly = true)
+    public List<TicketDTO> buscarTicketsPorIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("La lista de ids no puede estar vacía");
+        }
+        if (ids.size() > maxIdsBusqueda) {
+            throw new IllegalArgumentException("La búsqueda admite como máximo " + maxIdsBusqueda + " ids");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("La lista de ids no puede contener nulos");
+        }
+        return List.copyOf(ticketCacheReader.obtener(ids, this::cargarTickets).values());
+    }
+
     @Transactional
     public Page<TicketDTO> obtenerTicketsPaginados(Pageable pageable) {
-        return ticketRepository.findAll(pageable).map(TicketMapper::toDTO);
+        return ticketPageCache.obtener(null, null, pageable,
+                () -> ticketRepository.findAll(pageable).map(TicketMapper::toDTO), this::buscarTicketsEnCache);
     }
 
     @Transactional
-    @Caching(cacheable = {
-            @Cacheable(value = "ticket_status", key = "#status", condition = "#status != null"),
-            @Cacheable(value = "ticket_usuarioid", key = "#usuarioid", condition = "#usuarioid != null")
-    })
     public Page<TicketDTO> filtrarTickets(String status, UUID usuarioId, Pageable pageable) {
+        return ticketPageCache.obtener(status, usuarioId, pageable,
+                () -> consultarTickets(status, usuarioId, pageable), this::buscarTicketsEnCache);
+    }
+
+    private Map<UUID, TicketDTO> buscarTicketsEnCache(Collection<UUID> ids) {
+        return ticketCacheReader.obtener(ids, this::cargarTickets);
+    }
+
+    /** Tickets que faltan en la cache {@code ticket}, en una sola consulta. */
+    private List<TicketDTO> cargarTickets(Collection<UUID> ids) {
+        return ticketRepository.findAllById(ids).stream().map(TicketMapper::toDTO).toList();
+    }
+
+    private Page<TicketDTO> consultarTickets(String status, UUID usuarioId, Pageable pageable) {
         try {
             if (status != null && usuarioId != null) {
                 return ticketRepository.findByStatusAndUsuarioId(
@@ -113,6 +177,56 @@ public class TicketServiceImpl implements TicketServiceInterface {
         }
     }
 
+    @Transactional(readOnly = true)
+    public Page<TicketDTO> filtrarTicketsPorFecha(String status, UUID usuarioId,
+                                                  LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+        }
+        TicketEntity.Status estatus = status != null ? TicketEntity.Status.valueOf(status.toUpperCase()) : null;
+
+        Page<TicketEntity> pagina;
+        if (estatus != null && usuarioId != null) {
+            pagina = ticketRepository.findByUsuarioIdAndStatusAndFechaCreacionBetween(usuarioId, estatus, desde, hasta, pageable);
+        } else if (estatus != null) {
+            pagina = ticketRepository.findByStatusAndFechaCreacionBetween(estatus, desde, hasta, pageable);
+        } else if (usuarioId != null) {
+            pagina = ticketRepository.findByUsuarioIdAndFechaCreacionBetween(usuarioId, desde, hasta, pageable);
+        } else {
+            pagina = ticketRepository.findByFechaCreacionBetween(desde, hasta, pageable);
+        }
+        return pagina.map(TicketMapper::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<TicketDTO> obtenerTicketsPorCursor(String cursor, int size) {
+        return filtrarTicketsPorCursor(null, null, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<TicketDTO> filtrarTicketsPorCursor(String status, UUID usuarioId, String cursor, int size) {
+        KeysetScrollPosition posicion = CursorCodec.decodificar(cursor);
+        Limit limite = Limit.of(Math.max(1, Math.min(size, MAX_TAMANO_CURSOR)));
+        TicketEntity.Status estatus = status != null ? TicketEntity.Status.valueOf(status.toUpperCase()) : null;
 
-    
+        Window<TicketEntity> ventana;
+        if (estatus != null && usuarioId != null) {
+            ventana = ticketRepository.findByStatusAndUsuarioId(estatus, usuarioId, posicion, limite, ORDEN_KEYSET);
+        } else if (estatus != null) {
+            ventana = ticketRepository.findByStatus(estatus, posicion, limite, ORDEN_KEYSET);
+        } else if (usuarioId != null) {
+            ventana = ticketRepository.findByUsuarioId(usuarioId, posicion, limite, ORDEN_KEYSET);
+        } else {
+            ventana = ticketRepository.findAllBy(posicion, limite, ORDEN_KEYSET);
+        }
+
+        return PaginaCursorDTO.<TicketDTO>builder()
+                .content(ventana.map(TicketMapper::toDTO).getContent())
+                .size(ventana.size())
+                .haySiguiente(ventana.hasNext())
+                .siguienteCursor(ventana.hasNext() && !ventana.isEmpty()
+                        ? CursorCodec.codificar(ventana.positionAt(ventana.size() - 1))
+                        : null)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.tickets.tickets.service.impl;
+
+import com.tickets.tickets.client.UsuariosClient;
+import com.tickets.tickets.dto.TicketConUsuarioDTO;
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.dto.UsuarioDTO;
+import com.tickets.tickets.service.TicketUsuarioServiceInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@code expand=usuario}: los usuarios distintos de la página se piden a ms-users de una vez en lugar de uno
+ * por ticket, en tandas de como mucho {@code tickets.usuarios.max-ids} (el límite de ms-users). Si ms-users
+ * falla la página se devuelve igual, sin los usuarios de esa tanda.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketUsuarioServiceImpl implements TicketUsuarioServiceInterface {
+
+    private final UsuariosClient usuariosClient;
+
+    @Value("${tickets.usuarios.max-ids:1000}")
+    private int maxIdsPorLlamada;
+
+    public Page<TicketConUsuarioDTO> conUsuarios(Page<TicketDTO> tickets) {
+        Set<UUID> distintos = new LinkedHashSet<>();
+        tickets.forEach(ticket -> distintos.add(ticket.getUsuarioId()));
+        distintos.remove(null);
+        List<UUID> ids = new ArrayList<>(distintos);
+
+        Map<UUID, UsuarioDTO> usuarios = new HashMap<>();
+        for (int desde = 0; desde < ids.size(); desde += maxIdsPorLlamada) {
+            List<UUID> tanda = ids.subList(desde, Math.min(desde + maxIdsPorLlamada, ids.size()));
+            try {
+                usuariosClient.obtenerPorIds(tanda).stream()
+                        .filter(Objects::nonNull)
+                        .forEach(usuario -> usuarios.put(usuario.getId(), usuario));
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron obtener {} usuarios de ms-users; van sin usuario: {}",
+                        tanda.size(), e.getMessage());
+            }
+        }
+        return tickets.map(ticket -> new TicketConUsuarioDTO(ticket, usuarios.get(ticket.getUsuarioId())));
+    }
+}
@@ -0,0 +1,44 @@
+package com.tickets.tickets.util;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Codifica la posición de una paginación por keyset (fechaCreacion, id) como un token opaco en Base64 URL.
+ */
+public class CursorCodec {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String codificar(ScrollPosition posicion) {
+        Map<String, Object> claves = ((KeysetScrollPosition) posicion).getKeys();
+        String valor = claves.get("fechaCreacion") + SEPARADOR + claves.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            Map<String, Object> claves = new LinkedHashMap<>();
+            claves.put("fechaCreacion", LocalDateTime.parse(valor.substring(0, separador)));
+            claves.put("id", UUID.fromString(valor.substring(separador + 1)));
+            return ScrollPosition.forward(claves);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido.");
+        }
+    }
+}
@@ -1,28 +1,106 @@
 package com.tickets.tickets.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extrae el sujeto de los tokens JWT. El parser se construye una sola vez (es inmutable y seguro entre hilos)
+ * y los sujetos ya verificados se guardan hasta el {@code exp} del token, de modo que las peticiones
+ * siguientes de la misma sesión no repiten la verificación de la firma.
+ */
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    static final String ANONIMO = "anonimo";
+    private static final String PREFIJO = "Bearer ";
+
+    private final JwtParser parser;
+    private final Cache<String, Sesion> sesiones;
 
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+                    @Value("${jwt.cache.max-entradas:10000}") long maxEntradas,
+                    @Value("${jwt.cache.ttl-sin-expiracion:10m}") Duration ttlSinExpiracion) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(jwtSecret.getBytes(StandardCharsets.UTF_8))
+                .build();
+        this.sesiones = maxEntradas > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxEntradas)
+                        .expireAfter(new HastaExpiracion(ttlSinExpiracion))
+                        .build()
+                : null;
+    }
+
+    /**
+     * Devuelve el sujeto del token (con o sin prefijo {@code Bearer}) o {@code "anonimo"} si no es válido.
+     * La cache se consulta con la cabecera tal cual llega para no crear objetos en los aciertos;
+     * los tokens inválidos no se guardan.
+     */
     public String extractEmail(String token) {
+        if (sesiones != null) {
+            Sesion sesion = sesiones.getIfPresent(token);
+            if (sesion != null) {
+                return sesion.sujeto();
+            }
+        }
         try {
-            String cleanToken = token.replace("Bearer ", "");
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(jwtSecret.getBytes())
-                    .build()
-                    .parseClaimsJws(cleanToken)
-                    .getBody();
-
-            return claims.getSubject(); // o claims.get("email", String.class)
+            String cleanToken = token.startsWith(PREFIJO) ? token.substring(PREFIJO.length()) : token;
+            Claims claims = parser.parseClaimsJws(cleanToken).getBody();
+            String sujeto = claims.getSubject();
+            if (sujeto == null) {
+                return ANONIMO;
+            }
+            if (sesiones != null) {
+                Date expiracion = claims.getExpiration();
+                sesiones.put(token, new Sesion(sujeto, expiracion != null ? expiracion.getTime() : Sesion.SIN_EXPIRACION));
+            }
+            return sujeto;
         } catch (Exception e) {
-            return "anonimo";
+            return ANONIMO;
+        }
+    }
+
+    private record Sesion(String sujeto, long expiraEnMillis) {
+        static final long SIN_EXPIRACION = -1;
+    }
+
+    /** Las entradas caducan con el token; los tokens sin {@code exp} se guardan un tiempo fijo. */
+    private static final class HastaExpiracion implements Expiry<String, Sesion> {
+
+        private final long ttlSinExpiracionNanos;
+
+        private HastaExpiracion(Duration ttlSinExpiracion) {
+            this.ttlSinExpiracionNanos = ttlSinExpiracion.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String token, Sesion sesion, long currentTime) {
+            if (sesion.expiraEnMillis() == Sesion.SIN_EXPIRACION) {
+                return ttlSinExpiracionNanos;
+            }
+            long restanteMillis = sesion.expiraEnMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Sesion sesion, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, sesion, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Sesion sesion, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
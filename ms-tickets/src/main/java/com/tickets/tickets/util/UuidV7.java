@@ -0,0 +1,54 @@
+package com.tickets.tickets.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID versión 7 (RFC 9562): 48 bits de milisegundos Unix, 12 bits de contador y 62 bits aleatorios.
+ * Los identificadores crecen con el tiempo, así que las inserciones van al final del índice de la clave
+ * primaria en lugar de repartirse por todo el árbol como los UUID aleatorios.
+ * <p>
+ * Dentro del mismo milisegundo el contador (iniciado en un valor aleatorio) se incrementa, de modo que
+ * los identificadores de un nodo son estrictamente crecientes aunque el reloj retroceda; si el contador
+ * se agota, el tiempo avanza un milisegundo. El estado se actualiza con CAS, sin bloqueos.
+ * Los 62 bits aleatorios usan {@link ThreadLocalRandom}: únicos en la práctica, pero no secretos.
+ */
+public final class UuidV7 {
+
+    private static final int BITS_CONTADOR = 12;
+    private static final long MASCARA_CONTADOR = (1L << BITS_CONTADOR) - 1;
+    /** El contador arranca por debajo de la mitad para dejar margen antes de agotarse. */
+    private static final int MAXIMO_INICIO_CONTADOR = 1 << (BITS_CONTADOR - 1);
+
+    /** Milisegundos desplazados {@link #BITS_CONTADOR} bits más el contador del último identificador. */
+    private static final AtomicLong ULTIMO = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long ahora = System.currentTimeMillis();
+        long anterior;
+        long siguiente;
+        do {
+            anterior = ULTIMO.get();
+            siguiente = ahora > (anterior >>> BITS_CONTADOR)
+                    ? (ahora << BITS_CONTADOR) | aleatorio.nextInt(MAXIMO_INICIO_CONTADOR)
+                    : anterior + 1;
+        } while (!ULTIMO.compareAndSet(anterior, siguiente));
+
+        long msb = ((siguiente >>> BITS_CONTADOR) << 16) | 0x7000L | (siguiente & MASCARA_CONTADOR);
+        long lsb = (aleatorio.nextLong() >>> 2) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /** Milisegundos Unix codificados en un UUID versión 7. */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("No es un UUID versión 7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
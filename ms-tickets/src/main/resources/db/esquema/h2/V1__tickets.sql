@@ -0,0 +1,16 @@
+-- Esquema inicial de tickets (perfil prod). Equivale al que genera Hibernate a partir de TicketEntity:
+-- fechas TIMESTAMP(6) y los índices compuestos de filtros y paginación por cursor.
+CREATE TABLE tickets (
+    id                  UUID                       NOT NULL,
+    usuario_id          UUID                       NOT NULL,
+    descripcion         VARCHAR(500)               NOT NULL,
+    status              ENUM ('ABIERTO','CERRADO') NOT NULL,
+    fecha_creacion      TIMESTAMP(6)               NOT NULL,
+    fecha_actualizacion TIMESTAMP(6)               NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tickets_usuario_status_fecha ON tickets (usuario_id, status, fecha_creacion, id);
+CREATE INDEX idx_tickets_usuario_fecha ON tickets (usuario_id, fecha_creacion, id);
+CREATE INDEX idx_tickets_status_fecha ON tickets (status, fecha_creacion, id);
+CREATE INDEX idx_tickets_fecha ON tickets (fecha_creacion, id);
@@ -0,0 +1,10 @@
+-- Convierte en sitio las fechas de tickets guardadas como texto ISO-8601 (p. ej. 2024-05-01T10:15:30.123456)
+-- a columnas TIMESTAMP y crea los índices compuestos usados por los filtros y la paginación por cursor.
+-- Sobre una base creada por V1 no cambia nada: las columnas ya son TIMESTAMP(6) y los índices ya existen.
+ALTER TABLE tickets ALTER COLUMN fecha_creacion SET DATA TYPE TIMESTAMP(6);
+ALTER TABLE tickets ALTER COLUMN fecha_actualizacion SET DATA TYPE TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_usuario_status_fecha ON tickets (usuario_id, status, fecha_creacion, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_usuario_fecha ON tickets (usuario_id, fecha_creacion, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_status_fecha ON tickets (status, fecha_creacion, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_fecha ON tickets (fecha_creacion, id);
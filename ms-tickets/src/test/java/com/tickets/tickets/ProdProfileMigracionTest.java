@@ -0,0 +1,70 @@
+package com.tickets.tickets;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Una base anterior a Flyway, creada con ddl-auto y las fechas como texto, arranca en prod ya migrada. */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileMigracionTest {
+
+    private static final UUID ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b");
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void baseConFechasDeTexto(DynamicPropertyRegistry registro) throws SQLException {
+        String ruta = directorio.resolve("ticketsdb").toString();
+        try (Connection conexion = DriverManager.getConnection("jdbc:h2:file:" + ruta, "sa", "");
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE tickets (id UUID NOT NULL, usuario_id UUID NOT NULL, "
+                    + "descripcion VARCHAR(500) NOT NULL, status ENUM ('ABIERTO','CERRADO') NOT NULL, "
+                    + "fecha_creacion VARCHAR(255) NOT NULL, fecha_actualizacion VARCHAR(255) NOT NULL, PRIMARY KEY (id))");
+            sentencia.execute("INSERT INTO tickets VALUES ('" + ID + "', '" + UUID.randomUUID() + "', 'Antiguo', "
+                    + "'ABIERTO', '2024-05-01T10:15:30.123456', '2024-05-02T08:00:00')");
+        }
+        registro.add("DB_PATH", () -> ruta);
+        registro.add("JWT_SECRET", () -> "secreto-de-pruebas-con-longitud-suficiente-hs256");
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void arranque_tomaLaBaseComoV1YConvierteLasFechas() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertEquals("TIMESTAMP", jdbcTemplate.queryForObject("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'TICKETS' AND COLUMN_NAME = 'FECHA_CREACION'", String.class));
+
+        TicketEntity ticket = ticketRepository.findById(ID).orElseThrow();
+
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123456000), ticket.getFechaCreacion());
+        assertEquals(LocalDateTime.of(2024, 5, 2, 8, 0), ticket.getFechaActualizacion());
+    }
+}
@@ -0,0 +1,75 @@
+package com.tickets.tickets;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketReactiveRepository;
+import com.tickets.tickets.repository.TicketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileTest {
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void baseEnArchivo(DynamicPropertyRegistry registro) {
+        registro.add("DB_PATH", () -> directorio.resolve("ticketsdb").toString());
+        registro.add("JWT_SECRET", () -> "secreto-de-pruebas-con-longitud-suficiente-hs256");
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketReactiveRepository ticketReactiveRepository;
+
+    @Test
+    void arranque_aplicaMigracionesYValidaElEsquema() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertTrue(directorio.resolve("ticketsdb.mv.db").toFile().exists());
+    }
+
+    @Test
+    void pool_publicaMetricasConElTamanoConfigurado() {
+        assertEquals(10, meterRegistry.get("hikaricp.connections.max").tag("pool", "tickets-pool").gauge().value());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+    }
+
+    @Test
+    void lecturaReactiva_veLoEscritoPorJpaEnElMismoArchivo() {
+        LocalDateTime ahora = LocalDateTime.now();
+        TicketEntity guardado = ticketRepository.save(TicketEntity.builder()
+                .descripcion("Ticket persistente")
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketEntity.Status.ABIERTO)
+                .build());
+
+        TicketEntity leido = ticketReactiveRepository.findById(guardado.getId()).block();
+
+        assertNotNull(leido);
+        assertEquals("Ticket persistente", leido.getDescripcion());
+    }
+}
@@ -0,0 +1,134 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.config.RedisConfig;
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = RedisConfig.jsonRedisSerializer();
+    private final CacheValueSerializer serializer = new CacheValueSerializer(json, true, 1024);
+
+    private static TicketDTO ticket(String descripcion) {
+        return TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .descripcion(descripcion)
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(LocalDateTime.of(2025, 3, 1, 12, 30, 45, 123456789))
+                .fechaActualizacion(LocalDateTime.of(2025, 3, 2, 8, 0))
+                .status(TicketDTO.Status.CERRADO)
+                .build();
+    }
+
+    @Test
+    void ticket_idaYVueltaEnBinarioMasPequenoQueJson() {
+        TicketDTO original = ticket("La impresora del tercer piso no responde");
+
+        byte[] datos = serializer.serialize(original);
+
+        assertEquals(CacheValueSerializer.VERSION, datos[0]);
+        assertEquals(original, serializer.deserialize(datos));
+        assertTrue(datos.length * 3 < json.serialize(original).length,
+                () -> datos.length + " bytes frente a " + json.serialize(original).length);
+    }
+
+    @Test
+    void ticket_conCamposNulos() {
+        TicketDTO original = TicketDTO.builder().id(UUID.randomUUID()).build();
+
+        assertEquals(original, serializer.deserialize(serializer.serialize(original)));
+    }
+
+    @Test
+    void pagina_guardaSoloLosIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        TicketPageCache.PaginaIds original = new TicketPageCache.PaginaIds(ids, 1234);
+
+        byte[] datos = serializer.serialize(original);
+
+        assertEquals(CacheValueSerializer.ESQUEMA_PAGINA_IDS, ByteBuffer.wrap(datos).getShort(2));
+        assertEquals(0, datos[1] & CacheValueSerializer.FLAG_LZ4, "los UUID aleatorios no se comprimen");
+        assertTrue(datos.length < CacheValueSerializer.CABECERA + 8 + 2 + 16 * 100 + 1);
+        assertEquals(original, serializer.deserialize(datos));
+    }
+
+    @Test
+    void paginaConContenidoAnterior_esUnFallo() {
+        byte[] datos = serializer.serialize(ticket("Página antigua"));
+        ByteBuffer.wrap(datos).putShort(2, (short) 2);
+
+        assertNull(serializer.deserialize(datos));
+    }
+
+    @Test
+    void otrosTipos_vanComoJsonDentroDelSobre() {
+        Map<String, Object> original = new HashMap<>(Map.of("clave", "valor"));
+
+        byte[] datos = serializer.serialize(original);
+
+        assertEquals(CacheValueSerializer.VERSION, datos[0]);
+        assertEquals(original, serializer.deserialize(datos));
+    }
+
+    @Test
+    void leeEntradasJsonAnterioresYEscribeJsonSiSeConfigura() {
+        TicketDTO original = ticket("Sin conexión");
+        CacheValueSerializer soloJson = new CacheValueSerializer(json, false, 1024);
+
+        byte[] datos = soloJson.serialize(original);
+
+        assertArrayEquals(json.serialize(original), datos);
+        assertEquals(original, serializer.deserialize(datos));
+        assertEquals(original, soloJson.deserialize(serializer.serialize(original)));
+    }
+
+    @Test
+    void versionDesconocida_esUnFallo() {
+        byte[] datos = serializer.serialize(ticket("Futuro"));
+        datos[0] = CacheValueSerializer.VERSION + 1;
+
+        assertNull(serializer.deserialize(datos));
+    }
+
+    @Test
+    void longitudNegativaOExcesiva_esUnFallo() {
+        for (int longitud : new int[]{-1, Integer.MIN_VALUE, CacheValueSerializer.MAXIMO_CUERPO + 1}) {
+            byte[] plano = serializer.serialize(ticket("Corrupto"));
+            byte[] comprimido = serializer.serialize(ticket("repetido ".repeat(200)));
+            ByteBuffer.wrap(plano).putInt(4, longitud);
+            ByteBuffer.wrap(comprimido).putInt(4, longitud);
+
+            assertNull(serializer.deserialize(plano), "longitud " + longitud);
+            assertNull(serializer.deserialize(comprimido), "longitud " + longitud);
+        }
+    }
+
+    @Test
+    void cuerpoTruncadoOCorrupto_esUnFallo() {
+        byte[] comprimido = serializer.serialize(ticket("repetido ".repeat(200)));
+        assertEquals(CacheValueSerializer.FLAG_LZ4, comprimido[1] & CacheValueSerializer.FLAG_LZ4);
+        byte[] plano = serializer.serialize(ticket("Truncado"));
+        byte[] basura = comprimido.clone();
+        Arrays.fill(basura, CacheValueSerializer.CABECERA, basura.length, (byte) 0xF0);
+
+        assertNull(serializer.deserialize(Arrays.copyOf(comprimido, comprimido.length - 5)));
+        assertNull(serializer.deserialize(Arrays.copyOf(plano, plano.length - 3)));
+        assertNull(serializer.deserialize(basura));
+        assertNull(serializer.deserialize(Arrays.copyOf(plano, CacheValueSerializer.CABECERA - 1)));
+    }
+}
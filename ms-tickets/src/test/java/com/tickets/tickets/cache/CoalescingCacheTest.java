@@ -0,0 +1,163 @@
+package com.tickets.tickets.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingCacheTest {
+
+    private final AtomicInteger cargas = new AtomicInteger();
+    private ConcurrentMapCache delegado;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valores;
+    private CoalescingCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegado = new ConcurrentMapCache("ticket");
+        redisTemplate = mock(StringRedisTemplate.class);
+        valores = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valores);
+        when(valores.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(Duration.ofMinutes(30).toMillis());
+        cache = new CoalescingCache(delegado, redisTemplate, Duration.ofMillis(500), 1.0, 1000);
+    }
+
+    @Test
+    void get_fallosConcurrentesDeUnaClaveCompartenUnaCarga() throws Exception {
+        int hilos = 32;
+        CountDownLatch todosEsperando = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(ejecutor.submit(() -> cache.get("clave", () -> {
+                    todosEsperando.await(1, TimeUnit.SECONDS);
+                    return cargar("valor");
+                })));
+            }
+            Thread.sleep(200);
+            todosEsperando.countDown();
+            for (Future<String> resultado : resultados) {
+                assertEquals("valor", resultado.get());
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getCargas());
+        assertEquals(hilos - 1, cache.getEsperas());
+        verify(redisTemplate).execute(any(), eq(List.of("carga:ticket::clave")), anyString());
+    }
+
+    @Test
+    void get_conElBloqueoEnOtroNodoEsperaSuValorSinCargar() throws Exception {
+        when(valores.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        ExecutorService otroNodo = Executors.newSingleThreadExecutor();
+        try {
+            otroNodo.submit(() -> {
+                Thread.sleep(100);
+                delegado.put("clave", "cargado por otro nodo");
+                return null;
+            });
+
+            assertEquals("cargado por otro nodo", cache.get("clave", () -> cargar("local")));
+        } finally {
+            otroNodo.shutdownNow();
+        }
+        assertEquals(0, cargas.get());
+    }
+
+    @Test
+    void get_siVenceElBloqueoSinValorCargaElMismo() {
+        when(valores.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals("local", cache.get("clave", () -> cargar("local")));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void get_errorDeCargaLlegaATodosLosQueEsperaban() {
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("clave", () -> {
+                    throw new IllegalStateException("base caída");
+                }));
+        assertNull(delegado.get("clave"));
+    }
+
+    @Test
+    void get_lejosDeExpirarNoRefresca() {
+        delegado.put("clave", "cacheado");
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("cacheado", cache.get("clave", () -> cargar("nuevo")));
+        }
+        assertEquals(0, cargas.get());
+        // La expiración se consulta una vez y se recuerda
+        verify(redisTemplate, times(1)).getExpire(anyString(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void get_aPuntoDeExpirarRefrescaAntesDeQueCaduque() {
+        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(0L);
+        delegado.put("clave", "cacheado");
+
+        assertEquals("nuevo", cache.get("clave", () -> cargar("nuevo")));
+        assertEquals("nuevo", delegado.get("clave").get());
+        assertEquals(1, cache.getRefrescosAnticipados());
+    }
+
+    @Test
+    void get_tormentaDeExpiracionesCargaUnaVezPorExpiracion() throws Exception {
+        int hilos = 64;
+        int expiraciones = 20;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            for (int ronda = 0; ronda < expiraciones; ronda++) {
+                delegado.evict("popular");
+                CountDownLatch salida = new CountDownLatch(1);
+                List<Future<String>> resultados = new ArrayList<>();
+                for (int i = 0; i < hilos; i++) {
+                    resultados.add(ejecutor.submit(() -> {
+                        salida.await();
+                        return cache.get("popular", () -> {
+                            Thread.sleep(20);
+                            return cargar("valor");
+                        });
+                    }));
+                }
+                salida.countDown();
+                for (Future<String> resultado : resultados) {
+                    assertEquals("valor", resultado.get());
+                }
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        assertEquals(expiraciones, cargas.get());
+    }
+
+    private String cargar(String valor) {
+        cargas.incrementAndGet();
+        return valor;
+    }
+}
@@ -0,0 +1,135 @@
+package com.tickets.tickets.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis en memoria para los tests de cache: {@code MGET}, las lecturas de la cache y el script de
+ * {@link TicketRedisCache}, con y sin pipeline, a través de un {@link StringRedisTemplate} simulado.
+ * El script se reproduce en Java.
+ */
+class RedisFalso {
+
+    final Map<String, byte[]> valores = new HashMap<>();
+    final Map<String, Duration> ttls = new HashMap<>();
+    final List<List<String>> mgets = new ArrayList<>();
+    final RedisStringCommands comandos = mock(RedisStringCommands.class);
+    final RedisScriptingCommands scripts = mock(RedisScriptingCommands.class);
+    final StringRedisTemplate plantilla = mock(StringRedisTemplate.class);
+
+    private List<Object> pipeline;
+
+    @SuppressWarnings("unchecked")
+    RedisFalso() {
+        when(comandos.mGet(any(byte[][].class))).thenAnswer(inv -> {
+            List<String> claves = new ArrayList<>();
+            List<byte[]> leidos = new ArrayList<>();
+            for (byte[] clave : (byte[][]) inv.getRawArguments()[0]) {
+                claves.add(texto(clave));
+                leidos.add(valores.get(texto(clave)));
+            }
+            mgets.add(claves);
+            return responder(leidos);
+        });
+        when(scripts.eval(any(byte[].class), eq(ReturnType.INTEGER), anyInt(), any(byte[][].class))).thenAnswer(inv -> {
+            assertArrayEquals(TicketRedisCache.SCRIPT, inv.<byte[]>getArgument(0));
+            return responder(guardarSiNoHayPosterior((byte[][]) inv.getRawArguments()[3]));
+        });
+        RedisConnection conexion = mock(RedisConnection.class);
+        when(conexion.stringCommands()).thenReturn(comandos);
+        when(conexion.scriptingCommands()).thenReturn(scripts);
+
+        when(plantilla.getStringSerializer()).thenReturn(RedisSerializer.string());
+        when(plantilla.execute(any(RedisCallback.class)))
+                .thenAnswer(inv -> inv.<RedisCallback<?>>getArgument(0).doInRedis(conexion));
+        when(plantilla.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            pipeline = new ArrayList<>();
+            try {
+                inv.<RedisCallback<?>>getArgument(0).doInRedis(conexion);
+                return pipeline;
+            } finally {
+                pipeline = null;
+            }
+        });
+    }
+
+    /** Cache {@value TicketCacheWriter#CACHE} sobre este Redis, con el serializador y el TTL dados. */
+    TicketRedisCache cacheDeTickets(CacheValueSerializer serializer, Duration ttl) {
+        RedisCache remoto = mock(RedisCache.class);
+        when(remoto.getName()).thenReturn(TicketCacheWriter.CACHE);
+        when(remoto.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .entryTtl(ttl));
+        when(remoto.get(any())).thenAnswer(inv -> {
+            byte[] valor = valores.get(TicketCacheWriter.CACHE + "::" + inv.getArgument(0));
+            return valor != null ? new SimpleValueWrapper(serializer.deserialize(valor)) : null;
+        });
+        when(remoto.get(any(), any(Class.class))).thenAnswer(inv -> {
+            Cache.ValueWrapper valor = remoto.get(inv.getArgument(0));
+            return valor != null ? valor.get() : null;
+        });
+        doAnswer(inv -> valores.remove(TicketCacheWriter.CACHE + "::" + inv.getArgument(0)))
+                .when(remoto).evict(any());
+        return new TicketRedisCache(remoto, plantilla);
+    }
+
+    /** Versión guardada junto a la entrada, o {@code null}. */
+    String version(String clave) {
+        byte[] version = valores.get(clave + TicketRedisCache.SUFIJO_VERSION);
+        return version != null ? texto(version) : null;
+    }
+
+    /** Lo que hace {@link TicketRedisCache#SCRIPT}. */
+    private long guardarSiNoHayPosterior(byte[][] argumentos) {
+        String clave = texto(argumentos[0]);
+        String claveVersion = texto(argumentos[1]);
+        String version = texto(argumentos[3]);
+        long ttlMs = Long.parseLong(texto(argumentos[4]));
+        byte[] guardada = valores.get(claveVersion);
+        if (guardada != null && texto(guardada).compareTo(version) > 0) {
+            return 0;
+        }
+        valores.put(clave, argumentos[2]);
+        valores.put(claveVersion, argumentos[3]);
+        ttls.put(clave, ttlMs == 0 ? null : Duration.ofMillis(ttlMs));
+        ttls.put(claveVersion, ttlMs == 0 ? null : Duration.ofMillis(ttlMs));
+        return 1;
+    }
+
+    private Object responder(Object resultado) {
+        if (pipeline == null) {
+            return resultado;
+        }
+        pipeline.add(resultado);
+        return null;
+    }
+
+    static String texto(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.tickets.config.RedisConfig;
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TicketCacheReaderTest {
+
+    private final CacheValueSerializer serializer =
+            new CacheValueSerializer(RedisConfig.jsonRedisSerializer(), true, 1024);
+    private final RedisFalso redis = new RedisFalso();
+    private final Map<UUID, TicketDTO> base = new HashMap<>();
+    private final List<Collection<UUID>> cargas = new ArrayList<>();
+    private TicketRedisCache remoto;
+    private TwoTierCache tickets;
+    private TicketCacheReader lector;
+
+    @BeforeEach
+    void setUp() {
+        remoto = redis.cacheDeTickets(serializer, Duration.ofMinutes(30));
+        tickets = new TwoTierCache(TicketCacheWriter.CACHE, remoto, Caffeine.newBuilder().<String, Cache.ValueWrapper>build(),
+                mock(CacheInvalidationPublisher.class));
+        lector = new TicketCacheReader(tickets, redis.plantilla);
+    }
+
+    @Test
+    void obtener_leeL1DespuesUnMgetYCargaElRestoDeUnaVez() {
+        TicketDTO enLocal = ticket("En L1");
+        TicketDTO enRedis = ticket("En Redis");
+        TicketDTO enBase = ticket("En la base");
+        UUID inexistente = UUID.randomUUID();
+        tickets.getLocal().put(enLocal.getId().toString(), () -> enLocal);
+        redis.valores.put("ticket::" + enRedis.getId(), serializer.serialize(enRedis));
+        base.put(enBase.getId(), enBase);
+
+        Map<UUID, TicketDTO> encontrados = lector.obtener(
+                List.of(enBase.getId(), enLocal.getId(), inexistente, enRedis.getId(), enLocal.getId()), this::cargar);
+
+        assertEquals(List.of(enBase, enLocal, enRedis), List.copyOf(encontrados.values()));
+        assertEquals(List.of(List.of("ticket::" + enBase.getId(), "ticket::" + inexistente, "ticket::" + enRedis.getId())),
+                redis.mgets);
+        assertEquals(List.of(List.of(enBase.getId(), inexistente)), cargas);
+        assertEquals(enBase, serializer.deserialize(redis.valores.get("ticket::" + enBase.getId())));
+        assertEquals(Duration.ofMinutes(30), redis.ttls.get("ticket::" + enBase.getId()));
+        assertEquals(Duration.ofMinutes(30), redis.ttls.get("ticket::" + enBase.getId() + ":version"));
+        assertEquals(enRedis, tickets.getLocal().getIfPresent(enRedis.getId().toString()).get());
+        assertEquals(enBase, tickets.getLocal().getIfPresent(enBase.getId().toString()).get());
+    }
+
+    @Test
+    void obtener_todoEnCache_noConsultaLaBase() {
+        TicketDTO enRedis = ticket("En Redis");
+        redis.valores.put("ticket::" + enRedis.getId(), serializer.serialize(enRedis));
+
+        assertEquals(Map.of(enRedis.getId(), enRedis), lector.obtener(List.of(enRedis.getId()), this::cargar));
+        assertEquals(Map.of(enRedis.getId(), enRedis), lector.obtener(List.of(enRedis.getId()), this::cargar));
+
+        assertTrue(cargas.isEmpty());
+        assertEquals(1, redis.mgets.size(), "el segundo acierto sale del L1");
+    }
+
+    @Test
+    void obtener_noPisaUnaVersionGuardadaMientrasSeCargaba() {
+        TicketDTO viejo = ticket("Leído de la base");
+        TicketDTO nuevo = ticket("Editado");
+        nuevo.setId(viejo.getId());
+        nuevo.setFechaActualizacion(viejo.getFechaActualizacion().plusSeconds(1));
+        base.put(viejo.getId(), viejo);
+
+        lector.obtener(List.of(viejo.getId()), ids -> {
+            remoto.put(nuevo.getId(), nuevo);
+            return cargar(ids);
+        });
+
+        assertEquals(nuevo, serializer.deserialize(redis.valores.get("ticket::" + viejo.getId())));
+        assertNull(tickets.getLocal().getIfPresent(viejo.getId().toString()));
+    }
+
+    @Test
+    void obtener_siRedisFallaLeeDeLaBaseSinGuardar() {
+        TicketDTO enBase = ticket("En la base");
+        base.put(enBase.getId(), enBase);
+        when(redis.comandos.mGet(any(byte[][].class))).thenThrow(new RedisConnectionFailureException("caído"));
+
+        assertEquals(Map.of(enBase.getId(), enBase), lector.obtener(List.of(enBase.getId()), this::cargar));
+
+        assertTrue(redis.valores.isEmpty());
+    }
+
+    private List<TicketDTO> cargar(Collection<UUID> ids) {
+        cargas.add(List.copyOf(ids));
+        return ids.stream().map(base::get).filter(Objects::nonNull).toList();
+    }
+
+    private static TicketDTO ticket(String descripcion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return TicketDTO.builder()
+                .id(UUID.randomUUID())
+                .descripcion(descripcion)
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketDTO.Status.ABIERTO)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.tickets.config.RedisConfig;
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TicketCacheWriterTest {
+
+    private final UUID id = UUID.randomUUID();
+    private ConcurrentMapCache cache;
+    private TicketCacheWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConcurrentMapCache(TicketCacheWriter.CACHE);
+        writer = new TicketCacheWriter(cache);
+    }
+
+    @AfterEach
+    void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void guardarTrasCommit_esperaAlCommitParaEscribir() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.guardarTrasCommit(ticket("Nueva descripción", LocalDateTime.now()));
+        assertNull(cache.get(id));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("Nueva descripción", cache.get(id, TicketDTO.class).getDescripcion());
+    }
+
+    @Test
+    void guardarTrasCommit_conRollbackNoTocaLaCache() {
+        cache.put(id, ticket("Original", LocalDateTime.now().minusMinutes(1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.guardarTrasCommit(ticket("Descartada", LocalDateTime.now()));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals("Original", cache.get(id, TicketDTO.class).getDescripcion());
+    }
+
+    @Test
+    void guardarTrasCommit_sinTransaccionEscribeEnElMomento() {
+        writer.guardarTrasCommit(ticket("Directa", LocalDateTime.now()));
+
+        assertEquals("Directa", cache.get(id, TicketDTO.class).getDescripcion());
+    }
+
+    @Test
+    void guardarTrasCommit_noPisaUnaVersionPosterior() {
+        RedisFalso redis = new RedisFalso();
+        TwoTierCache dosNiveles = new TwoTierCache(TicketCacheWriter.CACHE,
+                redis.cacheDeTickets(new CacheValueSerializer(RedisConfig.jsonRedisSerializer(), true, 1024),
+                        Duration.ofMinutes(30)),
+                Caffeine.newBuilder().<String, Cache.ValueWrapper>build(), mock(CacheInvalidationPublisher.class));
+        TicketCacheWriter versionado = new TicketCacheWriter(dosNiveles);
+        LocalDateTime ahora = LocalDateTime.now();
+        versionado.guardarTrasCommit(ticket("Segunda edición", ahora));
+
+        versionado.guardarTrasCommit(ticket("Primera edición", ahora.minusSeconds(1)));
+
+        dosNiveles.invalidarLocalCompleto();
+        assertEquals("Segunda edición", dosNiveles.get(id, TicketDTO.class).getDescripcion());
+        assertEquals(TicketRedisCache.version(ahora), redis.version("ticket::" + id));
+    }
+
+    @Test
+    void guardarTrasCommit_siFallaElPutDescartaEseTicketYSigue() {
+        UUID roto = UUID.randomUUID();
+        ConcurrentMapCache remoto = new ConcurrentMapCache(TicketCacheWriter.CACHE) {
+            @Override
+            public void put(Object key, Object value) {
+                if (roto.equals(key)) {
+                    throw new SerializationException("no serializable");
+                }
+                super.put(key, value);
+            }
+        };
+        remoto.getNativeCache().put(roto, ticket("Anterior", LocalDateTime.now().minusMinutes(1)));
+        TicketDTO editado = ticket("Editado", LocalDateTime.now());
+        editado.setId(roto);
+
+        new TicketCacheWriter(remoto).guardarTrasCommit(List.of(editado, ticket("Siguiente", LocalDateTime.now())));
+
+        assertNull(remoto.get(roto));
+        assertEquals("Siguiente", remoto.get(id, TicketDTO.class).getDescripcion());
+    }
+
+    @Test
+    void guardarTrasCommit_conRedisCaidoLimpiaElL1SinInsistir() {
+        Cache remoto = mock(Cache.class);
+        doThrow(new RedisConnectionFailureException("caído")).when(remoto).put(any(), any());
+        doThrow(new RedisConnectionFailureException("caído")).when(remoto).evict(any());
+        TwoTierCache dosNiveles = new TwoTierCache(TicketCacheWriter.CACHE, remoto,
+                Caffeine.newBuilder().<String, Cache.ValueWrapper>build(), mock(CacheInvalidationPublisher.class));
+        TicketDTO primero = ticket("Primero", LocalDateTime.now());
+        primero.setId(UUID.randomUUID());
+        TicketDTO segundo = ticket("Segundo", LocalDateTime.now());
+        TicketDTO anterior = ticket("Anterior", LocalDateTime.now().minusMinutes(1));
+        dosNiveles.getLocal().put(primero.getId().toString(), () -> anterior);
+        dosNiveles.getLocal().put(id.toString(), () -> anterior);
+
+        new TicketCacheWriter(dosNiveles).guardarTrasCommit(List.of(primero, segundo));
+
+        assertNull(dosNiveles.getLocal().getIfPresent(primero.getId().toString()));
+        assertNull(dosNiveles.getLocal().getIfPresent(id.toString()));
+        verify(remoto, times(1)).put(any(), any());
+        verify(remoto, times(1)).evict(any());
+    }
+
+    private TicketDTO ticket(String descripcion, LocalDateTime fechaActualizacion) {
+        return TicketDTO.builder()
+                .id(id)
+                .descripcion(descripcion)
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(fechaActualizacion.minusDays(1))
+                .fechaActualizacion(fechaActualizacion)
+                .status(TicketDTO.Status.ABIERTO)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.tickets.tickets.cache;
+
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TicketPageCacheTest {
+
+    private final Map<String, String> versiones = new HashMap<>();
+    private final Map<UUID, TicketDTO> base = new HashMap<>();
+    private final AtomicInteger consultas = new AtomicInteger();
+    private final List<Collection<UUID>> busquedas = new ArrayList<>();
+    private TicketPageCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valores = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valores);
+        when(valores.get(anyString())).thenAnswer(inv -> versiones.get(inv.<String>getArgument(0)));
+        when(valores.increment(anyString())).thenAnswer(inv -> Long.valueOf(
+                versiones.merge(inv.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+        cache = new TicketPageCache(new ConcurrentMapCache(TicketPageCache.CACHE), redisTemplate, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void obtener_laClaveIncluyePaginaTamanoYOrden() {
+        UUID usuario = UUID.randomUUID();
+        PageRequest primera = PageRequest.of(0, 10, Sort.by("fechaCreacion"));
+
+        cache.obtener("abierto", usuario, primera, consulta(), this::buscar);
+        Page<TicketDTO> cacheada = cache.obtener("ABIERTO", usuario, primera, consulta(), this::buscar);
+        cache.obtener("ABIERTO", usuario, PageRequest.of(1, 10, Sort.by("fechaCreacion")), consulta(), this::buscar);
+        cache.obtener("ABIERTO", usuario, PageRequest.of(0, 20, Sort.by("fechaCreacion")), consulta(), this::buscar);
+        cache.obtener("ABIERTO", usuario, PageRequest.of(0, 10, Sort.by("id")), consulta(), this::buscar);
+        cache.obtener("CERRADO", usuario, primera, consulta(), this::buscar);
+
+        assertEquals(5, consultas.get());
+        assertEquals(1, cacheada.getContent().size());
+        assertEquals(primera, cacheada.getPageable());
+        assertEquals(42, cacheada.getTotalElements());
+    }
+
+    @Test
+    void invalidar_soloAfectaAlEstatusYAlDuenoDelTicket() {
+        UUID dueno = UUID.randomUUID();
+        UUID otro = UUID.randomUUID();
+        PageRequest pagina = PageRequest.of(0, 10);
+        cache.obtener("ABIERTO", dueno, pagina, consulta(), this::buscar);
+        cache.obtener("ABIERTO", null, pagina, consulta(), this::buscar);
+        cache.obtener(null, dueno, pagina, consulta(), this::buscar);
+        cache.obtener(null, null, pagina, consulta(), this::buscar);
+        cache.obtener("CERRADO", dueno, pagina, consulta(), this::buscar);
+        cache.obtener("ABIERTO", otro, pagina, consulta(), this::buscar);
+        cache.obtener(null, otro, pagina, consulta(), this::buscar);
+        consultas.set(0);
+
+        cache.invalidar(dueno, "ABIERTO");
+
+        cache.obtener("ABIERTO", dueno, pagina, consulta(), this::buscar);
+        cache.obtener("ABIERTO", null, pagina, consulta(), this::buscar);
+        cache.obtener(null, dueno, pagina, consulta(), this::buscar);
+        cache.obtener(null, null, pagina, consulta(), this::buscar);
+        assertEquals(4, consultas.get());
+
+        cache.obtener("CERRADO", dueno, pagina, consulta(), this::buscar);
+        cache.obtener("ABIERTO", otro, pagina, consulta(), this::buscar);
+        cache.obtener(null, otro, pagina, consulta(), this::buscar);
+        assertEquals(4, consultas.get());
+    }
+
+    @Test
+    void invalidar_cambioDeEstatusAfectaAAmbos() {
+        UUID dueno = UUID.randomUUID();
+        PageRequest pagina = PageRequest.of(0, 10);
+        cache.obtener("ABIERTO", null, pagina, consulta(), this::buscar);
+        cache.obtener("CERRADO", null, pagina, consulta(), this::buscar);
+        consultas.set(0);
+
+        cache.invalidar(dueno, "ABIERTO", "CERRADO");
+
+        cache.obtener("ABIERTO", null, pagina, consulta(), this::buscar);
+        cache.obtener("CERRADO", null, pagina, consulta(), this::buscar);
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void obtener_completaLaPaginaCacheadaBuscandoSusTicketsDeUnaVez() {
+        Page<TicketDTO> original = cache.obtener(null, null, PageRequest.of(0, 10), consulta(3), this::buscar);
+        List<UUID> ids = original.getContent().stream().map(TicketDTO::getId).toList();
+
+        Page<TicketDTO> cacheada = cache.obtener(null, null, PageRequest.of(0, 10), consulta(3), this::buscar);
+
+        assertEquals(1, consultas.get());
+        assertEquals(original.getContent(), cacheada.getContent());
+        assertEquals(List.of(ids), busquedas);
+    }
+
+    @Test
+    void obtener_siFaltaUnTicketSeVuelveAConsultarLaPagina() {
+        Page<TicketDTO> original = cache.obtener(null, null, PageRequest.of(0, 10), consulta(2), this::buscar);
+        base.remove(original.getContent().get(1).getId());
+
+        Page<TicketDTO> nueva = cache.obtener(null, null, PageRequest.of(0, 10), consulta(2), this::buscar);
+
+        assertEquals(2, consultas.get());
+        assertNotEquals(original.getContent(), nueva.getContent());
+    }
+
+    private Supplier<Page<TicketDTO>> consulta() {
+        return consulta(1);
+    }
+
+    private Supplier<Page<TicketDTO>> consulta(int tamano) {
+        return () -> {
+            consultas.incrementAndGet();
+            List<TicketDTO> contenido = new ArrayList<>();
+            for (int i = 0; i < tamano; i++) {
+                TicketDTO ticket = TicketDTO.builder().id(UUID.randomUUID()).status(TicketDTO.Status.ABIERTO).build();
+                base.put(ticket.getId(), ticket);
+                contenido.add(ticket);
+            }
+            return new PageImpl<>(contenido, PageRequest.of(0, 10), 42);
+        };
+    }
+
+    private Map<UUID, TicketDTO> buscar(Collection<UUID> ids) {
+        busquedas.add(List.copyOf(ids));
+        Map<UUID, TicketDTO> encontrados = new HashMap<>();
+        ids.stream().map(base::get).filter(Objects::nonNull).forEach(t -> encontrados.put(t.getId(), t));
+        return encontrados;
+    }
+}
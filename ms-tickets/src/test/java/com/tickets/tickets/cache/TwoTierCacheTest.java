@@ -0,0 +1,132 @@
+package com.tickets.tickets.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickets.tickets.config.RedisConfig;
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remoto;
+    private CacheInvalidationPublisher invalidaciones;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remoto = spy(new ConcurrentMapCache("ticket"));
+        invalidaciones = mock(CacheInvalidationPublisher.class);
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(100)
+                .recordStats()
+                .build();
+        cache = new TwoTierCache("ticket", remoto, local, invalidaciones);
+    }
+
+    @Test
+    void get_segundaLecturaSeResuelveEnL1() {
+        UUID id = UUID.randomUUID();
+        remoto.put(id, "valor");
+
+        assertEquals("valor", cache.get(id).get());
+        assertEquals("valor", cache.get(id).get());
+
+        verify(remoto, times(1)).get(id);
+        assertEquals(1, cache.getAciertosRemotos());
+        assertEquals(1, cache.getLocal().stats().hitCount());
+    }
+
+    @Test
+    void evict_limpiaAmbosNivelesYNotificaAlResto() {
+        UUID id = UUID.randomUUID();
+        cache.put(id, "valor");
+
+        cache.evict(id);
+
+        assertNull(remoto.get(id));
+        assertNull(cache.getLocal().getIfPresent(id.toString()));
+        verify(invalidaciones, times(2)).publicarEvict("ticket", id.toString());
+    }
+
+    @Test
+    void invalidarLocal_noTocaRedis() {
+        UUID id = UUID.randomUUID();
+        cache.put(id, "valor");
+
+        cache.invalidarLocal(id.toString());
+
+        assertNull(cache.getLocal().getIfPresent(id.toString()));
+        assertNotNull(remoto.get(id));
+    }
+
+    @Test
+    void getConLoader_cargaUnaSolaVezYPueblaL1() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals("cargado", cache.get(id, () -> "cargado"));
+        assertEquals("cargado", cache.get(id, () -> "otro"));
+
+        assertEquals(1, cache.getFallosRemotos());
+        assertNotNull(cache.getLocal().getIfPresent(id.toString()));
+    }
+
+    @Test
+    void put_conL2VersionadoNoPisaUnaVersionPosteriorNiLaDejaEnL1() {
+        TwoTierCache versionada = cacheVersionada();
+        LocalDateTime ahora = LocalDateTime.now();
+        TicketDTO editado = ticket("Editado", ahora);
+        versionada.put(editado.getId(), editado);
+
+        // Lo que guarda CoalescingCache tras una carga que leyó la fila antes de la edición
+        versionada.put(editado.getId(), ticket(editado.getId(), "Leído antes", ahora.minusSeconds(1)));
+
+        assertNull(versionada.getLocal().getIfPresent(editado.getId().toString()));
+        assertEquals("Editado", versionada.get(editado.getId(), TicketDTO.class).getDescripcion());
+    }
+
+    @Test
+    void getConLoader_conL2VersionadoNoGuardaEnL1LoQueSePudoQuedarViejo() {
+        TwoTierCache versionada = cacheVersionada();
+        LocalDateTime ahora = LocalDateTime.now();
+        TicketDTO editado = ticket("Editado", ahora);
+
+        TicketDTO cargado = versionada.get(editado.getId(), () -> {
+            versionada.put(editado.getId(), editado);
+            return ticket(editado.getId(), "Leído antes", ahora.minusSeconds(1));
+        });
+
+        assertEquals("Leído antes", cargado.getDescripcion());
+        assertEquals("Editado", versionada.get(editado.getId(), TicketDTO.class).getDescripcion());
+    }
+
+    private TwoTierCache cacheVersionada() {
+        TicketRedisCache remoto = new RedisFalso().cacheDeTickets(
+                new CacheValueSerializer(RedisConfig.jsonRedisSerializer(), true, 1024), Duration.ofMinutes(30));
+        return new TwoTierCache("ticket", remoto, Caffeine.newBuilder().<String, Cache.ValueWrapper>build(),
+                invalidaciones);
+    }
+
+    private static TicketDTO ticket(String descripcion, LocalDateTime fechaActualizacion) {
+        return ticket(UUID.randomUUID(), descripcion, fechaActualizacion);
+    }
+
+    private static TicketDTO ticket(UUID id, String descripcion, LocalDateTime fechaActualizacion) {
+        return TicketDTO.builder()
+                .id(id)
+                .descripcion(descripcion)
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(fechaActualizacion.minusDays(1))
+                .fechaActualizacion(fechaActualizacion)
+                .status(TicketDTO.Status.ABIERTO)
+                .build();
+    }
+}
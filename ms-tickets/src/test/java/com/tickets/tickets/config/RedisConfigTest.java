@@ -0,0 +1,54 @@
+package com.tickets.tickets.config;
+
+import com.tickets.tickets.cache.TicketCacheWriter;
+import com.tickets.tickets.cache.TicketPageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisConfigTest {
+
+    private final RedisConfig config = new RedisConfig();
+    private final CachePoliticasProperties politicas = new CachePoliticasProperties();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(config, "formatoCache", "binario");
+        ReflectionTestUtils.setField(config, "umbralCompresionCache", 1024);
+    }
+
+    @Test
+    void validarPoliticas_aceptaLasCachesDeLaAplicacionEnAmbosFormatos() {
+        CachePoliticasProperties.Politica ticket = new CachePoliticasProperties.Politica();
+        ticket.setTtl(Duration.ofMinutes(30));
+        ticket.setMaximoLocal(10_000);
+        CachePoliticasProperties.Politica paginas = new CachePoliticasProperties.Politica();
+        paginas.setFormato("json");
+        politicas.getPoliticas().put(TicketCacheWriter.CACHE, ticket);
+        politicas.getPoliticas().put(TicketPageCache.CACHE, paginas);
+
+        assertDoesNotThrow(() -> config.validarPoliticas(politicas));
+    }
+
+    @Test
+    void validarPoliticas_rechazaUnaCacheInexistente() {
+        politicas.getPoliticas().put("tiket", new CachePoliticasProperties.Politica());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> config.validarPoliticas(politicas));
+        assertTrue(error.getMessage().contains("tiket"));
+    }
+
+    @Test
+    void validarPoliticas_rechazaUnFormatoDesconocido() {
+        CachePoliticasProperties.Politica ticket = new CachePoliticasProperties.Politica();
+        ticket.setFormato("protobuf");
+        politicas.getPoliticas().put(TicketCacheWriter.CACHE, ticket);
+
+        assertThrows(IllegalStateException.class, () -> config.validarPoliticas(politicas));
+    }
+}
@@ -0,0 +1,168 @@
+package com.tickets.tickets.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.tickets.dto.ActualizarTicketLoteDTO;
+import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.TicketDTO;
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void crearTickets_variosTramos_creaTodosEnOrden() throws Exception {
+        UUID usuarioId = UUID.randomUUID();
+        List<CrearTicketDTO> tickets = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            tickets.add(new CrearTicketDTO("Ticket masivo " + i, usuarioId));
+        }
+
+        mockMvc.perform(post("/api/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tickets)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total").value(250))
+                .andExpect(jsonPath("$.exitosos").value(250))
+                .andExpect(jsonPath("$.resultados[249].indice").value(249))
+                .andExpect(jsonPath("$.resultados[249].exitoso").value(true));
+
+        assertEquals(250, ticketRepository.findByUsuarioId(usuarioId, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void crearTickets_informaFallosPorTicketSinPerderElResto() throws Exception {
+        UUID usuarioId = UUID.randomUUID();
+        List<CrearTicketDTO> tickets = List.of(
+                new CrearTicketDTO("Válido 1", usuarioId),
+                new CrearTicketDTO(" ", usuarioId),
+                new CrearTicketDTO("Sin usuario", null),
+                new CrearTicketDTO("x".repeat(501), usuarioId),
+                new CrearTicketDTO("Válido 2", usuarioId));
+
+        mockMvc.perform(post("/api/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tickets)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.exitosos").value(2))
+                .andExpect(jsonPath("$.fallidos").value(3))
+                .andExpect(jsonPath("$.resultados[0].exitoso").value(true))
+                .andExpect(jsonPath("$.resultados[1].error").value("descripcion: La descripción no puede estar vacío"))
+                .andExpect(jsonPath("$.resultados[2].error").value("El usuario es obligatorio"))
+                .andExpect(jsonPath("$.resultados[3].error", startsWith("Error al crear el ticket")))
+                .andExpect(jsonPath("$.resultados[4].exitoso").value(true));
+
+        assertEquals(2, ticketRepository.findByUsuarioId(usuarioId, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void actualizarTickets_editaExistentesEInformaInexistentes() throws Exception {
+        LocalDateTime ahora = LocalDateTime.now();
+        TicketEntity existente = ticketRepository.save(TicketEntity.builder()
+                .descripcion("Antes")
+                .usuarioId(UUID.randomUUID())
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .status(TicketEntity.Status.ABIERTO)
+                .build());
+        UUID inexistente = UUID.randomUUID();
+        List<ActualizarTicketLoteDTO> cambios = List.of(
+                new ActualizarTicketLoteDTO(existente.getId(), "Después", TicketDTO.Status.CERRADO),
+                new ActualizarTicketLoteDTO(inexistente, "Nada", TicketDTO.Status.CERRADO),
+                new ActualizarTicketLoteDTO(existente.getId(), "Sin estatus", null));
+
+        mockMvc.perform(put("/api/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cambios)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.exitosos").value(1))
+                .andExpect(jsonPath("$.resultados[0].id").value(existente.getId().toString()))
+                .andExpect(jsonPath("$.resultados[1].error").value("No se encontró el ticket con el ID: " + inexistente))
+                .andExpect(jsonPath("$.resultados[2].error").value("status: El estatus es obligatorio"));
+
+        TicketEntity actualizado = ticketRepository.findById(existente.getId()).orElseThrow();
+        assertEquals("Después", actualizado.getDescripcion());
+        assertEquals(TicketEntity.Status.CERRADO, actualizado.getStatus());
+    }
+
+    @Test
+    void buscarTickets_devuelveLosExistentesEnOrdenYLosDejaEnCache() throws Exception {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(ticketRepository.save(TicketEntity.builder()
+                    .descripcion("Buscado " + i)
+                    .usuarioId(UUID.randomUUID())
+                    .fechaCreacion(ahora)
+                    .fechaActualizacion(ahora)
+                    .status(TicketEntity.Status.ABIERTO)
+                    .build()).getId());
+        }
+        List<UUID> pedidos = List.of(ids.get(2), UUID.randomUUID(), ids.get(0), ids.get(1), ids.get(2));
+
+        for (int vez = 0; vez < 2; vez++) {
+            mockMvc.perform(post("/api/tickets/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(pedidos)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(jsonPath("$[0].descripcion").value("Buscado 2"))
+                    .andExpect(jsonPath("$[1].descripcion").value("Buscado 0"))
+                    .andExpect(jsonPath("$[2].descripcion").value("Buscado 1"));
+        }
+
+        for (UUID id : ids) {
+            assertTrue(Boolean.TRUE.equals(stringRedisTemplate.hasKey("ticket::" + id)));
+        }
+    }
+
+    @Test
+    void buscarTickets_sinIds_devuelve400() throws Exception {
+        mockMvc.perform(post("/api/tickets/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("La lista de ids no puede estar vacía"));
+    }
+
+    @Test
+    void crearTickets_loteVacio_devuelve400() throws Exception {
+        mockMvc.perform(post("/api/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("El lote de tickets no puede estar vacío"));
+    }
+}
@@ -2,8 +2,11 @@ package com.tickets.tickets.controller;
 
 import com.tickets.tickets.dto.ActualizarTicketDTO;
 import com.tickets.tickets.dto.CrearTicketDTO;
+import com.tickets.tickets.dto.PaginaCursorDTO;
+import com.tickets.tickets.dto.TicketConUsuarioDTO;
 import com.tickets.tickets.dto.TicketDTO;
 import com.tickets.tickets.service.TicketServiceInterface;
+import com.tickets.tickets.service.TicketUsuarioServiceInterface;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,7 +17,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,6 +31,9 @@ class TicketControllerTest {
     @Mock
     private TicketServiceInterface ticketService;
 
+    @Mock
+    private TicketUsuarioServiceInterface ticketUsuarioService;
+
     @InjectMocks
     private TicketController ticketController;
 
@@ -88,6 +96,18 @@ class TicketControllerTest {
         verify(ticketService, times(1)).obtenerTicketPorId(id);
     }
 
+    @Test
+    void testBuscarTicketsPorIds() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        TicketDTO ticketDTO = new TicketDTO();
+        ticketDTO.setId(ids.get(1));
+        when(ticketService.buscarTicketsPorIds(ids)).thenReturn(List.of(ticketDTO));
+        ResponseEntity<List<TicketDTO>> response = ticketController.buscarTicketsPorIds(ids);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(ticketDTO), response.getBody());
+        verify(ticketService, times(1)).buscarTicketsPorIds(ids);
+    }
+
     @Test
     void testObtenerTicketsPaginados() {
         Page<TicketDTO> tickets = new PageImpl<>(Collections.emptyList());
@@ -98,13 +118,67 @@ class TicketControllerTest {
         verify(ticketService, times(1)).obtenerTicketsPaginados(any(PageRequest.class));
     }
 
+    @Test
+    void testObtenerTicketsPaginadosConUsuario() {
+        Page<TicketDTO> tickets = new PageImpl<>(Collections.emptyList());
+        Page<TicketConUsuarioDTO> conUsuarios = new PageImpl<>(Collections.emptyList());
+        when(ticketService.obtenerTicketsPaginados(any(PageRequest.class))).thenReturn(tickets);
+        when(ticketUsuarioService.conUsuarios(tickets)).thenReturn(conUsuarios);
+        ResponseEntity<Page<TicketConUsuarioDTO>> response =
+                ticketController.obtenerTicketsPaginadosConUsuario(PageRequest.of(0, 10));
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(conUsuarios, response.getBody());
+        verify(ticketUsuarioService, times(1)).conUsuarios(tickets);
+    }
+
     @Test
     void testFiltrarTickets() {
         Page<TicketDTO> tickets = new PageImpl<>(Collections.emptyList());
         when(ticketService.filtrarTickets(anyString(), any(UUID.class), any(PageRequest.class))).thenReturn(tickets);
-        ResponseEntity<Page<TicketDTO>> response = ticketController.filtrarTickets("ABIERTO", UUID.randomUUID(), PageRequest.of(0, 10));
+        ResponseEntity<Page<TicketDTO>> response = ticketController.filtrarTickets("ABIERTO", UUID.randomUUID(),
+                null, null, null, null, PageRequest.of(0, 10));
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         verify(ticketService, times(1)).filtrarTickets(anyString(), any(UUID.class), any(PageRequest.class));
     }
+
+    @Test
+    void testFiltrarTicketsPorFecha() {
+        LocalDateTime desde = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime hasta = desde.plusDays(1);
+        Page<TicketDTO> tickets = new PageImpl<>(Collections.emptyList());
+        when(ticketService.filtrarTicketsPorFecha(null, null, desde, hasta, PageRequest.of(0, 10))).thenReturn(tickets);
+        ResponseEntity<Page<TicketDTO>> response = ticketController.filtrarTickets(null, null, desde, hasta,
+                null, null, PageRequest.of(0, 10));
+        assertEquals(200, response.getStatusCode().value());
+        verify(ticketService, never()).filtrarTickets(any(), any(), any());
+    }
+
+    @Test
+    void testFiltrarTicketsConRangoIncompletoOCombinadoEsInvalido() {
+        LocalDateTime desde = LocalDateTime.of(2024, 6, 1, 0, 0);
+        PageRequest pagina = PageRequest.of(0, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketController.filtrarTickets(null, null, desde, null, null, null, pagina));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketController.filtrarTickets(null, null, null, desde, null, null, pagina));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketController.filtrarTickets(null, null, desde, desde.plusDays(1), "", null, pagina));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketController.filtrarTickets(null, null, desde, desde.plusDays(1), null, "usuario", pagina));
+        verifyNoInteractions(ticketService);
+    }
+
+    @Test
+    void testObtenerTicketsPorCursor() {
+        PaginaCursorDTO<TicketDTO> pagina = PaginaCursorDTO.<TicketDTO>builder()
+                .content(Collections.emptyList())
+                .haySiguiente(false)
+                .build();
+        when(ticketService.obtenerTicketsPorCursor("", 20)).thenReturn(pagina);
+        ResponseEntity<PaginaCursorDTO<TicketDTO>> response = ticketController.obtenerTicketsPorCursor("", 20);
+        assertEquals(200, response.getStatusCode().value());
+        assertFalse(response.getBody().isHaySiguiente());
+        verify(ticketService, times(1)).obtenerTicketsPorCursor("", 20);
+    }
 }
\ No newline at end of file
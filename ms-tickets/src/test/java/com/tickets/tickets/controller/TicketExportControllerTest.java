@@ -0,0 +1,104 @@
+package com.tickets.tickets.controller;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            ticketRepository.save(TicketEntity.builder()
+                    .descripcion(i == 2 ? "Falla en \"caja\", sucursal 2" : "Ticket exportado " + i)
+                    .usuarioId(usuarioId)
+                    .fechaCreacion(base.plusMinutes(i))
+                    .fechaActualizacion(base.plusMinutes(i))
+                    .status(i == 1 ? TicketEntity.Status.CERRADO : TicketEntity.Status.ABIERTO)
+                    .build());
+        }
+    }
+
+    @Test
+    void exportar_ndjsonFiltradoDelMasRecienteAlMasAntiguo() throws Exception {
+        String cuerpo = exportar("ndjson", "abierto");
+
+        String[] lineas = cuerpo.strip().split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].contains("sucursal 2"));
+        assertTrue(lineas[1].contains("Ticket exportado 0"));
+        assertTrue(lineas[1].contains("\"fechaCreacion\":\"2024-06-01T09:00:00\""));
+    }
+
+    @Test
+    void exportar_csvConCabeceraYCamposEscapados() throws Exception {
+        String cuerpo = exportar("csv", null);
+
+        String[] lineas = cuerpo.split("\r\n");
+        assertEquals(4, lineas.length);
+        assertEquals("id,descripcion,usuarioId,fechaCreacion,fechaActualizacion,status", lineas[0]);
+        assertTrue(lineas[1].contains(",\"Falla en \"\"caja\"\", sucursal 2\"," + usuarioId + ","));
+        assertTrue(lineas[2].endsWith(",CERRADO"));
+    }
+
+    @Test
+    void exportar_estatusInvalido_devuelve400SinIniciarLaExportacion() throws Exception {
+        mockMvc.perform(get("/api/tickets/exportar").param("status", "PENDIENTE"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportar_formatoInvalido_devuelve400() throws Exception {
+        mockMvc.perform(get("/api/tickets/exportar").param("formato", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Formato de exportación inválido: xml"));
+    }
+
+    private String exportar(String formato, String status) throws Exception {
+        var peticion = get("/api/tickets/exportar")
+                .param("usuarioId", usuarioId.toString())
+                .param("formato", formato);
+        if (status != null) {
+            peticion.param("status", status);
+        }
+        MvcResult resultado = mockMvc.perform(peticion)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MediaType esperado = "csv".equals(formato) ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON;
+        return mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(esperado))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tickets." + formato + "\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.tickets.tickets.controller;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketFiltroControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2023, 3, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            ticketRepository.save(TicketEntity.builder()
+                    .descripcion("Ticket del día " + i)
+                    .usuarioId(usuarioId)
+                    .fechaCreacion(base.plusDays(i))
+                    .fechaActualizacion(base.plusDays(i))
+                    .status(TicketEntity.Status.ABIERTO)
+                    .build());
+        }
+    }
+
+    @Test
+    void filtrar_porRangoDeFechas() throws Exception {
+        mockMvc.perform(get("/api/tickets/filtrar")
+                        .param("usuarioId", usuarioId.toString())
+                        .param("desde", "2023-03-01T00:00:00")
+                        .param("hasta", "2023-03-02T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void filtrar_conUnSoloExtremoDelRangoEsInvalido() throws Exception {
+        mockMvc.perform(get("/api/tickets/filtrar").param("desde", "2023-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tickets/filtrar").param("hasta", "2023-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void filtrar_rangoConCursorOExpandEsInvalido() throws Exception {
+        mockMvc.perform(get("/api/tickets/filtrar")
+                        .param("desde", "2023-03-01T00:00:00")
+                        .param("hasta", "2023-03-02T00:00:00")
+                        .param("cursor", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tickets/filtrar")
+                        .param("hasta", "2023-03-02T00:00:00")
+                        .param("expand", "usuario"))
+                .andExpect(status().isBadRequest());
+    }
+}
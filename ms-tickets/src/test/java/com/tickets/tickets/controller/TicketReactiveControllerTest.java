@@ -0,0 +1,111 @@
+package com.tickets.tickets.controller;
+
+import com.tickets.tickets.entity.TicketEntity;
+import com.tickets.tickets.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Los tickets escritos con JPA se leen por la API reactiva (R2DBC sobre la misma base).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TicketReactiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private UUID usuarioId;
+    private TicketEntity masReciente;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 10, 0);
+        for (int i = 0; i < 3; i++) {
+            masReciente = ticketRepository.save(TicketEntity.builder()
+                    .descripcion("Ticket reactivo " + i)
+                    .usuarioId(usuarioId)
+                    .fechaCreacion(base.plusMinutes(i))
+                    .fechaActualizacion(base.plusMinutes(i))
+                    .status(i == 1 ? TicketEntity.Status.CERRADO : TicketEntity.Status.ABIERTO)
+                    .build());
+        }
+    }
+
+    @Test
+    void filtrar_enviaNdjsonDelMasRecienteAlMasAntiguo() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/tickets/reactivo/filtrar")
+                        .param("usuarioId", usuarioId.toString())
+                        .param("status", "abierto")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lineas = cuerpo.strip().split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].contains("Ticket reactivo 2"));
+        assertTrue(lineas[1].contains("Ticket reactivo 0"));
+    }
+
+    @Test
+    void filtrar_paginaConLimiteYDesplazamiento() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/tickets/reactivo/filtrar")
+                        .param("usuarioId", usuarioId.toString())
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(1, cuerpo.strip().split("\n").length);
+        assertTrue(cuerpo.contains("Ticket reactivo 0"));
+    }
+
+    @Test
+    void obtenerPorId_sinRedisLeeDeLaBase() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/tickets/reactivo/{id}", masReciente.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(masReciente.getId().toString()))
+                .andExpect(jsonPath("$.status").value("ABIERTO"));
+    }
+
+    @Test
+    void filtrar_estatusInvalido_devuelve400() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/tickets/reactivo/filtrar").param("status", "PENDIENTE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest());
+    }
+}
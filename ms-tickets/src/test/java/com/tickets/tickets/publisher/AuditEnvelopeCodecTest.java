@@ -0,0 +1,89 @@
+package com.tickets.tickets.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.tickets.dto.AuditEventDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEnvelopeCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static AuditEventDTO evento(String data) {
+        return AuditEventDTO.builder()
+                .timestamp(LocalDateTime.of(2025, 3, 1, 12, 30, 45, 123456789))
+                .servicio("ms-tickets")
+                .accion("crear")
+                .usuario("ana@mail.com")
+                .data(data)
+                .build();
+    }
+
+    @Test
+    void codificar_escribeLaCabeceraSinComprimir() {
+        AuditEventDTO original = evento("{\"descripcion\":\"Impresora sin tóner\"}");
+
+        byte[] sobre = AuditEnvelopeCodec.codificar(original, Integer.MAX_VALUE);
+        ByteBuffer cabecera = ByteBuffer.wrap(sobre);
+
+        assertEquals(AuditEnvelopeCodec.VERSION, cabecera.get());
+        assertEquals(0, cabecera.get() & AuditEnvelopeCodec.FLAG_LZ4);
+        assertEquals(AuditEnvelopeCodec.ESQUEMA_EVENTO, cabecera.getShort());
+        assertEquals(sobre.length - AuditEnvelopeCodec.CABECERA, cabecera.getInt());
+    }
+
+    @Test
+    void codificar_comprimeCuerposGrandes() {
+        AuditEventDTO original = evento("{\"descripcion\":\"" + "repetido ".repeat(200) + "\"}");
+        original.setUsuario(null);
+        original.setTimestamp(null);
+
+        byte[] sobre = AuditEnvelopeCodec.codificar(original, 512);
+
+        assertEquals(AuditEnvelopeCodec.FLAG_LZ4, sobre[1] & AuditEnvelopeCodec.FLAG_LZ4);
+        assertTrue(sobre.length < original.getData().length() / 4);
+    }
+
+    @Test
+    void codificar_ocupaMenosQueElJsonDobleCodificado() throws Exception {
+        AuditEventDTO original = evento("{\"id\":null,\"descripcion\":\"No funciona la VPN\",\"usuarioId\":\"8d7e0c1e-3f55-4b8e-9a43-2f1c2a1b9e77\"}");
+
+        int json = objectMapper.writeValueAsBytes(original).length;
+        int binario = AuditEnvelopeCodec.codificar(original, 512).length;
+
+        assertTrue(binario < json * 0.75, "binario=" + binario + " json=" + json);
+    }
+
+    @Test
+    void converter_usaJsonCuandoSeConfiguraComoAlternativa() {
+        AuditEventMessageConverter json = new AuditEventMessageConverter(false, 512, objectMapper);
+        AuditEventDTO original = evento("{}");
+
+        Message mensaje = json.toMessage(original, new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, mensaje.getMessageProperties().getContentType());
+        assertTrue(new String(mensaje.getBody()).contains("\"timestamp\":\"2025-03-01T12:30:45.123456789\""));
+        assertEquals(original, json.fromMessage(mensaje));
+    }
+
+    @Test
+    void converter_enviaElIdDelEventoComoMessageId() {
+        AuditEventDTO original = evento("{}");
+        original.setEventoId(UUID.randomUUID());
+
+        Message mensaje = new AuditEventMessageConverter(true, 512, objectMapper).toMessage(original, new MessageProperties());
+
+        assertEquals(original.getEventoId().toString(), mensaje.getMessageProperties().getMessageId());
+    }
+}
@@ -0,0 +1,161 @@
+package com.tickets.tickets.publisher;
+
+import com.tickets.tickets.dto.AuditEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditEventPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operaciones = mock(RabbitOperations.class);
+    private AuditEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void brokerDisponible() {
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operaciones));
+    }
+
+    private AuditEventPublisher crear(int capacidad, OverflowPolicy politica, AuditSpillFile volcado) {
+        return new AuditEventPublisher(rabbitTemplate, new AuditRingBuffer<>(capacidad), politica,
+                10, Duration.ofMillis(20), Duration.ofSeconds(1), Duration.ofMillis(10), volcado);
+    }
+
+    private static AuditEventDTO evento(String accion) {
+        return AuditEventDTO.builder().accion(accion).servicio("ms-tickets").build();
+    }
+
+    @Test
+    void publish_enviaEnLotesConConfirmacion() throws Exception {
+        brokerDisponible();
+        publisher = crear(64, OverflowPolicy.DESCARTAR_ANTIGUO, null);
+        publisher.start();
+
+        for (int i = 0; i < 25; i++) {
+            publisher.publish(evento("accion-" + i));
+        }
+
+        esperarHasta(() -> publisher.getPublicados() == 25);
+        verify(operaciones, times(25)).convertAndSend(eq("logs.auditoria"), any(AuditEventDTO.class));
+        verify(operaciones, atMost(25)).waitForConfirmsOrDie(1000L);
+        verify(operaciones, atLeast(3)).waitForConfirmsOrDie(1000L);
+    }
+
+    @Test
+    void publish_descartaElMasAntiguoSiElBufferEstaLleno() {
+        publisher = crear(4, OverflowPolicy.DESCARTAR_ANTIGUO, null);
+
+        for (int i = 0; i < 6; i++) {
+            publisher.publish(evento("accion-" + i));
+        }
+
+        assertEquals(4, publisher.getPendientes());
+        assertEquals(2, publisher.getDescartados());
+    }
+
+    @Test
+    void publish_bloqueaUnTiempoAcotadoYLuegoDescarta() {
+        publisher = crear(2, OverflowPolicy.BLOQUEAR, null);
+        publisher.publish(evento("a"));
+        publisher.publish(evento("b"));
+
+        publisher.publish(evento("c"));
+
+        assertEquals(2, publisher.getPendientes());
+        assertEquals(1, publisher.getDescartados());
+    }
+
+    @Test
+    void publish_vuelcaADiscoYReenviaCuandoHayBroker(@TempDir Path dir) throws Exception {
+        Path archivo = dir.resolve("auditoria.ndjson");
+        publisher = crear(2, OverflowPolicy.VOLCAR_A_DISCO, new AuditSpillFile(archivo));
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(evento("accion-" + i));
+        }
+        assertEquals(3, publisher.getVolcados());
+        assertEquals(3, Files.readAllLines(archivo).size());
+
+        brokerDisponible();
+        publisher.start();
+
+        esperarHasta(() -> publisher.getPublicados() == 5);
+        esperarHasta(() -> !Files.exists(archivo) && !Files.exists(dir.resolve("auditoria.ndjson.reenvio")));
+    }
+
+    @Test
+    void stop_vuelcaElLotePendienteSiElBrokerNoResponde(@TempDir Path dir) throws Exception {
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenThrow(new AmqpException("sin broker"));
+        Path archivo = dir.resolve("auditoria.ndjson");
+        publisher = crear(16, OverflowPolicy.VOLCAR_A_DISCO, new AuditSpillFile(archivo));
+        publisher.start();
+        publisher.publish(evento("a"));
+        publisher.publish(evento("b"));
+        esperarHasta(() -> publisher.getFallosEnvio() > 0);
+
+        publisher.stop();
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(2, lineas.size());
+        assertTrue(lineas.get(0).contains("\"accion\":\"a\""));
+        assertEquals(0, publisher.getDescartados());
+    }
+
+    @Test
+    void getPhase_seDetieneDespuesDelServidorWeb() {
+        publisher = crear(4, OverflowPolicy.DESCARTAR_ANTIGUO, null);
+
+        assertTrue(publisher.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024,
+                "debe pararse en una fase menor que la del servidor web");
+    }
+
+    @Test
+    void bindTo_publicaContadoresYTiempoDeLote() throws Exception {
+        brokerDisponible();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        publisher = crear(2, OverflowPolicy.DESCARTAR_ANTIGUO, null);
+        publisher.bindTo(registry);
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(evento("accion-" + i));
+        }
+        publisher.start();
+
+        esperarHasta(() -> publisher.getPublicados() == 2);
+        assertEquals(2, registry.get("auditoria.eventos").tag("resultado", "publicado").functionCounter().count());
+        assertEquals(1, registry.get("auditoria.eventos").tag("resultado", "descartado").functionCounter().count());
+        assertEquals(0, registry.get("auditoria.pendientes").gauge().value());
+        assertEquals(1, registry.get("auditoria.lote").timer().count());
+    }
+
+    private static void esperarHasta(java.util.function.BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!condicion.getAsBoolean()) {
+            if (System.currentTimeMillis() > limite) {
+                fail("La condición no se cumplió a tiempo");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tickets.tickets.publisher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacidad_seRedondeaAPotenciaDeDos() {
+        assertEquals(8, new AuditRingBuffer<String>(5).capacidad());
+        assertEquals(8, new AuditRingBuffer<String>(8).capacidad());
+    }
+
+    @Test
+    void offer_devuelveFalseCuandoEstaLleno() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+
+        List<Integer> destino = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(destino, 10));
+        assertEquals(List.of(1, 2, 3, 4), destino);
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void variosProductoresYConsumidores_entreganCadaElementoUnaSolaVez() throws Exception {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(256);
+        int productores = 4;
+        int porProductor = 10_000;
+        int total = productores * porProductor;
+        Set<Integer> recibidos = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicados = new AtomicInteger();
+        CountDownLatch fin = new CountDownLatch(total);
+
+        ExecutorService executor = Executors.newFixedThreadPool(productores + 2);
+        for (int p = 0; p < productores; p++) {
+            int base = p * porProductor;
+            executor.submit(() -> {
+                for (int i = 0; i < porProductor; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            executor.submit(() -> {
+                while (fin.getCount() > 0) {
+                    Integer valor = buffer.poll();
+                    if (valor == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    if (!recibidos.add(valor)) {
+                        duplicados.incrementAndGet();
+                    }
+                    fin.countDown();
+                }
+            });
+        }
+
+        assertTrue(fin.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        assertEquals(total, recibidos.size());
+        assertEquals(0, duplicados.get());
+    }
+}
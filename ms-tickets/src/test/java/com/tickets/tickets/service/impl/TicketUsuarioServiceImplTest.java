@@ -0,0 +1,105 @@
+package com.tickets.tickets.service.impl;
+
+import com.tickets.tickets.client.UsuariosClient;
+import com.tickets.tickets.dto.TicketConUsuarioDTO;
+import com.tickets.tickets.dto.TicketDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TicketUsuarioServiceImplTest {
+
+    private final UUID maria = UUID.randomUUID();
+    private final UUID pedro = UUID.randomUUID();
+    private final UUID borrado = UUID.randomUUID();
+    private MockRestServiceServer servidor;
+    private TicketUsuarioServiceImpl servicio;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://ms-users");
+        servidor = MockRestServiceServer.bindTo(builder).build();
+        servicio = new TicketUsuarioServiceImpl(new UsuariosClient(builder.build()));
+        ReflectionTestUtils.setField(servicio, "maxIdsPorLlamada", 1000);
+    }
+
+    @Test
+    void conUsuarios_unaLlamadaPorPaginaConLosUsuariosDistintos() {
+        servidor.expect(requestTo("http://ms-users/api/usuarios/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[\"" + maria + "\",\"" + pedro + "\",\"" + borrado + "\"]", JsonCompareMode.STRICT))
+                .andRespond(withSuccess("[{\"id\":\"" + maria + "\",\"nombres\":\"María\"},"
+                        + "{\"id\":\"" + pedro + "\",\"nombres\":\"Pedro\"}]", MediaType.APPLICATION_JSON));
+
+        Page<TicketConUsuarioDTO> pagina = servicio.conUsuarios(pagina(maria, pedro, maria, borrado));
+
+        servidor.verify();
+        assertEquals("María", pagina.getContent().get(0).getUsuario().getNombres());
+        assertEquals("Pedro", pagina.getContent().get(1).getUsuario().getNombres());
+        assertEquals("María", pagina.getContent().get(2).getUsuario().getNombres());
+        assertNull(pagina.getContent().get(3).getUsuario());
+        assertEquals(40, pagina.getTotalElements());
+    }
+
+    @Test
+    void conUsuarios_masIdsQueElLimiteDeMsUsers_losPideEnTandas() {
+        ReflectionTestUtils.setField(servicio, "maxIdsPorLlamada", 2);
+        servidor.expect(requestTo("http://ms-users/api/usuarios/batch"))
+                .andExpect(content().json("[\"" + maria + "\",\"" + pedro + "\"]", JsonCompareMode.STRICT))
+                .andRespond(withSuccess("[{\"id\":\"" + maria + "\",\"nombres\":\"María\"},"
+                        + "{\"id\":\"" + pedro + "\",\"nombres\":\"Pedro\"}]", MediaType.APPLICATION_JSON));
+        servidor.expect(requestTo("http://ms-users/api/usuarios/batch"))
+                .andExpect(content().json("[\"" + borrado + "\"]", JsonCompareMode.STRICT))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        Page<TicketConUsuarioDTO> pagina = servicio.conUsuarios(pagina(maria, pedro, maria, borrado));
+
+        servidor.verify();
+        assertEquals("María", pagina.getContent().get(2).getUsuario().getNombres());
+        assertEquals("Pedro", pagina.getContent().get(1).getUsuario().getNombres());
+        assertNull(pagina.getContent().get(3).getUsuario());
+    }
+
+    @Test
+    void conUsuarios_siMsUsersFallaDevuelveLaPaginaSinUsuarios() {
+        servidor.expect(requestTo("http://ms-users/api/usuarios/batch")).andRespond(withServerError());
+
+        Page<TicketConUsuarioDTO> pagina = servicio.conUsuarios(pagina(maria, pedro));
+
+        assertEquals(2, pagina.getNumberOfElements());
+        assertTrue(pagina.getContent().stream().allMatch(ticket -> ticket.getUsuario() == null));
+        assertEquals(maria, pagina.getContent().get(0).getTicket().getUsuarioId());
+    }
+
+    @Test
+    void conUsuarios_paginaVacia_noLlamaAMsUsers() {
+        Page<TicketConUsuarioDTO> pagina = servicio.conUsuarios(Page.empty());
+
+        servidor.verify();
+        assertTrue(pagina.isEmpty());
+    }
+
+    private static Page<TicketDTO> pagina(UUID... usuarios) {
+        List<TicketDTO> tickets = Arrays.stream(usuarios)
+                .map(usuario -> TicketDTO.builder().id(UUID.randomUUID()).usuarioId(usuario).build())
+                .toList();
+        return new PageImpl<>(tickets, PageRequest.of(0, 10), 40);
+    }
+}
@@ -0,0 +1,41 @@
+package com.tickets.tickets.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    void codificarYDecodificar_conservaLasClaves() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime fecha = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000);
+        Map<String, Object> claves = new LinkedHashMap<>();
+        claves.put("fechaCreacion", fecha);
+        claves.put("id", id);
+
+        String cursor = CursorCodec.codificar(ScrollPosition.forward(claves));
+        KeysetScrollPosition posicion = CursorCodec.decodificar(cursor);
+
+        assertEquals(fecha, posicion.getKeys().get("fechaCreacion"));
+        assertEquals(id, posicion.getKeys().get("id"));
+    }
+
+    @Test
+    void decodificar_cursorVacio_devuelvePrimeraPagina() {
+        assertTrue(CursorCodec.decodificar("").isInitial());
+        assertTrue(CursorCodec.decodificar(null).isInitial());
+    }
+
+    @Test
+    void decodificar_cursorInvalido_lanzaIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decodificar("no-es-un-cursor"));
+    }
+}
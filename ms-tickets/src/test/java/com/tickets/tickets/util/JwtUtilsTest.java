@@ -0,0 +1,65 @@
+package com.tickets.tickets.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRETO = "secreto-de-pruebas-con-al-menos-32-bytes";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRETO, 100, Duration.ofMinutes(10));
+
+    @Test
+    void extractEmail_conYSinPrefijoBearer() {
+        String token = firmar(SECRETO, "ana@tickets.com", new Date(System.currentTimeMillis() + 60_000));
+
+        assertEquals("ana@tickets.com", jwtUtils.extractEmail("Bearer " + token));
+        assertEquals("ana@tickets.com", jwtUtils.extractEmail("Bearer " + token));
+        assertEquals("ana@tickets.com", jwtUtils.extractEmail(token));
+    }
+
+    @Test
+    void extractEmail_firmaInvalida_devuelveAnonimo() {
+        String token = firmar("otro-secreto-distinto-con-al-menos-32-bytes", "ana@tickets.com",
+                new Date(System.currentTimeMillis() + 60_000));
+
+        assertEquals(JwtUtils.ANONIMO, jwtUtils.extractEmail("Bearer " + token));
+        assertEquals(JwtUtils.ANONIMO, jwtUtils.extractEmail("Bearer no-es-un-jwt"));
+    }
+
+    @Test
+    void extractEmail_laCacheNoSobreviveALaExpiracionDelToken() throws InterruptedException {
+        Date expiracion = new Date(System.currentTimeMillis() + 2_000);
+        String token = "Bearer " + firmar(SECRETO, "ana@tickets.com", expiracion);
+
+        assertEquals("ana@tickets.com", jwtUtils.extractEmail(token));
+
+        // exp tiene resolución de segundos: esperar hasta pasado el segundo siguiente.
+        Thread.sleep(expiracion.getTime() - System.currentTimeMillis() + 1_100);
+        assertEquals(JwtUtils.ANONIMO, jwtUtils.extractEmail(token));
+    }
+
+    @Test
+    void extractEmail_sinCache_verificaCadaVez() {
+        JwtUtils sinCache = new JwtUtils(SECRETO, 0, Duration.ofMinutes(10));
+        String token = firmar(SECRETO, "ana@tickets.com", new Date(System.currentTimeMillis() + 60_000));
+
+        assertEquals("ana@tickets.com", sinCache.extractEmail("Bearer " + token));
+    }
+
+    private static String firmar(String secreto, String sujeto, Date expiracion) {
+        return Jwts.builder()
+                .setSubject(sujeto)
+                .setIssuedAt(new Date())
+                .setExpiration(expiracion)
+                .signWith(Keys.hmacShaKeyFor(secreto.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,76 @@
+package com.tickets.tickets.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generar_marcaVersionYVarianteConElTiempoActual() {
+        long antes = System.currentTimeMillis();
+        UUID uuid = UuidV7.generar();
+        long despues = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        // Si el contador se agota el tiempo puede adelantarse un milisegundo
+        assertTrue(UuidV7.timestamp(uuid) >= antes && UuidV7.timestamp(uuid) <= despues + 1);
+    }
+
+    @Test
+    void generar_esEstrictamenteCrecienteEnOrdenDeBytes() {
+        // El texto en hexadecimal de ancho fijo ordena igual que los bytes (como la clave primaria)
+        String anterior = UuidV7.generar().toString();
+        for (int i = 0; i < 200_000; i++) {
+            String actual = UuidV7.generar().toString();
+            assertTrue(actual.compareTo(anterior) > 0, anterior + " >= " + actual);
+            anterior = actual;
+        }
+    }
+
+    @Test
+    void generar_desdeVariosHilos_noRepiteYCadaHiloVeValoresCrecientes() throws Exception {
+        int hilos = 4;
+        int porHilo = 50_000;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Callable<List<String>>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(() -> {
+                    List<String> generados = new ArrayList<>(porHilo);
+                    for (int i = 0; i < porHilo; i++) {
+                        generados.add(UuidV7.generar().toString());
+                    }
+                    return generados;
+                });
+            }
+            Set<String> todos = new HashSet<>();
+            for (Future<List<String>> resultado : ejecutor.invokeAll(tareas)) {
+                List<String> generados = resultado.get();
+                for (int i = 1; i < generados.size(); i++) {
+                    assertTrue(generados.get(i).compareTo(generados.get(i - 1)) > 0);
+                }
+                todos.addAll(generados);
+            }
+            assertEquals(hilos * porHilo, todos.size());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void timestamp_rechazaOtrasVersiones() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}
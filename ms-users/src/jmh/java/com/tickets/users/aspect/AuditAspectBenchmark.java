@@ -0,0 +1,55 @@
+package com.tickets.users.aspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tickets.users.annotation.AuditEvent;
+import com.tickets.users.dto.AuditEventDTO;
+import com.tickets.users.dto.CrearUsuarioDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción del evento de auditoría en el hilo de la petición, con el enmascarado de la contraseña.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditAspectBenchmark {
+
+    private AuditAspect aspect;
+    private AuditEvent anotacion;
+    private CrearUsuarioDTO argumento;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        aspect = new AuditAspect(null, null);
+        anotacion = AuditAspectBenchmark.class.getDeclaredMethod("auditado").getAnnotation(AuditEvent.class);
+        argumento = CrearUsuarioDTO.builder()
+                .nombres("Ana María")
+                .apellidos("Pérez Gómez")
+                .email("ana.perez@tickets.com")
+                .password("secreto123")
+                .build();
+    }
+
+    @Benchmark
+    public AuditEventDTO construirEvento() throws JsonProcessingException {
+        return aspect.construirEvento(anotacion, argumento, "admin@tickets.com");
+    }
+
+    @AuditEvent(accion = "CREAR_USUARIO", servicio = "ms-users")
+    void auditado() {
+    }
+}
@@ -0,0 +1,67 @@
+package com.tickets.users.config;
+
+import com.tickets.users.cache.CacheValueSerializer;
+import com.tickets.users.dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida y vuelta de un {@link UserDTO} con el serializador de la cache de usuarios en Redis, en JSON (el formato
+ * anterior) y en binario. El tamaño lo acota {@code CacheValueSerializerTest}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "binario"})
+    private String formato;
+
+    private CacheValueSerializer serializer;
+    private UserDTO usuario;
+    private byte[] serializado;
+
+    @Setup
+    public void preparar() {
+        serializer = new CacheValueSerializer(new GenericJackson2JsonRedisSerializer(), "binario".equals(formato), 1024);
+        usuario = UserDTO.builder()
+                .id(UUID.randomUUID())
+                .nombres("Ana María")
+                .apellidos("Pérez Gómez")
+                .email("ana.perez@tickets.com")
+                .rol("USER")
+                .build();
+        serializado = serializer.serialize(usuario);
+    }
+
+    @Benchmark
+    public byte[] serializar() {
+        return serializer.serialize(usuario);
+    }
+
+    @Benchmark
+    public Object deserializar() {
+        return serializer.deserialize(serializado);
+    }
+
+    @Benchmark
+    public Object idaYVuelta() {
+        return serializer.deserialize(serializer.serialize(usuario));
+    }
+}
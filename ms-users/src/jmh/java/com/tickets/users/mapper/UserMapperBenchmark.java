@@ -0,0 +1,49 @@
+package com.tickets.users.mapper;
+
+import com.tickets.users.dto.UserDTO;
+import com.tickets.users.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private UserEntity entity;
+
+    @Setup
+    public void preparar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        entity = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .nombres("Ana María")
+                .apellidos("Pérez Gómez")
+                .email("ana.perez@tickets.com")
+                .passwordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoO5pE6P6v1lYJ5Qy6w1Gk3lH5v0F4pQ3W")
+                .rol("USER")
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .build();
+    }
+
+    @Benchmark
+    public UserDTO toDTO() {
+        return UserMapper.toDTO(entity);
+    }
+}
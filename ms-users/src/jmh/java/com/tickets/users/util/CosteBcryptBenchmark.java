@@ -0,0 +1,47 @@
+package com.tickets.users.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Tiempo de un hash y de una verificación por coste, para elegir {@code usuarios.password.coste}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CosteBcryptBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int coste;
+
+    private CosteBcryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new CosteBcryptPasswordEncoder(coste);
+        hash = encoder.encode("Secreta123");
+    }
+
+    @Benchmark
+    public String codificar() {
+        return encoder.encode("Secreta123");
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches("Secreta123", hash);
+    }
+}
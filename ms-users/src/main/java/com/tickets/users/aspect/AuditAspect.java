@@ -1,12 +1,15 @@
 package com.tickets.users.aspect;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.tickets.users.annotation.AuditEvent;
 import com.tickets.users.dto.AuditEventDTO;
 import com.tickets.users.publisher.AuditEventPublisher;
 import com.tickets.users.util.JwtUtils;
+import com.tickets.users.util.UuidV7;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,8 +38,11 @@ public class AuditAspect {
     public void enviarEventoAuditoria(JoinPoint joinPoint, Object result) {
 
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        HttpServletRequest request = attributes.getRequest();
-        String token = request.getHeader("Authorization");
+        String token = null;
+        if (attributes != null) {
+            HttpServletRequest request = attributes.getRequest();
+            token = request.getHeader("Authorization");
+        }
         String userToken = (token != null) ? jwtUtils.extractEmail(token) : "No_Auntenticado";
 
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
@@ -44,30 +50,31 @@ public class AuditAspect {
 
         Object[] args = joinPoint.getArgs();
         try {
-            String dataBefore = mapper.writeValueAsString(args[0]);
-            JsonNode jsonData = mapper.readTree(dataBefore);
-
-            ObjectNode auditNode;
-            if (jsonData instanceof ObjectNode) {
-                auditNode = (ObjectNode) jsonData;
-            } else {
-                auditNode = mapper.createObjectNode();
-                auditNode.put("valor", jsonData.asText());
-            }
-            auditNode.put("password", "OCULTO");
-
-            String data = mapper.writeValueAsString(auditNode);
-            AuditEventDTO evento = AuditEventDTO.builder()
-                    .timestamp(String.valueOf(LocalDateTime.now()))
-                    .accion(annotation.accion())
-                    .servicio(annotation.servicio())
-                    .usuario(userToken)
-                    .data(data)
-                    .build();
-
-            publisher.publish(evento);
+            publisher.publish(construirEvento(annotation, args[0], userToken));
         } catch (Exception e) {
             log.error("Error generando evento de auditoría", e);
         }
     }
+
+    AuditEventDTO construirEvento(AuditEvent annotation, Object argumento, String usuario) throws JsonProcessingException {
+        JsonNode jsonData = argumento != null ? mapper.valueToTree(argumento) : NullNode.getInstance();
+
+        ObjectNode auditNode;
+        if (jsonData instanceof ObjectNode) {
+            auditNode = (ObjectNode) jsonData;
+        } else {
+            auditNode = mapper.createObjectNode();
+            auditNode.put("valor", jsonData.asText());
+        }
+        auditNode.put("password", "OCULTO");
+
+        return AuditEventDTO.builder()
+                .eventoId(UuidV7.generar())
+                .timestamp(LocalDateTime.now())
+                .accion(annotation.accion())
+                .servicio(annotation.servicio())
+                .usuario(usuario)
+                .data(mapper.writeValueAsString(auditNode))
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.tickets.users.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Spring Boot solo instrumenta las caches que reconoce ({@code cache.gets}, {@code cache.puts}...), y
+ * {@link CoalescingCache} oculta la {@link RedisCache} que envuelve: se publican sus estadísticas con
+ * las etiquetas de Boot.
+ */
+public class CacheEnvueltaMeterBinderProvider implements CacheMeterBinderProvider<CoalescingCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(CoalescingCache cache, Iterable<Tag> tags) {
+        return cache.getDelegado() instanceof RedisCache redis ? new RedisCacheMetrics(redis, tags) : null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.UserDTO;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Serializador de los valores de las caches de usuarios en Redis. Los tipos conocidos se guardan en binario
+ * con un sobre versionado como el de {@link com.tickets.users.publisher.AuditEnvelopeCodec}:
+ * <pre>
+ * byte   versión ({@link #VERSION}; ningún JSON empieza por un byte de control)
+ * byte   flags (bit 0: cuerpo comprimido con LZ4)
+ * short  esquema del cuerpo
+ * int    longitud del cuerpo sin comprimir
+ * bytes  cuerpo (comprimido o no)
+ * </pre>
+ * Esquemas:
+ * <ul>
+ *   <li>{@link #ESQUEMA_USUARIO}, un {@link UserDTO}: un byte con los campos presentes (bit 0 id), el id en
+ *   16 bytes y nombres, apellidos, email y rol en UTF-8 con prefijo varint (0 = null, n = n-1 bytes).</li>
+ *   <li>{@link #ESQUEMA_JSON}: cualquier otro valor, como el JSON de {@link GenericJackson2JsonRedisSerializer}.</li>
+ * </ul>
+ * Cambiar la forma de un esquema exige un número de esquema nuevo. Un nodo que lee una versión o un esquema
+ * que no conoce, o una entrada corrupta, lo trata como un fallo de cache y lo reescribe en su formato, y las
+ * entradas JSON anteriores al sobre se siguen leyendo. Con {@code binario = false} se escribe JSON como antes,
+ * para desplegar primero los lectores y después activar el binario.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION = 1;
+    static final short ESQUEMA_JSON = 0;
+    static final short ESQUEMA_USUARIO = 1;
+    static final byte FLAG_LZ4 = 0x01;
+    static final int CABECERA = 8;
+    /** Cota de la longitud declarada, para no reservar lo que diga una entrada corrupta. */
+    static final int MAXIMO_CUERPO = 16 * 1024 * 1024;
+
+    private static final int CON_ID = 1;
+
+    private static final LZ4Compressor COMPRESOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor DESCOMPRESOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final GenericJackson2JsonRedisSerializer json;
+    private final boolean binario;
+    private final int umbralCompresion;
+
+    /**
+     * @param umbralCompresion tamaño del cuerpo a partir del cual se prueba LZ4; solo se guarda comprimido si reduce
+     */
+    public CacheValueSerializer(GenericJackson2JsonRedisSerializer json, boolean binario, int umbralCompresion) {
+        this.json = json;
+        this.binario = binario;
+        this.umbralCompresion = umbralCompresion;
+    }
+
+    @Override
+    public byte[] serialize(Object valor) {
+        if (valor == null || !binario) {
+            return json.serialize(valor);
+        }
+        if (valor instanceof UserDTO usuario) {
+            byte[] nombres = bytes(usuario.getNombres());
+            byte[] apellidos = bytes(usuario.getApellidos());
+            byte[] email = bytes(usuario.getEmail());
+            byte[] rol = bytes(usuario.getRol());
+            int longitud = 1 + (usuario.getId() != null ? 16 : 0)
+                    + tamanoCampo(nombres) + tamanoCampo(apellidos) + tamanoCampo(email) + tamanoCampo(rol);
+            ByteBuffer cuerpo = ByteBuffer.allocate(CABECERA + longitud);
+            cuerpo.position(CABECERA);
+            cuerpo.put((byte) (usuario.getId() != null ? CON_ID : 0));
+            if (usuario.getId() != null) {
+                cuerpo.putLong(usuario.getId().getMostSignificantBits())
+                        .putLong(usuario.getId().getLeastSignificantBits());
+            }
+            escribirCampo(cuerpo, nombres);
+            escribirCampo(cuerpo, apellidos);
+            escribirCampo(cuerpo, email);
+            escribirCampo(cuerpo, rol);
+            return sobre(cuerpo.array(), ESQUEMA_USUARIO);
+        }
+        byte[] texto = json.serialize(valor);
+        byte[] plano = new byte[CABECERA + texto.length];
+        System.arraycopy(texto, 0, plano, CABECERA, texto.length);
+        return sobre(plano, ESQUEMA_JSON);
+    }
+
+    @Override
+    public Object deserialize(byte[] datos) {
+        if (datos == null || datos.length == 0) {
+            return null;
+        }
+        if (!esSobre(datos)) {
+            return json.deserialize(datos);
+        }
+        if (datos.length < CABECERA) {
+            log.warn("Valor de cache truncado ({} bytes); se trata como fallo", datos.length);
+            return null;
+        }
+        ByteBuffer entrada = ByteBuffer.wrap(datos);
+        byte version = entrada.get();
+        byte flags = entrada.get();
+        short esquema = entrada.getShort();
+        int longitudCuerpo = entrada.getInt();
+        if (version != VERSION || esquema < ESQUEMA_JSON || esquema > ESQUEMA_USUARIO) {
+            log.debug("Valor de cache en un formato desconocido (versión {}, esquema {}); se trata como fallo",
+                    version, esquema);
+            return null;
+        }
+        try {
+            if (longitudCuerpo < 0 || longitudCuerpo > MAXIMO_CUERPO) {
+                throw new IllegalArgumentException("Longitud de cuerpo fuera de rango: " + longitudCuerpo);
+            }
+            ByteBuffer cuerpo = entrada.slice();
+            if ((flags & FLAG_LZ4) != 0) {
+                byte[] plano = new byte[longitudCuerpo];
+                int leidos = DESCOMPRESOR.decompress(datos, CABECERA, datos.length - CABECERA, plano, 0, longitudCuerpo);
+                if (leidos != longitudCuerpo) {
+                    throw new IllegalArgumentException("Cuerpo de " + leidos + " bytes, se esperaban " + longitudCuerpo);
+                }
+                cuerpo = ByteBuffer.wrap(plano);
+            } else if (cuerpo.remaining() != longitudCuerpo) {
+                throw new IllegalArgumentException("Cuerpo de " + cuerpo.remaining() + " bytes, se esperaban " + longitudCuerpo);
+            }
+            if (esquema == ESQUEMA_JSON) {
+                return json.deserialize(Arrays.copyOfRange(cuerpo.array(),
+                        cuerpo.arrayOffset(), cuerpo.arrayOffset() + longitudCuerpo));
+            }
+            int presentes = cuerpo.get();
+            UserDTO usuario = new UserDTO();
+            if ((presentes & CON_ID) != 0) {
+                usuario.setId(new UUID(cuerpo.getLong(), cuerpo.getLong()));
+            }
+            usuario.setNombres(leerCampo(cuerpo));
+            usuario.setApellidos(leerCampo(cuerpo));
+            usuario.setEmail(leerCampo(cuerpo));
+            usuario.setRol(leerCampo(cuerpo));
+            return usuario;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | LZ4Exception | SerializationException e) {
+            log.warn("Valor de cache ilegible (esquema {}); se trata como fallo: {}", esquema, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Los valores JSON empiezan por un carácter imprimible o un espacio; el sobre, por la versión. */
+    static boolean esSobre(byte[] datos) {
+        return datos[0] > 0 && datos[0] < '\t';
+    }
+
+    /** Completa la cabecera del cuerpo que empieza en {@link #CABECERA} y lo comprime si compensa. */
+    private byte[] sobre(byte[] plano, short esquema) {
+        int longitudCuerpo = plano.length - CABECERA;
+        if (longitudCuerpo >= umbralCompresion) {
+            byte[] comprimido = new byte[CABECERA + COMPRESOR.maxCompressedLength(longitudCuerpo)];
+            int longitudComprimida = COMPRESOR.compress(plano, CABECERA, longitudCuerpo, comprimido, CABECERA);
+            if (longitudComprimida < longitudCuerpo) {
+                escribirCabecera(comprimido, FLAG_LZ4, esquema, longitudCuerpo);
+                return Arrays.copyOf(comprimido, CABECERA + longitudComprimida);
+            }
+        }
+        escribirCabecera(plano, (byte) 0, esquema, longitudCuerpo);
+        return plano;
+    }
+
+    private static void escribirCabecera(byte[] destino, byte flags, short esquema, int longitudCuerpo) {
+        ByteBuffer.wrap(destino, 0, CABECERA)
+                .put(VERSION)
+                .put(flags)
+                .putShort(esquema)
+                .putInt(longitudCuerpo);
+    }
+
+    private static int tamanoCampo(byte[] campo) {
+        int longitud = campo == null ? 0 : campo.length;
+        return tamanoVarint(longitud + 1) + longitud;
+    }
+
+    private static void escribirCampo(ByteBuffer destino, byte[] campo) {
+        if (campo == null) {
+            escribirVarint(destino, 0);
+            return;
+        }
+        escribirVarint(destino, campo.length + 1);
+        destino.put(campo);
+    }
+
+    private static String leerCampo(ByteBuffer origen) {
+        int longitud = leerVarint(origen) - 1;
+        if (longitud < 0) {
+            return null;
+        }
+        if (longitud > origen.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String valor = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud, StandardCharsets.UTF_8);
+        origen.position(origen.position() + longitud);
+        return valor;
+    }
+
+    private static int tamanoVarint(int valor) {
+        int tamano = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    private static void escribirVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int leerVarint(ByteBuffer origen) {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = origen.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint mal formado en valor de cache");
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package com.tickets.users.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Antepone {@link CoalescingCache} a las caches indicadas de otro {@link CacheManager}; el resto se devuelven tal cual.
+ */
+public class CoalescingCacheManager implements CacheManager, MeterBinder {
+
+    private final CacheManager delegado;
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> cachesCoalescidas;
+    private final Duration bloqueo;
+    private final double beta;
+    private final long tamanoMaximo;
+
+    private final ConcurrentMap<String, CoalescingCache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheManager(CacheManager delegado,
+                                  StringRedisTemplate redisTemplate,
+                                  Set<String> cachesCoalescidas,
+                                  Duration bloqueo,
+                                  double beta,
+                                  long tamanoMaximo) {
+        this.delegado = delegado;
+        this.redisTemplate = redisTemplate;
+        this.cachesCoalescidas = Set.copyOf(cachesCoalescidas);
+        this.bloqueo = bloqueo;
+        this.beta = beta;
+        this.tamanoMaximo = tamanoMaximo;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!cachesCoalescidas.contains(name)) {
+            return delegado.getCache(name);
+        }
+        return caches.computeIfAbsent(name, nombre -> {
+            Cache cache = delegado.getCache(nombre);
+            return cache != null ? new CoalescingCache(cache, redisTemplate, bloqueo, beta, tamanoMaximo) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegado.getCacheNames();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cachesCoalescidas.forEach(this::getCache);
+        caches.forEach((nombre, cache) -> {
+            FunctionCounter.builder("cache.cargas", cache, CoalescingCache::getCargas)
+                    .tags("cache", nombre, "tipo", "carga")
+                    .description("Cargas desde la base de datos y fallos resueltos por la carga de otro hilo o nodo")
+                    .register(registry);
+            FunctionCounter.builder("cache.cargas", cache, CoalescingCache::getEsperas)
+                    .tags("cache", nombre, "tipo", "espera")
+                    .register(registry);
+            FunctionCounter.builder("cache.cargas", cache, CoalescingCache::getRefrescosAnticipados)
+                    .tags("cache", nombre, "tipo", "refresco-anticipado")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.AuthUserDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de credenciales para el login del gateway (id, hash y rol por email), aparte de las caches de
+ * {@code @Cacheable}: una búsqueda es un {@code HGET} y un acierto no toca la base ni abre transacción.
+ * <p>
+ * Las entradas ({@link CredencialesCodec}) se reparten por email en {@code cubetas} hashes de Redis, que con
+ * pocos campos cada uno usan la codificación compacta (listpack). Redis solo caduca claves completas, así que
+ * cada entrada lleva su propia expiración y cada cubeta un TTL fijo desde su creación que acota lo que
+ * queda de entradas caducadas. También se recuerdan un tiempo corto los emails desconocidos.
+ * <p>
+ * Invalidar no borra la entrada: deja una marca que dura {@code ttlInvalidacion} y que el guardado no pisa.
+ * Así un login que leyó de la base el hash anterior a un cambio de contraseña no lo vuelve a dejar en cache
+ * después de la invalidación; mientras dura la marca los logins de ese email van a la base.
+ * <p>
+ * Si Redis falla se sigue contra la base de datos.
+ */
+@Slf4j
+public class CredencialesCache {
+
+    static final String PREFIJO = "usuarios:credenciales:";
+
+    /** HSET y, solo si la cubeta aún no tiene TTL, EXPIRE: el TTL cuenta desde que se creó. */
+    private static final String HSET_CON_TTL = "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) "
+            + "if redis.call('ttl', KEYS[1]) < 0 then redis.call('expire', KEYS[1], ARGV[3]) end "
+            + "return 1";
+
+    /** Escribe la marca de invalidación, pise lo que pise. */
+    private static final RedisScript<Long> MARCAR = RedisScript.of(HSET_CON_TTL, Long.class);
+
+    /**
+     * Como {@link #MARCAR}, pero si el campo es una marca de invalidación que no ha caducado (ARGV[4]: ahora,
+     * en segundos desde epoch) no escribe y devuelve 0. La expiración va en los bytes 2 a 5 de la entrada.
+     */
+    private static final RedisScript<Long> GUARDAR = RedisScript.of(
+            "local actual = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if actual and string.len(actual) >= 5 and string.byte(actual, 1) == "
+                    + CredencialesCodec.TIPO_INVALIDADA + " then "
+                    + "local b1, b2, b3, b4 = string.byte(actual, 2, 5) "
+                    + "if ((b1 * 256 + b2) * 256 + b3) * 256 + b4 > tonumber(ARGV[4]) then return 0 end "
+                    + "end "
+                    + HSET_CON_TTL,
+            Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final int cubetas;
+    private final Duration ttl;
+    private final Duration ttlDesconocido;
+    private final Duration ttlInvalidacion;
+    private final Clock reloj;
+
+    public CredencialesCache(RedisTemplate<String, byte[]> redisTemplate, int cubetas, Duration ttl,
+                             Duration ttlDesconocido, Duration ttlInvalidacion, Clock reloj) {
+        this.redisTemplate = redisTemplate;
+        this.cubetas = cubetas;
+        this.ttl = ttl;
+        this.ttlDesconocido = ttlDesconocido;
+        this.ttlInvalidacion = ttlInvalidacion;
+        this.reloj = reloj;
+    }
+
+    /** Entrada vigente del email, o null si no hay (o Redis no responde). */
+    public CredencialesCodec.Entrada obtener(String email) {
+        byte[] datos;
+        try {
+            datos = redisTemplate.<String, byte[]>opsForHash().get(cubeta(email), email);
+        } catch (RuntimeException e) {
+            log.warn("Cache de credenciales no disponible, se consulta la base: {}", e.getMessage());
+            return null;
+        }
+        CredencialesCodec.Entrada entrada = CredencialesCodec.decodificar(email, datos);
+        return entrada != null && entrada.vigente(ahora()) ? entrada : null;
+    }
+
+    public void guardar(AuthUserDTO usuario) {
+        escribir(GUARDAR, usuario.getEmail(), CredencialesCodec.codificar(usuario, ahora() + ttl.toSeconds()));
+    }
+
+    public void guardarDesconocido(String email) {
+        escribir(GUARDAR, email, CredencialesCodec.codificarDesconocido(ahora() + ttlDesconocido.toSeconds()));
+    }
+
+    /**
+     * Invalida los emails tras el commit (o en el momento, sin transacción): al crear un usuario su entrada
+     * de desconocido y al editarlo las de su email anterior y nuevo.
+     */
+    public void invalidarTrasCommit(String... emails) {
+        Set<String> distintos = Arrays.stream(emails).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(distintos);
+                }
+            });
+        } else {
+            invalidar(distintos);
+        }
+    }
+
+    private void invalidar(Set<String> emails) {
+        byte[] marca = CredencialesCodec.codificarInvalidada(ahora() + ttlInvalidacion.toSeconds());
+        for (String email : emails) {
+            try {
+                ejecutar(MARCAR, email, marca);
+            } catch (RuntimeException e) {
+                log.error("No se pudo invalidar la credencial de {}; caducará por TTL: {}", email, e.getMessage());
+            }
+        }
+    }
+
+    private void escribir(RedisScript<Long> script, String email, byte[] entrada) {
+        try {
+            ejecutar(script, email, entrada);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo guardar la credencial de {} en cache: {}", email, e.getMessage());
+        }
+    }
+
+    private void ejecutar(RedisScript<Long> script, String email, byte[] entrada) {
+        redisTemplate.execute(script, List.of(cubeta(email)),
+                email.getBytes(StandardCharsets.UTF_8), entrada,
+                Long.toString(ttl.toSeconds()).getBytes(StandardCharsets.US_ASCII),
+                Long.toString(ahora()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    String cubeta(String email) {
+        return PREFIJO + Math.floorMod(email.hashCode(), cubetas);
+    }
+
+    private long ahora() {
+        return reloj.instant().getEpochSecond();
+    }
+}
@@ -0,0 +1,218 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.AuthUserDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Formato binario de una entrada de {@link CredencialesCache}; el email no viaja porque es el campo del hash:
+ * <pre>
+ * byte   tipo (1 = usuario con hash en texto, 2 = email desconocido, 3 = usuario con hash BCrypt compactado,
+ *        4 = marca de invalidación)
+ * int    expiración en segundos desde epoch
+ * -- tipos 1 y 3 --
+ * long   id (bits altos)
+ * long   id (bits bajos)
+ * byte   rol: 0 = null, 1 = USER, 2 = ADMIN, 255 = le sigue un byte de longitud y el rol en UTF-8
+ * -- tipo 1 --
+ * bytes  hash de la contraseña (ASCII) hasta el final
+ * -- tipo 3 --
+ * byte   variante ('a', 'b' o 'y')
+ * byte   coste
+ * bytes  sal (16) y hash (23), decodificados de la base64 de BCrypt
+ * </pre>
+ * Un usuario con hash BCrypt ocupa 63 bytes, por debajo de los 64 de {@code hash-max-listpack-value}
+ * (y {@code hash-max-ziplist-value}), así que la cubeta se mantiene en la codificación compacta de Redis.
+ */
+public final class CredencialesCodec {
+
+    static final byte TIPO_USUARIO = 1;
+    static final byte TIPO_DESCONOCIDO = 2;
+    static final byte TIPO_USUARIO_BCRYPT = 3;
+    static final byte TIPO_INVALIDADA = 4;
+    static final int CABECERA = 5;
+
+    private static final List<String> ROLES = List.of("USER", "ADMIN");
+    private static final int ROL_NULL = 0;
+    private static final int ROL_LITERAL = 0xFF;
+
+    private static final Pattern BCRYPT = Pattern.compile("\\$2([aby])\\$(\\d\\d)\\$([./A-Za-z0-9]{22})([./A-Za-z0-9]{31})");
+    private static final String ALFABETO_BCRYPT = "./ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int BYTES_SAL = 16;
+    private static final int BYTES_HASH = 23;
+
+    private CredencialesCodec() {
+    }
+
+    public static byte[] codificar(AuthUserDTO usuario, long expiraEpochSegundos) {
+        byte[] rol = rol(usuario.getRol());
+        byte[] bcrypt = compactarBcrypt(usuario.getPasswordHash());
+        byte[] hash = bcrypt != null ? bcrypt : usuario.getPasswordHash().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(CABECERA + 16 + rol.length + hash.length);
+        buffer.put(bcrypt != null ? TIPO_USUARIO_BCRYPT : TIPO_USUARIO);
+        buffer.putInt((int) expiraEpochSegundos);
+        buffer.putLong(usuario.getId().getMostSignificantBits());
+        buffer.putLong(usuario.getId().getLeastSignificantBits());
+        buffer.put(rol);
+        buffer.put(hash);
+        return buffer.array();
+    }
+
+    public static byte[] codificarDesconocido(long expiraEpochSegundos) {
+        return ByteBuffer.allocate(CABECERA)
+                .put(TIPO_DESCONOCIDO)
+                .putInt((int) expiraEpochSegundos)
+                .array();
+    }
+
+    /** Marca que deja una invalidación para que no se vuelva a guardar lo leído antes de ella. */
+    public static byte[] codificarInvalidada(long expiraEpochSegundos) {
+        return ByteBuffer.allocate(CABECERA)
+                .put(TIPO_INVALIDADA)
+                .putInt((int) expiraEpochSegundos)
+                .array();
+    }
+
+    /**
+     * Devuelve null si la entrada es una marca de invalidación o no tiene un formato conocido; quien llama
+     * la trata como un fallo.
+     */
+    public static Entrada decodificar(String email, byte[] datos) {
+        if (datos == null || datos.length < CABECERA) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(datos);
+        byte tipo = buffer.get();
+        long expira = Integer.toUnsignedLong(buffer.getInt());
+        if (tipo == TIPO_DESCONOCIDO) {
+            return new Entrada(null, expira);
+        }
+        if ((tipo != TIPO_USUARIO && tipo != TIPO_USUARIO_BCRYPT) || buffer.remaining() < 17) {
+            return null;
+        }
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        int codigoRol = Byte.toUnsignedInt(buffer.get());
+        String rol;
+        if (codigoRol == ROL_NULL) {
+            rol = null;
+        } else if (codigoRol == ROL_LITERAL) {
+            int longitud = buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;
+            if (longitud < 0 || buffer.remaining() < longitud) {
+                return null;
+            }
+            rol = new String(datos, buffer.position(), longitud, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + longitud);
+        } else if (codigoRol <= ROLES.size()) {
+            rol = ROLES.get(codigoRol - 1);
+        } else {
+            return null;
+        }
+        String hash;
+        if (tipo == TIPO_USUARIO) {
+            hash = new String(datos, buffer.position(), buffer.remaining(), StandardCharsets.US_ASCII);
+        } else if (buffer.remaining() == 2 + BYTES_SAL + BYTES_HASH) {
+            hash = expandirBcrypt(buffer);
+        } else {
+            return null;
+        }
+        return new Entrada(new AuthUserDTO(id, email, hash, rol), expira);
+    }
+
+    private static byte[] rol(String rol) {
+        if (rol == null) {
+            return new byte[]{ROL_NULL};
+        }
+        int indice = ROLES.indexOf(rol);
+        if (indice >= 0) {
+            return new byte[]{(byte) (indice + 1)};
+        }
+        byte[] utf8 = rol.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFF) {
+            throw new IllegalArgumentException("Rol demasiado largo para la cache de credenciales: " + rol);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + utf8.length);
+        buffer.put((byte) ROL_LITERAL).put((byte) utf8.length).put(utf8);
+        return buffer.array();
+    }
+
+    /** Null si no es un hash BCrypt o no vuelve a dar el mismo texto (bits de relleno distintos de cero). */
+    private static byte[] compactarBcrypt(String hash) {
+        Matcher partes = BCRYPT.matcher(hash);
+        if (!partes.matches()) {
+            return null;
+        }
+        byte[] sal = decodificarBase64(partes.group(3), BYTES_SAL);
+        byte[] resumen = decodificarBase64(partes.group(4), BYTES_HASH);
+        ByteBuffer buffer = ByteBuffer.allocate(2 + BYTES_SAL + BYTES_HASH)
+                .put((byte) partes.group(1).charAt(0))
+                .put((byte) Integer.parseInt(partes.group(2)))
+                .put(sal)
+                .put(resumen);
+        buffer.flip();
+        return hash.equals(expandirBcrypt(buffer.duplicate())) ? buffer.array() : null;
+    }
+
+    private static String expandirBcrypt(ByteBuffer buffer) {
+        char variante = (char) buffer.get();
+        int coste = buffer.get();
+        byte[] sal = new byte[BYTES_SAL];
+        byte[] resumen = new byte[BYTES_HASH];
+        buffer.get(sal).get(resumen);
+        return "$2" + variante + "$" + (coste < 10 ? "0" : "") + coste + "$"
+                + codificarBase64(sal) + codificarBase64(resumen);
+    }
+
+    /** Base64 de BCrypt: otro alfabeto, sin relleno y con los bits sobrantes del último carácter a cero. */
+    private static byte[] decodificarBase64(String texto, int bytes) {
+        byte[] salida = new byte[bytes];
+        int acumulado = 0;
+        int bits = 0;
+        int escritos = 0;
+        for (int i = 0; i < texto.length() && escritos < bytes; i++) {
+            acumulado = (acumulado << 6) | ALFABETO_BCRYPT.indexOf(texto.charAt(i));
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                salida[escritos++] = (byte) (acumulado >> bits);
+            }
+        }
+        return salida;
+    }
+
+    private static String codificarBase64(byte[] datos) {
+        StringBuilder texto = new StringBuilder((datos.length * 8 + 5) / 6);
+        int acumulado = 0;
+        int bits = 0;
+        for (byte dato : datos) {
+            acumulado = (acumulado << 8) | (dato & 0xFF);
+            bits += 8;
+            while (bits >= 6) {
+                bits -= 6;
+                texto.append(ALFABETO_BCRYPT.charAt((acumulado >> bits) & 0x3F));
+            }
+        }
+        if (bits > 0) {
+            texto.append(ALFABETO_BCRYPT.charAt((acumulado << (6 - bits)) & 0x3F));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * @param usuario null si la entrada recuerda que el email no existe
+     */
+    public record Entrada(AuthUserDTO usuario, long expiraEpochSegundos) {
+
+        public boolean desconocido() {
+            return usuario == null;
+        }
+
+        public boolean vigente(long ahoraEpochSegundos) {
+            return ahoraEpochSegundos < expiraEpochSegundos;
+        }
+    }
+}
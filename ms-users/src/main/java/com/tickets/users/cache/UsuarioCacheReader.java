@@ -0,0 +1,132 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.UserDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Lectura por lotes de la cache {@value #CACHE}, con las mismas claves y serialización que
+ * {@code @Cacheable}: un solo {@code MGET} a Redis, una sola carga de la base para lo que falte y la
+ * escritura de lo cargado en un pipeline de {@code SET NX} con el TTL de la cache, para no pisar una entrada
+ * guardada entretanto. Si Redis falla se lee todo de la base y no se guarda nada.
+ */
+@Slf4j
+public class UsuarioCacheReader {
+
+    public static final String CACHE = "usuario";
+
+    private final RedisCache remoto;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @param usuarios la cache de usuarios del gestor: envuelta en {@link CoalescingCache} o directamente la de Redis
+     */
+    public UsuarioCacheReader(Cache usuarios, StringRedisTemplate redisTemplate) {
+        this.remoto = (RedisCache) (usuarios instanceof CoalescingCache envuelta ? envuelta.getDelegado() : usuarios);
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Usuarios con los ids dados, en el orden recibido y sin repetir; los que no existen no aparecen.
+     *
+     * @param cargar usuarios de la base por id, para los que no están en cache; se llama una vez como mucho
+     */
+    public Map<UUID, UserDTO> obtener(Collection<UUID> ids, Function<Collection<UUID>, List<UserDTO>> cargar) {
+        Set<UUID> pendientes = new LinkedHashSet<>(ids);
+        Map<UUID, UserDTO> encontrados = new LinkedHashMap<>();
+
+        boolean redisDisponible = true;
+        try {
+            leerRemoto(pendientes, encontrados);
+        } catch (RuntimeException e) {
+            redisDisponible = false;
+            log.warn("Cache de usuarios no disponible, se leen {} de la base: {}", pendientes.size(), e.getMessage());
+        }
+
+        if (!pendientes.isEmpty()) {
+            List<UserDTO> cargados = cargar.apply(pendientes);
+            cargados.forEach(usuario -> encontrados.put(usuario.getId(), usuario));
+            if (redisDisponible && !cargados.isEmpty()) {
+                guardar(cargados);
+            }
+        }
+
+        Map<UUID, UserDTO> ordenados = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            UserDTO usuario = encontrados.get(id);
+            if (usuario != null) {
+                ordenados.put(id, usuario);
+            }
+        }
+        return ordenados;
+    }
+
+    private void leerRemoto(Set<UUID> pendientes, Map<UUID, UserDTO> encontrados) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        List<UUID> orden = new ArrayList<>(pendientes);
+        byte[][] claves = orden.stream().map(this::clave).toArray(byte[][]::new);
+        List<byte[]> valores = redisTemplate.execute((RedisCallback<List<byte[]>>) conexion ->
+                conexion.stringCommands().mGet(claves));
+        if (valores == null) {
+            return;
+        }
+        RedisCacheConfiguration configuracion = remoto.getCacheConfiguration();
+        for (int i = 0; i < orden.size(); i++) {
+            byte[] valor = valores.get(i);
+            if (valor != null && configuracion.getValueSerializationPair().read(ByteBuffer.wrap(valor))
+                    instanceof UserDTO usuario) {
+                encontrados.put(orden.get(i), usuario);
+                pendientes.remove(orden.get(i));
+            }
+        }
+    }
+
+    /** Si falla, las entradas se vuelven a cargar en la próxima lectura. */
+    private void guardar(List<UserDTO> cargados) {
+        RedisCacheConfiguration configuracion = remoto.getCacheConfiguration();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) conexion -> {
+                for (UserDTO usuario : cargados) {
+                    ByteBuffer valor = configuracion.getValueSerializationPair().write(usuario);
+                    byte[] datos = new byte[valor.remaining()];
+                    valor.get(datos);
+                    conexion.stringCommands().set(clave(usuario.getId()), datos,
+                            expiracion(configuracion.getTtlFunction().getTimeToLive(usuario.getId(), usuario)),
+                            RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron guardar {} usuarios en cache: {}", cargados.size(), e.getMessage());
+        }
+    }
+
+    private byte[] clave(UUID id) {
+        return redisTemplate.getStringSerializer().serialize(
+                remoto.getCacheConfiguration().getKeyPrefixFor(remoto.getName()) + id);
+    }
+
+    private static Expiration expiracion(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+    }
+}
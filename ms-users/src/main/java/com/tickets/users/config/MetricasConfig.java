@@ -0,0 +1,27 @@
+package com.tickets.users.config;
+
+import com.tickets.users.cache.CacheEnvueltaMeterBinderProvider;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita {@code @Timed}: cada método de los servicios anotados publica un timer {@code usuarios.servicio}
+ * con etiquetas {@code class}, {@code method} y {@code exception}. El histograma de buckets se activa
+ * en {@code management.metrics.distribution}.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /** Estadísticas de Redis ({@code enableStatistics}) también para las caches envueltas. */
+    @Bean
+    public CacheEnvueltaMeterBinderProvider cacheEnvueltaMeterBinderProvider() {
+        return new CacheEnvueltaMeterBinderProvider();
+    }
+}
@@ -1,16 +1,59 @@
 package com.tickets.users.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.users.publisher.AuditEventMessageConverter;
+import com.tickets.users.publisher.AuditEventPublisher;
+import com.tickets.users.publisher.AuditRingBuffer;
+import com.tickets.users.publisher.AuditSpillFile;
+import com.tickets.users.publisher.OverflowPolicy;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
 
 @Configuration
 public class RabbitConfig {
 
     public static final String AUDIT_QUEUE = "logs.auditoria";
 
+    @Value("${auditoria.publisher.capacidad:8192}")
+    private int capacidadBuffer;
+
+    @Value("${auditoria.publisher.tamano-lote:100}")
+    private int tamanoLote;
+
+    @Value("${auditoria.publisher.espera-maxima-lote:50ms}")
+    private Duration esperaMaximaLote;
+
+    @Value("${auditoria.publisher.timeout-confirmacion:5s}")
+    private Duration timeoutConfirmacion;
+
+    @Value("${auditoria.publisher.desbordamiento:DESCARTAR_ANTIGUO}")
+    private OverflowPolicy politicaDesbordamiento;
+
+    @Value("${auditoria.publisher.bloqueo-maximo:100ms}")
+    private Duration bloqueoMaximo;
+
+    @Value("${auditoria.publisher.formato:binario}")
+    private String formato;
+
+    @Value("${auditoria.publisher.umbral-compresion:512}")
+    private int umbralCompresion;
+
+    @Value("${auditoria.publisher.archivo-volcado:${java.io.tmpdir}/ms-users-auditoria.ndjson}")
+    private String archivoVolcado;
+
     @Bean
     public Queue auditQueue() {
         return new Queue(AUDIT_QUEUE, true);
@@ -18,6 +61,25 @@ public class RabbitConfig {
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory factory) {
-        return new RabbitTemplate(factory);
+        RabbitTemplate template = new RabbitTemplate(factory);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        template.setMessageConverter(new AuditEventMessageConverter(
+                !"json".equalsIgnoreCase(formato), umbralCompresion, objectMapper));
+        return template;
+    }
+
+    @Bean
+    public AuditEventPublisher auditEventPublisher(RabbitTemplate rabbitTemplate, Environment environment) {
+        AuditSpillFile volcado = politicaDesbordamiento == OverflowPolicy.VOLCAR_A_DISCO
+                ? new AuditSpillFile(Path.of(archivoVolcado))
+                : null;
+        ThreadFactory fabricaHilos = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("audit-").getVirtualThreadFactory()
+                : null;
+        return new AuditEventPublisher(rabbitTemplate, new AuditRingBuffer<>(capacidadBuffer),
+                politicaDesbordamiento, tamanoLote, esperaMaximaLote, timeoutConfirmacion, bloqueoMaximo, volcado,
+                fabricaHilos);
     }
 }
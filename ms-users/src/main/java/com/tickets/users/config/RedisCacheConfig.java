@@ -1,45 +1,106 @@
 package com.tickets.users.config;
 
-import org.springframework.cache.CacheManager;
+import com.tickets.users.cache.CacheValueSerializer;
+import com.tickets.users.cache.CoalescingCacheManager;
+import com.tickets.users.cache.CredencialesCache;
+import com.tickets.users.cache.CredencialesCodec;
+import com.tickets.users.cache.UsuarioCacheReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.*;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.*;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
 public class RedisCacheConfig {
 
+    @Value("${usuarios.cache.formato:binario}")
+    private String formatoCache;
+
+    @Value("${usuarios.cache.umbral-compresion:1024}")
+    private int umbralCompresionCache;
+
+    @Value("${usuarios.cache.carga-unica.caches:usuario}")
+    private Set<String> cachesCoalescidas;
+
+    @Value("${usuarios.cache.carga-unica.bloqueo:2s}")
+    private Duration bloqueoCarga;
+
+    @Value("${usuarios.cache.refresco-anticipado.beta:1.0}")
+    private double betaRefresco;
+
+    @Value("${usuarios.credenciales.cubetas:1024}")
+    private int cubetasCredenciales;
+
+    @Value("${usuarios.credenciales.ttl:30m}")
+    private Duration ttlCredenciales;
+
+    @Value("${usuarios.credenciales.ttl-desconocido:30s}")
+    private Duration ttlCredencialesDesconocidas;
+
+    @Value("${usuarios.credenciales.ttl-invalidacion:10s}")
+    private Duration ttlInvalidacionCredenciales;
+
+    /** Carga única y refresco anticipado delante de Redis para los {@code @Cacheable(sync = true)}. */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisSerializer<Object> valueSerializer = new GenericJackson2JsonRedisSerializer();
+    public CoalescingCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                               StringRedisTemplate stringRedisTemplate) {
+        RedisSerializer<Object> valueSerializer = new CacheValueSerializer(new GenericJackson2JsonRedisSerializer(),
+                !"json".equalsIgnoreCase(formatoCache), umbralCompresionCache);
         RedisSerializationContext.SerializationPair<Object> pair = RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer);
 
         Map<String, RedisCacheConfiguration> configs = new HashMap<>();
 
-        configs.put("usuario", RedisCacheConfiguration.defaultCacheConfig()
+        configs.put(UsuarioCacheReader.CACHE, RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(pair)
                 .entryTtl(Duration.ofMinutes(30)));
 
-        configs.put("usuario_email", RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(pair)
-                .entryTtl(Duration.ofMinutes(5)));
-
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(pair)
                 .entryTtl(Duration.ofMinutes(10));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(configs)
+                .enableStatistics()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new CoalescingCacheManager(redisCacheManager, stringRedisTemplate, cachesCoalescidas,
+                bloqueoCarga, betaRefresco, 10_000);
+    }
+
+    /** Lecturas por lotes de la cache de usuarios ({@code POST /api/usuarios/batch}). */
+    @Bean
+    public UsuarioCacheReader usuarioCacheReader(CoalescingCacheManager cacheManager,
+                                                 StringRedisTemplate stringRedisTemplate) {
+        return new UsuarioCacheReader(cacheManager.getCache(UsuarioCacheReader.CACHE), stringRedisTemplate);
+    }
+
+    /** Credenciales del login en hashes de Redis con valores binarios ({@link CredencialesCodec}). */
+    @Bean
+    public CredencialesCache credencialesCache(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return new CredencialesCache(template, cubetasCredenciales, ttlCredenciales,
+                ttlCredencialesDesconocidas, ttlInvalidacionCredenciales, Clock.systemUTC());
     }
 
     @Bean
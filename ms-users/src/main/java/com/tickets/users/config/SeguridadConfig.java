@@ -1,15 +1,82 @@
 package com.tickets.users.config;
 
+import com.tickets.users.util.CosteBcryptPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
 @Configuration
 public class SeguridadConfig {
 
+    @Value("${usuarios.password.coste:10}")
+    private int coste;
+
+    @Value("${usuarios.password.tiempo-objetivo:0ms}")
+    private Duration tiempoObjetivo;
+
+    @Value("${usuarios.password.hilos:0}")
+    private int hilosHash;
+
+    @Value("${usuarios.password.cola:64}")
+    private int colaHash;
+
+    /** Con {@code tiempo-objetivo} el coste se calibra al arrancar en lugar de tomar {@code coste}. */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public CosteBcryptPasswordEncoder passwordEncoder() {
+        if (tiempoObjetivo.isZero()) {
+            return new CosteBcryptPasswordEncoder(coste);
+        }
+        long inicio = System.nanoTime();
+        int calibrado = CosteBcryptPasswordEncoder.calibrar(tiempoObjetivo);
+        log.info("Coste BCrypt calibrado a {} para un objetivo de {} ms (calibración: {} ms)",
+                calibrado, tiempoObjetivo.toMillis(), (System.nanoTime() - inicio) / 1_000_000);
+        return new CosteBcryptPasswordEncoder(calibrado);
+    }
+
+    /**
+     * Pool acotado para el trabajo con BCrypt (altas y rehash), fuera de los hilos de Tomcat: un hilo por
+     * núcleo, porque el hash es CPU pura, y una cola corta; si se llena se rechaza (503) en vez de acumular
+     * esperas. Spring Boot publica su ocupación como {@code executor.*{name=hashContrasenasExecutor}}.
+     * Las tareas ven los atributos de la petición que las lanzó (la auditoría lee de ahí el token).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor hashContrasenasExecutor(MeterRegistry registry) {
+        int hilos = hilosHash > 0 ? hilosHash : Runtime.getRuntime().availableProcessors();
+        Counter rechazos = Counter.builder("hash.contrasenas.rechazos")
+                .description("Tareas de hash rechazadas por cola llena")
+                .register(registry);
+        ThreadPoolExecutor.AbortPolicy abortar = new ThreadPoolExecutor.AbortPolicy();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("hash-");
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(colaHash);
+        executor.setRejectedExecutionHandler((tarea, pool) -> {
+            rechazos.increment();
+            abortar.rejectedExecution(tarea, pool);
+        });
+        executor.setTaskDecorator(tarea -> {
+            RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+            return () -> {
+                RequestContextHolder.setRequestAttributes(atributos);
+                try {
+                    tarea.run();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        });
+        return executor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.tickets.users.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Escucha con JFR los eventos {@code jdk.VirtualThreadPinned}: un hilo virtual que se bloquea dentro de un
+ * {@code synchronized} (p. ej. en el driver JDBC/H2 o en el cliente de RabbitMQ) no libera su hilo portador.
+ * Los eventos se agrupan por el primer marco fuera del JDK (el código que tenía el monitor); cada ubicación
+ * nueva se registra en WARN con su pila y las repeticiones solo se cuentan.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int MARCOS_EN_LOG = 16;
+
+    private final Duration umbral;
+    private final Map<String, LongAdder> porUbicacion = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration umbral) {
+        this.umbral = umbral;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream nuevo = new RecordingStream();
+        nuevo.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        nuevo.onEvent(EVENTO, this::registrar);
+        nuevo.startAsync();
+        stream = nuevo;
+        log.info("Monitor de hilos virtuales fijados activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    void registrar(RecordedEvent evento) {
+        total.increment();
+        List<String> marcos = marcos(evento.getStackTrace());
+        String ubicacion = marcos.stream()
+                .filter(m -> !m.startsWith("java.") && !m.startsWith("jdk.") && !m.startsWith("sun."))
+                .findFirst()
+                .orElse(marcos.isEmpty() ? "desconocida" : marcos.get(0));
+        LongAdder contador = porUbicacion.computeIfAbsent(ubicacion, u -> new LongAdder());
+        contador.increment();
+        if (contador.sum() == 1) {
+            log.warn("Hilo virtual fijado a su portador {} ms en {}:\n\tat {}", evento.getDuration().toMillis(),
+                    ubicacion, String.join("\n\tat ", marcos));
+        } else {
+            log.debug("Hilo virtual fijado {} ms en {}", evento.getDuration().toMillis(), ubicacion);
+        }
+    }
+
+    private static List<String> marcos(RecordedStackTrace pila) {
+        if (pila == null) {
+            return List.of();
+        }
+        return pila.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(MARCOS_EN_LOG)
+                .map(m -> m.getMethod().getType().getName() + "." + m.getMethod().getName() + ":" + m.getLineNumber())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream actual = stream;
+        stream = null;
+        if (actual != null) {
+            actual.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /** Eventos por ubicación, para localizar los {@code synchronized} que más fijan. */
+    public Map<String, Long> getPorUbicacion() {
+        return porUbicacion.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+}
@@ -3,7 +3,9 @@ package com.tickets.users.controller;
 import com.tickets.users.dto.ActualizarUsuarioDTO;
 import com.tickets.users.dto.AuthUserDTO;
 import com.tickets.users.dto.CrearUsuarioDTO;
+import com.tickets.users.dto.RehashDTO;
 import com.tickets.users.dto.UserDTO;
+import com.tickets.users.service.CredencialesService;
 import com.tickets.users.service.UserService;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,7 +21,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -28,11 +33,14 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final CredencialesService credencialesService;
+    /** Las altas y los rehash (BCrypt) corren en este pool acotado y no ocupan hilos de Tomcat mientras tanto. */
+    private final Executor hashContrasenasExecutor;
 
     @Hidden
     @GetMapping("/email/{email}")
     public ResponseEntity<AuthUserDTO> obtenerPorEmail(@PathVariable String email) {
-        return ResponseEntity.ok(userService.buscarPorEmail(email));
+        return ResponseEntity.ok(credencialesService.buscarPorEmail(email));
     }
 
     @GetMapping
@@ -44,14 +52,33 @@ public class UserController {
         return ResponseEntity.ok(userService.obtenerTodos(pageable));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Obtener varios usuarios por ID",
+            description = "Devuelve los usuarios existentes en el orden recibido; los IDs inexistentes se omiten.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usuarios encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado grande")})
+    public ResponseEntity<List<UserDTO>> obtenerUsuariosPorIds(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(userService.obtenerPorIds(ids));
+    }
+
     @PostMapping
     @Operation(summary = "Crear un nuevo usuario")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Registro creado exitosamente"),
             @ApiResponse(responseCode = "400", description = "Solicitud inválida")})
-    public ResponseEntity<UserDTO> crearUsuario(@Valid @RequestBody CrearUsuarioDTO dto) {
-        UserDTO creado = userService.crearUsuario(dto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(creado);
+    public CompletableFuture<ResponseEntity<UserDTO>> crearUsuario(@Valid @RequestBody CrearUsuarioDTO dto) {
+        return CompletableFuture.supplyAsync(() -> userService.crearUsuario(dto), hashContrasenasExecutor)
+                .thenApply(creado -> ResponseEntity.status(HttpStatus.CREATED).body(creado));
+    }
+
+    @Hidden
+    @PostMapping("/{id}/rehash")
+    public CompletableFuture<ResponseEntity<Void>> rehashearContrasena(@PathVariable UUID id,
+                                                                       @Valid @RequestBody RehashDTO dto) {
+        return CompletableFuture.supplyAsync(() -> userService.rehashearContrasena(id, dto.getPassword()),
+                        hashContrasenasExecutor)
+                .thenApply(actualizado -> ResponseEntity.noContent().build());
     }
 
     @PutMapping("/{id}")
@@ -17,4 +17,10 @@ public class AuthUserDTO {
     private String email;
     private String passwordHash;
     private String rol;
+    /** El hash se guardó con un coste BCrypt distinto del actual; tras validar la contraseña, el gateway pide el rehash. */
+    private boolean requiereRehash;
+
+    public AuthUserDTO(UUID id, String email, String passwordHash, String rol) {
+        this(id, email, passwordHash, rol, false);
+    }
 }
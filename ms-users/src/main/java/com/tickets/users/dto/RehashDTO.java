@@ -0,0 +1,15 @@
+package com.tickets.users.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RehashDTO {
+
+    @NotBlank(message = "La contraseña no puede estar vacía")
+    private String password;
+}
@@ -1,5 +1,6 @@
 package com.tickets.users.entity;
 
+import com.tickets.users.annotation.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class UserEntity {
 
     @Id
-    @GeneratedValue
+    @UuidV7Id
     private UUID id;
 
     @Column(nullable = false)
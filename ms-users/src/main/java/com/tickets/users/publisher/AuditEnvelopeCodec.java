@@ -0,0 +1,118 @@
+package com.tickets.users.publisher;
+
+import com.tickets.users.dto.AuditEventDTO;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Sobre binario versionado para eventos de auditoría:
+ * <pre>
+ * byte   versión
+ * byte   flags (bit 0: cuerpo comprimido con LZ4)
+ * short  esquema del cuerpo
+ * int    longitud del cuerpo sin comprimir
+ * bytes  cuerpo (comprimido o no)
+ * </pre>
+ * Cuerpo del esquema {@link #ESQUEMA_EVENTO}: fecha en nanosegundos desde epoch (UTC) y los campos
+ * servicio, accion, usuario y data como UTF-8 con prefijo de longitud varint (0 = null, n = n-1 bytes).
+ * {@code data} viaja como los bytes del JSON original, sin volver a escaparlo dentro de otro JSON.
+ * <p>
+ * Aquí solo se codifica; el único consumidor del sobre es ms-audit, que tiene el decodificador.
+ */
+public final class AuditEnvelopeCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.tickets.audit-event";
+
+    static final byte VERSION = 1;
+    static final short ESQUEMA_EVENTO = 1;
+    static final byte FLAG_LZ4 = 0x01;
+    static final int CABECERA = 8;
+
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final LZ4Compressor COMPRESOR = LZ4Factory.fastestInstance().fastCompressor();
+
+    private AuditEnvelopeCodec() {
+    }
+
+    /** Codifica el evento; el cuerpo se comprime solo si alcanza {@code umbralCompresion} bytes y reduce tamaño. */
+    public static byte[] codificar(AuditEventDTO evento, int umbralCompresion) {
+        byte[] servicio = bytes(evento.getServicio());
+        byte[] accion = bytes(evento.getAccion());
+        byte[] usuario = bytes(evento.getUsuario());
+        byte[] data = bytes(evento.getData());
+        int longitudCuerpo = 8 + tamanoCampo(servicio) + tamanoCampo(accion) + tamanoCampo(usuario) + tamanoCampo(data);
+
+        ByteBuffer cuerpo = ByteBuffer.allocate(CABECERA + longitudCuerpo);
+        cuerpo.position(CABECERA);
+        cuerpo.putLong(evento.getTimestamp() == null ? SIN_FECHA : aNanos(evento.getTimestamp()));
+        escribirCampo(cuerpo, servicio);
+        escribirCampo(cuerpo, accion);
+        escribirCampo(cuerpo, usuario);
+        escribirCampo(cuerpo, data);
+        byte[] plano = cuerpo.array();
+
+        if (longitudCuerpo >= umbralCompresion) {
+            byte[] comprimido = new byte[CABECERA + COMPRESOR.maxCompressedLength(longitudCuerpo)];
+            int longitudComprimida = COMPRESOR.compress(plano, CABECERA, longitudCuerpo, comprimido, CABECERA);
+            if (longitudComprimida < longitudCuerpo) {
+                escribirCabecera(comprimido, FLAG_LZ4, longitudCuerpo);
+                return Arrays.copyOf(comprimido, CABECERA + longitudComprimida);
+            }
+        }
+        escribirCabecera(plano, (byte) 0, longitudCuerpo);
+        return plano;
+    }
+
+    private static void escribirCabecera(byte[] destino, byte flags, int longitudCuerpo) {
+        ByteBuffer.wrap(destino, 0, CABECERA)
+                .put(VERSION)
+                .put(flags)
+                .putShort(ESQUEMA_EVENTO)
+                .putInt(longitudCuerpo);
+    }
+
+    private static int tamanoCampo(byte[] campo) {
+        int longitud = campo == null ? 0 : campo.length;
+        return tamanoVarint(longitud + 1) + longitud;
+    }
+
+    private static void escribirCampo(ByteBuffer destino, byte[] campo) {
+        if (campo == null) {
+            escribirVarint(destino, 0);
+            return;
+        }
+        escribirVarint(destino, campo.length + 1);
+        destino.put(campo);
+    }
+
+    private static int tamanoVarint(int valor) {
+        int tamano = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    private static void escribirVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long aNanos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + fecha.getNano();
+    }
+}
@@ -1,28 +1,345 @@
 package com.tickets.users.publisher;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tickets.users.config.RabbitConfig;
 import com.tickets.users.dto.AuditEventDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.stereotype.Component;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publica eventos de auditoría fuera del hilo de la petición.
+ * {@link #publish} solo deja el evento en un {@link AuditRingBuffer}; un hilo en segundo plano
+ * lo vacía en lotes (por tamaño o por tiempo) y los envía a RabbitMQ esperando las confirmaciones
+ * del broker. Si el broker no responde, el lote se reintenta y el buffer aplica la política de desbordamiento.
+ * La codificación de cada evento la hace el {@code MessageConverter} del {@link RabbitTemplate}; el archivo
+ * de volcado guarda JSON y se reenvía tal cual.
+ * Publica sus contadores como {@code auditoria.eventos{resultado}}, el tamaño del buffer como
+ * {@code auditoria.pendientes} y lo que tarda cada lote en confirmarse como {@code auditoria.lote}.
+ */
 @Slf4j
-@Component
-@RequiredArgsConstructor
-public class AuditEventPublisher {
+public class AuditEventPublisher implements SmartLifecycle, MeterBinder {
+
+    private static final long ESPERA_INACTIVO_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long ESPERA_BLOQUEO_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration REINTENTO_MAXIMO = Duration.ofSeconds(30);
 
     private final RabbitTemplate rabbitTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AuditRingBuffer<AuditEventDTO> buffer;
+    private final OverflowPolicy politica;
+    private final int tamanoLote;
+    private final long esperaMaximaLoteNanos;
+    private final Duration timeoutConfirmacion;
+    private final long bloqueoMaximoNanos;
+    private final AuditSpillFile volcado;
+    private final ThreadFactory fabricaHilos;
+
+    private final LongAdder publicados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder volcados = new LongAdder();
+    private final LongAdder fallosEnvio = new LongAdder();
+
+    private volatile Timer tiempoLote;
+
+    private volatile boolean activo;
+    private volatile Thread hilo;
+
+    public AuditEventPublisher(RabbitTemplate rabbitTemplate,
+                               AuditRingBuffer<AuditEventDTO> buffer,
+                               OverflowPolicy politica,
+                               int tamanoLote,
+                               Duration esperaMaximaLote,
+                               Duration timeoutConfirmacion,
+                               Duration bloqueoMaximo,
+                               AuditSpillFile volcado) {
+        this(rabbitTemplate, buffer, politica, tamanoLote, esperaMaximaLote, timeoutConfirmacion, bloqueoMaximo,
+                volcado, null);
+    }
+
+    /**
+     * @param fabricaHilos crea el hilo que vacía el buffer; con hilos virtuales activos se usa uno virtual,
+     *                     que libera su portador mientras espera lotes o confirmaciones del broker;
+     *                     {@code null} para un hilo de plataforma daemon.
+     */
+    public AuditEventPublisher(RabbitTemplate rabbitTemplate,
+                               AuditRingBuffer<AuditEventDTO> buffer,
+                               OverflowPolicy politica,
+                               int tamanoLote,
+                               Duration esperaMaximaLote,
+                               Duration timeoutConfirmacion,
+                               Duration bloqueoMaximo,
+                               AuditSpillFile volcado,
+                               ThreadFactory fabricaHilos) {
+        if (politica == OverflowPolicy.VOLCAR_A_DISCO && volcado == null) {
+            throw new IllegalArgumentException("La política VOLCAR_A_DISCO requiere un archivo de volcado");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.buffer = buffer;
+        this.politica = politica;
+        this.tamanoLote = tamanoLote;
+        this.esperaMaximaLoteNanos = esperaMaximaLote.toNanos();
+        this.timeoutConfirmacion = timeoutConfirmacion;
+        this.bloqueoMaximoNanos = bloqueoMaximo.toNanos();
+        this.volcado = volcado;
+        this.fabricaHilos = fabricaHilos != null ? fabricaHilos : AuditEventPublisher::hiloDePlataforma;
+    }
+
+    private static Thread hiloDePlataforma(Runnable tarea) {
+        Thread hilo = new Thread(tarea);
+        hilo.setDaemon(true);
+        return hilo;
+    }
 
     public void publish(AuditEventDTO dto) {
+        if (buffer.offer(dto)) {
+            return;
+        }
+        switch (politica) {
+            case BLOQUEAR -> encolarBloqueando(dto);
+            case DESCARTAR_ANTIGUO -> encolarDescartandoAntiguo(dto);
+            case VOLCAR_A_DISCO -> volcar(List.of(dto));
+        }
+    }
+
+    private void encolarBloqueando(AuditEventDTO dto) {
+        long limite = System.nanoTime() + bloqueoMaximoNanos;
+        while (!buffer.offer(dto)) {
+            if (System.nanoTime() - limite >= 0) {
+                descartados.increment();
+                log.warn("Buffer de auditoría lleno; evento descartado tras esperar: {}", dto.getAccion());
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_BLOQUEO_NANOS);
+        }
+    }
+
+    private void encolarDescartandoAntiguo(AuditEventDTO dto) {
+        while (!buffer.offer(dto)) {
+            if (buffer.poll() != null) {
+                descartados.increment();
+            }
+        }
+    }
+
+    private void volcar(List<AuditEventDTO> eventos) {
+        try {
+            volcado.anexar(serializar(eventos));
+            volcados.add(eventos.size());
+        } catch (IOException e) {
+            descartados.add(eventos.size());
+            log.error("No se pudieron volcar {} eventos de auditoría a disco", eventos.size(), e);
+        }
+    }
+
+    private void drenar() {
+        List<AuditEventDTO> lote = new ArrayList<>(tamanoLote);
+        long inicioLote = 0;
+        while (activo || !lote.isEmpty() || !buffer.isEmpty()) {
+            if (lote.isEmpty()) {
+                if (buffer.drainTo(lote, tamanoLote) == 0) {
+                    if (!reenviarVolcado()) {
+                        LockSupport.parkNanos(ESPERA_INACTIVO_NANOS);
+                    }
+                    continue;
+                }
+                inicioLote = System.nanoTime();
+            } else {
+                buffer.drainTo(lote, tamanoLote - lote.size());
+            }
+            long restante = esperaMaximaLoteNanos - (System.nanoTime() - inicioLote);
+            if (lote.size() < tamanoLote && restante > 0 && activo) {
+                LockSupport.parkNanos(Math.min(restante, ESPERA_INACTIVO_NANOS));
+                continue;
+            }
+            if (!enviarConReintentos(lote) && volcado != null) {
+                volcar(lote);
+            }
+            lote.clear();
+        }
+    }
+
+    /** Reenvía un tramo del archivo de volcado si lo hay; devuelve {@code true} si envió algo. */
+    private boolean reenviarVolcado() {
+        if (volcado == null || !volcado.hayPendientes() || !activo) {
+            return false;
+        }
         try {
-            String json = objectMapper.writeValueAsString(dto);
-            rabbitTemplate.convertAndSend(RabbitConfig.AUDIT_QUEUE, json);
-            log.debug("Evento de auditoría enviado: {}", json);
-        } catch (Exception e) {
-            log.error("Error enviando evento de auditoría", e);
+            List<String> mensajes = volcado.leerPendientes(tamanoLote);
+            if (mensajes.isEmpty()) {
+                return false;
+            }
+            if (enviarConReintentos(mensajes)) {
+                volcado.confirmar();
+                return true;
+            }
+        } catch (IOException e) {
+            log.error("Error leyendo el archivo de volcado de auditoría", e);
+        }
+        return false;
+    }
+
+    /**
+     * Envía el lote hasta que el broker lo confirma. Mientras el servicio esté activo reintenta
+     * con espera exponencial; al detenerse hace un último intento y devuelve {@code false} si falla.
+     */
+    private boolean enviarConReintentos(List<?> mensajes) {
+        long espera = 100;
+        while (true) {
+            try {
+                enviar(mensajes);
+                publicados.add(mensajes.size());
+                return true;
+            } catch (Exception e) {
+                fallosEnvio.increment();
+                if (!activo) {
+                    log.error("No se pudieron enviar {} eventos de auditoría al detener el servicio: {}",
+                            mensajes.size(), e.getMessage());
+                    if (volcado == null) {
+                        descartados.add(mensajes.size());
+                    }
+                    return false;
+                }
+                log.warn("Error enviando lote de auditoría ({} eventos), reintentando en {} ms: {}",
+                        mensajes.size(), espera, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(espera));
+                espera = Math.min(espera * 2, REINTENTO_MAXIMO.toMillis());
+            }
         }
     }
+
+    private void enviar(List<?> mensajes) {
+        long inicio = System.nanoTime();
+        rabbitTemplate.invoke(operaciones -> {
+            for (Object mensaje : mensajes) {
+                operaciones.convertAndSend(RabbitConfig.AUDIT_QUEUE, mensaje);
+            }
+            operaciones.waitForConfirmsOrDie(timeoutConfirmacion.toMillis());
+            return null;
+        });
+        Timer timer = tiempoLote;
+        if (timer != null) {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        log.debug("Lote de auditoría confirmado: {} eventos", mensajes.size());
+    }
+
+    private List<String> serializar(List<AuditEventDTO> eventos) {
+        List<String> mensajes = new ArrayList<>(eventos.size());
+        for (AuditEventDTO evento : eventos) {
+            try {
+                mensajes.add(objectMapper.writeValueAsString(evento));
+            } catch (Exception e) {
+                descartados.increment();
+                log.error("Error serializando evento de auditoría", e);
+            }
+        }
+        return mensajes;
+    }
+
+    @Override
+    public void start() {
+        activo = true;
+        hilo = fabricaHilos.newThread(this::drenar);
+        hilo.setName("audit-publisher");
+        hilo.start();
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        Thread actual = hilo;
+        if (actual == null) {
+            return;
+        }
+        LockSupport.unpark(actual);
+        try {
+            actual.join(timeoutConfirmacion.toMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (actual.isAlive()) {
+            log.warn("El publicador de auditoría no terminó a tiempo; {} eventos pendientes", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    /**
+     * Se detiene después del servidor web para vaciar los eventos de las últimas peticiones. Las fases se paran de
+     * mayor a menor: el apagado ordenado espera a las peticiones en curso en {@code SMART_LIFECYCLE_PHASE}, el
+     * servidor se para en {@code SMART_LIFECYCLE_PHASE - 1024} y este publicador, estrictamente por debajo, cuando ya
+     * no puede llegar ninguna petición más.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrarEventos(registry, "publicado", AuditEventPublisher::getPublicados);
+        registrarEventos(registry, "descartado", AuditEventPublisher::getDescartados);
+        registrarEventos(registry, "volcado", AuditEventPublisher::getVolcados);
+        FunctionCounter.builder("auditoria.envios.fallidos", this, AuditEventPublisher::getFallosEnvio)
+                .description("Intentos de envío de un lote que el broker no confirmó")
+                .register(registry);
+        Gauge.builder("auditoria.pendientes", this, AuditEventPublisher::getPendientes)
+                .description("Eventos en el buffer a la espera de enviarse")
+                .register(registry);
+        tiempoLote = Timer.builder("auditoria.lote")
+                .description("Envío y confirmación de un lote por el broker")
+                .register(registry);
+    }
+
+    private void registrarEventos(MeterRegistry registry, String resultado,
+                                  ToDoubleFunction<AuditEventPublisher> valor) {
+        FunctionCounter.builder("auditoria.eventos", this, valor)
+                .tag("resultado", resultado)
+                .description("Eventos de auditoría por destino final")
+                .register(registry);
+    }
+
+    public int getPendientes() {
+        return buffer.size();
+    }
+
+    public long getPublicados() {
+        return publicados.sum();
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public long getVolcados() {
+        return volcados.sum();
+    }
+
+    public long getFallosEnvio() {
+        return fallosEnvio.sum();
+    }
 }
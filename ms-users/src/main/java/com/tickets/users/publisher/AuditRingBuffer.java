@@ -0,0 +1,104 @@
+package com.tickets.users.publisher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola acotada multi-productor / multi-consumidor sin bloqueos (algoritmo de Vyukov).
+ * Cada celda guarda una secuencia que indica si está libre para escribir o lista para leer,
+ * de modo que productores y consumidores solo compiten por un CAS sobre su propio contador.
+ */
+public class AuditRingBuffer<E> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<E> elementos;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong escritura = new AtomicLong();
+    private final AtomicLong lectura = new AtomicLong();
+
+    public AuditRingBuffer(int capacidadSolicitada) {
+        if (capacidadSolicitada < 2) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 2");
+        }
+        int capacidad = Integer.highestOneBit(capacidadSolicitada - 1) << 1;
+        this.mascara = capacidad - 1;
+        this.elementos = new AtomicReferenceArray<>(capacidad);
+        this.secuencias = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /** Encola sin esperar; devuelve {@code false} si el buffer está lleno. */
+    public boolean offer(E elemento) {
+        if (elemento == null) {
+            throw new NullPointerException("elemento");
+        }
+        long posicion = escritura.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (escritura.compareAndSet(posicion, posicion + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    secuencias.lazySet(indice, posicion + 1);
+                    return true;
+                }
+                posicion = escritura.get();
+            } else if (diferencia < 0) {
+                return false;
+            } else {
+                posicion = escritura.get();
+            }
+        }
+    }
+
+    /** Desencola sin esperar; devuelve {@code null} si el buffer está vacío. */
+    public E poll() {
+        long posicion = lectura.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - (posicion + 1);
+            if (diferencia == 0) {
+                if (lectura.compareAndSet(posicion, posicion + 1)) {
+                    E elemento = elementos.get(indice);
+                    elementos.lazySet(indice, null);
+                    secuencias.lazySet(indice, posicion + mascara + 1);
+                    return elemento;
+                }
+                posicion = lectura.get();
+            } else if (diferencia < 0) {
+                return null;
+            } else {
+                posicion = lectura.get();
+            }
+        }
+    }
+
+    /** Mueve hasta {@code maximo} elementos a {@code destino}; devuelve cuántos se movieron. */
+    public int drainTo(List<? super E> destino, int maximo) {
+        int movidos = 0;
+        E elemento;
+        while (movidos < maximo && (elemento = poll()) != null) {
+            destino.add(elemento);
+            movidos++;
+        }
+        return movidos;
+    }
+
+    /** Tamaño aproximado: puede quedar desfasado mientras hay escrituras o lecturas en curso. */
+    public int size() {
+        long tamano = escritura.get() - lectura.get();
+        return (int) Math.max(0, Math.min(tamano, capacidad()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacidad() {
+        return mascara + 1;
+    }
+}
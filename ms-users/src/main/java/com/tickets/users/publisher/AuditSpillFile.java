@@ -0,0 +1,96 @@
+package com.tickets.users.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Archivo local de desbordamiento: un mensaje JSON por línea.
+ * Para reenviar, el archivo activo se renombra a {@code .reenvio} y se lee por tramos;
+ * la posición solo avanza cuando el tramo se confirma, así que la entrega es al menos una vez.
+ */
+@Slf4j
+public class AuditSpillFile {
+
+    private final Path archivo;
+    private final Path archivoReenvio;
+    private long posicionReenvio;
+    private long bytesPendientesConfirmar;
+    private volatile boolean pendientes;
+
+    public AuditSpillFile(Path archivo) {
+        this.archivo = archivo;
+        this.archivoReenvio = archivo.resolveSibling(archivo.getFileName() + ".reenvio");
+        this.pendientes = Files.exists(archivo) || Files.exists(archivoReenvio);
+    }
+
+    public synchronized void anexar(List<String> mensajes) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        StringBuilder contenido = new StringBuilder();
+        mensajes.forEach(mensaje -> contenido.append(mensaje).append('\n'));
+        Files.writeString(archivo, contenido, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        pendientes = true;
+    }
+
+    /** Lee hasta {@code maximo} mensajes pendientes de reenvío, sin marcarlos como enviados. */
+    public synchronized List<String> leerPendientes(int maximo) throws IOException {
+        if (!Files.exists(archivoReenvio)) {
+            if (!Files.exists(archivo)) {
+                pendientes = false;
+                return Collections.emptyList();
+            }
+            Files.move(archivo, archivoReenvio, StandardCopyOption.ATOMIC_MOVE);
+            posicionReenvio = 0;
+        }
+        List<String> mensajes = new ArrayList<>();
+        long bytes = 0;
+        try (FileChannel canal = FileChannel.open(archivoReenvio, StandardOpenOption.READ)) {
+            canal.position(posicionReenvio);
+            BufferedReader lector = new BufferedReader(
+                    Channels.newReader(canal, StandardCharsets.UTF_8));
+            String linea;
+            while (mensajes.size() < maximo && (linea = lector.readLine()) != null) {
+                bytes += linea.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (!linea.isBlank()) {
+                    mensajes.add(linea);
+                }
+            }
+        }
+        bytesPendientesConfirmar = bytes;
+        if (bytes == 0) {
+            Files.deleteIfExists(archivoReenvio);
+        }
+        return mensajes;
+    }
+
+    /** Marca como enviados los mensajes devueltos por la última llamada a {@link #leerPendientes}. */
+    public synchronized void confirmar() throws IOException {
+        posicionReenvio += bytesPendientesConfirmar;
+        bytesPendientesConfirmar = 0;
+        if (Files.exists(archivoReenvio) && posicionReenvio >= Files.size(archivoReenvio)) {
+            Files.delete(archivoReenvio);
+            posicionReenvio = 0;
+            log.info("Eventos de auditoría volcados a disco reenviados por completo");
+        }
+    }
+
+    /** Consulta barata (sin acceso a disco) para el bucle del publicador. */
+    public boolean hayPendientes() {
+        return pendientes;
+    }
+}
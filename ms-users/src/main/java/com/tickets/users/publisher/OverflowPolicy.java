@@ -0,0 +1,13 @@
+package com.tickets.users.publisher;
+
+/**
+ * Qué hacer con un evento de auditoría cuando el buffer en memoria está lleno.
+ */
+public enum OverflowPolicy {
+    /** Espera a que haya hueco, como máximo el tiempo configurado; después descarta el evento. */
+    BLOQUEAR,
+    /** Descarta el evento más antiguo del buffer para hacer sitio al nuevo. */
+    DESCARTAR_ANTIGUO,
+    /** Escribe el evento en un archivo local que se reenvía cuando el buffer se vacía. */
+    VOLCAR_A_DISCO
+}
@@ -1,7 +1,10 @@
 package com.tickets.users.repository;
 
+import com.tickets.users.dto.AuthUserDTO;
 import com.tickets.users.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +15,9 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByEmail(String email);
 
+    /** Solo lo que necesita el login, sin cargar la entidad en el contexto de persistencia. */
+    @Query("select new com.tickets.users.dto.AuthUserDTO(u.id, u.email, u.passwordHash, u.rol) "
+            + "from UserEntity u where u.email = :email")
+    Optional<AuthUserDTO> buscarCredenciales(@Param("email") String email);
+
 }
@@ -0,0 +1,9 @@
+package com.tickets.users.service;
+
+import com.tickets.users.dto.AuthUserDTO;
+
+public interface CredencialesService {
+
+    /** Credenciales para autenticar al usuario con ese email; lanza {@code UsuarioNoEncontradoException} si no existe. */
+    AuthUserDTO buscarPorEmail(String email);
+}
@@ -1,12 +1,12 @@
 package com.tickets.users.service;
 
 import com.tickets.users.dto.ActualizarUsuarioDTO;
-import com.tickets.users.dto.AuthUserDTO;
 import com.tickets.users.dto.CrearUsuarioDTO;
 import com.tickets.users.dto.UserDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface UserService {
@@ -15,11 +15,18 @@ public interface UserService {
 
     UserDTO actualizarUsuario(UUID id, ActualizarUsuarioDTO dto);
 
-    AuthUserDTO buscarPorEmail(String email);
-
     Page<UserDTO> obtenerTodos(Pageable pageable);
 
     UserDTO obtenerPorId(UUID id);
 
+    /** Usuarios existentes con los ids dados, en el orden recibido y sin repetir. */
+    List<UserDTO> obtenerPorIds(List<UUID> ids);
+
+    /**
+     * Vuelve a calcular el hash con el coste actual si el guardado usa otro y la contraseña coincide con él.
+     * Devuelve si se actualizó.
+     */
+    boolean rehashearContrasena(UUID id, String password);
+
 
 }
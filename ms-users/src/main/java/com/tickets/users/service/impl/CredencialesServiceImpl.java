@@ -0,0 +1,49 @@
+package com.tickets.users.service.impl;
+
+import com.tickets.users.cache.CredencialesCache;
+import com.tickets.users.cache.CredencialesCodec;
+import com.tickets.users.dto.AuthUserDTO;
+import com.tickets.users.exception.UsuarioNoEncontradoException;
+import com.tickets.users.repository.UserRepository;
+import com.tickets.users.service.CredencialesService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Búsqueda de credenciales del login: primero la {@link CredencialesCache} y, en un fallo, una consulta que
+ * solo trae id, email, hash y rol. Sin {@code @Transactional}: un acierto no pide conexión a la base.
+ */
+@Timed("usuarios.servicio")
+@Service
+@RequiredArgsConstructor
+public class CredencialesServiceImpl implements CredencialesService {
+
+    private final UserRepository userRepository;
+    private final CredencialesCache credencialesCache;
+    private final PasswordEncoder passwordEncoder;
+
+    @Override
+    public AuthUserDTO buscarPorEmail(String email) {
+        CredencialesCodec.Entrada cacheada = credencialesCache.obtener(email);
+        if (cacheada != null) {
+            if (cacheada.desconocido()) {
+                throw new UsuarioNoEncontradoException(email);
+            }
+            return conAvisoDeRehash(cacheada.usuario());
+        }
+        AuthUserDTO usuario = userRepository.buscarCredenciales(email).orElse(null);
+        if (usuario == null) {
+            credencialesCache.guardarDesconocido(email);
+            throw new UsuarioNoEncontradoException(email);
+        }
+        credencialesCache.guardar(usuario);
+        return conAvisoDeRehash(usuario);
+    }
+
+    private AuthUserDTO conAvisoDeRehash(AuthUserDTO usuario) {
+        usuario.setRequiereRehash(passwordEncoder.upgradeEncoding(usuario.getPasswordHash()));
+        return usuario;
+    }
+}
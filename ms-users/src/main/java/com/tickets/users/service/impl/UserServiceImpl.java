@@ -1,8 +1,9 @@
 package com.tickets.users.service.impl;
 
 import com.tickets.users.annotation.AuditEvent;
+import com.tickets.users.cache.CredencialesCache;
+import com.tickets.users.cache.UsuarioCacheReader;
 import com.tickets.users.dto.ActualizarUsuarioDTO;
-import com.tickets.users.dto.AuthUserDTO;
 import com.tickets.users.dto.CrearUsuarioDTO;
 import com.tickets.users.dto.UserDTO;
 import com.tickets.users.entity.UserEntity;
@@ -11,22 +12,23 @@ import com.tickets.users.exception.UsuarioNoEncontradoException;
 import com.tickets.users.mapper.UserMapper;
 import com.tickets.users.repository.UserRepository;
 import com.tickets.users.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentMap;
 
+@Timed("usuarios.servicio")
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -35,7 +37,12 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
-    private final CacheManager cacheManager;
+    private final CredencialesCache credencialesCache;
+
+    private final UsuarioCacheReader usuarioCacheReader;
+
+    @Value("${usuarios.batch.max-ids:1000}")
+    private int maxIdsBatch;
 
     @Transactional
     @AuditEvent(servicio = "ms-users", accion = "CREAR_USUARIO")
@@ -43,14 +50,12 @@ public class UserServiceImpl implements UserService {
         validarEmailDisponible(dto.getEmail());
         UserEntity entity = UserMapper.toEntity(dto, passwordEncoder.encode(dto.getPassword()));
         userRepository.save(entity);
+        credencialesCache.invalidarTrasCommit(entity.getEmail());
         return UserMapper.toDTO(entity);
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "usuario", key = "#id"),
-            @CacheEvict(value = "usuario_email", allEntries = true)
-    })
+    @CacheEvict(value = "usuario", key = "#id")
     @AuditEvent(servicio = "ms-users", accion = "ACTUALIZAR_USUARIO")
     public UserDTO actualizarUsuario(UUID id, ActualizarUsuarioDTO dto) {
 
@@ -60,24 +65,12 @@ public class UserServiceImpl implements UserService {
         if (!usuario.getEmail().equals(dto.getEmail()))
             validarEmailDisponible(dto.getEmail());
 
+        String emailAnterior = usuario.getEmail();
         UserMapper.actualizarEntidad(usuario, dto);
+        credencialesCache.invalidarTrasCommit(emailAnterior, usuario.getEmail());
         return UserMapper.toDTO(usuario);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = "usuario_email", key = "#email")
-    public AuthUserDTO buscarPorEmail(String email) {
-        printAllCacheEntries();
-        return userRepository.findByEmail(email)
-                .map(user -> AuthUserDTO.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .passwordHash(user.getPasswordHash())
-                        .rol(user.getRol())
-                        .build())
-                .orElseThrow(() -> new UsuarioNoEncontradoException(email));
-    }
-
     @Transactional(readOnly = true)
     public Page<UserDTO> obtenerTodos(Pageable pageable) {
         return userRepository.findAll(pageable)
@@ -85,42 +78,48 @@ public class UserServiceImpl implements UserService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "usuario", key = "#id")
+    @Cacheable(value = "usuario", key = "#id", sync = true)
     public UserDTO obtenerPorId(UUID id) {
         UserEntity usuario = userRepository.findById(id)
                 .orElseThrow(() -> new UsuarioNoEncontradoException(id));
-        printAllCacheEntries();
         return UserMapper.toDTO(usuario);
     }
 
-    private void validarEmailDisponible(String email) {
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new EmailYaRegistradoException(email);
+    /** Un {@code MGET} a la cache y una sola consulta para los que falten ({@link UsuarioCacheReader}). */
+    @Transactional(readOnly = true)
+    public List<UserDTO> obtenerPorIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("La lista de ids no puede estar vacía");
         }
+        if (ids.size() > maxIdsBatch) {
+            throw new IllegalArgumentException("La consulta admite como máximo " + maxIdsBatch + " ids");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("La lista de ids no puede contener nulos");
+        }
+        return List.copyOf(usuarioCacheReader.obtener(ids, this::cargarUsuarios).values());
     }
 
+    private List<UserDTO> cargarUsuarios(Collection<UUID> ids) {
+        return userRepository.findAllById(ids).stream().map(UserMapper::toDTO).toList();
+    }
 
-
-
-    public void printAllCacheEntries() {
-        for (String cacheName : cacheManager.getCacheNames()) {
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                Object nativeCache = cache.getNativeCache();
-                if (nativeCache instanceof ConcurrentMap<?, ?>) {
-                    ConcurrentMap<?, ?> map = (ConcurrentMap<?, ?>) nativeCache;
-                    System.out.println("Contenido de la caché '{"+cacheName+"}'");
-                    map.forEach((key, value) ->
-                            System.out.println("  [{"+key+"}] => {"+value+"}")
-                    );
-                } else {
-                    System.out.println("No se pudo obtener el contenido de la caché '{"+cacheName+"}': Tipo inesperado");
-                }
-            } else {
-                System.out.println("Caché '{"+cacheName+"}' no encontrada");
-            }
+    @Transactional
+    public boolean rehashearContrasena(UUID id, String password) {
+        UserEntity usuario = userRepository.findById(id)
+                .orElseThrow(() -> new UsuarioNoEncontradoException(id));
+        if (!passwordEncoder.upgradeEncoding(usuario.getPasswordHash())
+                || !passwordEncoder.matches(password, usuario.getPasswordHash())) {
+            return false;
         }
+        usuario.setPasswordHash(passwordEncoder.encode(password));
+        credencialesCache.invalidarTrasCommit(usuario.getEmail());
+        return true;
     }
 
-
-}
\ No newline at end of file
+    private void validarEmailDisponible(String email) {
+        if (userRepository.findByEmail(email).isPresent()) {
+            throw new EmailYaRegistradoException(email);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tickets.users.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt con un coste objetivo: {@link #upgradeEncoding} pide volver a calcular el hash cuando el coste
+ * guardado es distinto del objetivo (mayor o menor), no solo cuando es menor como en {@link BCryptPasswordEncoder}.
+ * El coste puede fijarse o calibrarse al arrancar con {@link #calibrar}.
+ */
+public class CosteBcryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    public static final int COSTE_MINIMO = 8;
+    public static final int COSTE_MAXIMO = 16;
+
+    private static final Pattern COSTE = Pattern.compile("\\$2[aby]?\\$(\\d\\d)\\$.*");
+
+    private final int coste;
+
+    public CosteBcryptPasswordEncoder(int coste) {
+        super(coste);
+        this.coste = coste;
+    }
+
+    public int getCoste() {
+        return coste;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        int guardado = coste(hash);
+        return guardado > 0 && guardado != coste;
+    }
+
+    /** Coste del hash BCrypt, o 0 si no lo es. */
+    public static int coste(String hash) {
+        if (hash == null) {
+            return 0;
+        }
+        Matcher partes = COSTE.matcher(hash);
+        return partes.matches() ? Integer.parseInt(partes.group(1)) : 0;
+    }
+
+    /**
+     * Mayor coste cuyo hash tarda como mucho {@code objetivo} en esta máquina, entre {@link #COSTE_MINIMO} y
+     * {@link #COSTE_MAXIMO}. Cada punto de coste dobla el tiempo, así que se mide subiendo hasta pasarse:
+     * la calibración tarda unas pocas veces el objetivo.
+     */
+    public static int calibrar(Duration objetivo) {
+        // Calentamiento del JIT para que la primera medida no penalice al coste mínimo
+        for (int i = 0; i < 3; i++) {
+            new BCryptPasswordEncoder(4).encode("calibracion");
+        }
+        int elegido = COSTE_MINIMO;
+        for (int candidato = COSTE_MINIMO; candidato <= COSTE_MAXIMO; candidato++) {
+            if (!cabeEnObjetivo(candidato, objetivo.toNanos())) {
+                break;
+            }
+            elegido = candidato;
+        }
+        return elegido;
+    }
+
+    /** Si la primera medida se pasa se repite, para no confundir una pausa puntual con el coste real. */
+    private static boolean cabeEnObjetivo(int coste, long objetivoNanos) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(coste);
+        for (int i = 0; i < 2; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode("calibracion");
+            if (System.nanoTime() - inicio <= objetivoNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+-- Esquema inicial de usuarios (perfil prod). Equivale al que genera Hibernate a partir de UserEntity;
+-- el índice único de email sirve también a la búsqueda del login.
+CREATE TABLE usuarios (
+    id                  UUID         NOT NULL,
+    nombres             VARCHAR(255) NOT NULL,
+    apellidos           VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    password_hash       VARCHAR(255) NOT NULL,
+    rol                 VARCHAR(255),
+    fecha_creacion      TIMESTAMP(6),
+    fecha_actualizacion TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
@@ -0,0 +1,68 @@
+package com.tickets.users;
+
+import com.tickets.users.entity.UserEntity;
+import com.tickets.users.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileTest {
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void baseEnArchivo(DynamicPropertyRegistry registro) {
+        registro.add("DB_PATH", () -> directorio.resolve("usersdb").toString());
+        registro.add("JWT_SECRET", () -> "secreto-de-pruebas-con-longitud-suficiente-hs256");
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void arranque_aplicaMigracionesYValidaElEsquema() {
+        assertEquals("1", flyway.info().current().getVersion().getVersion());
+        assertTrue(directorio.resolve("usersdb.mv.db").toFile().exists());
+    }
+
+    @Test
+    void pool_publicaMetricasConElTamanoConfigurado() {
+        assertEquals(10, meterRegistry.get("hikaricp.connections.max").tag("pool", "usuarios-pool").gauge().value());
+    }
+
+    @Test
+    void usuarios_sePersistenConElEsquemaMigrado() {
+        LocalDateTime ahora = LocalDateTime.now();
+        userRepository.save(UserEntity.builder()
+                .nombres("Ana")
+                .apellidos("Ríos")
+                .email("ana.rios@correo.com")
+                .passwordHash("$2a$10$hash")
+                .rol("USER")
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .build());
+
+        assertTrue(userRepository.findByEmail("ana.rios@correo.com").isPresent());
+    }
+}
@@ -0,0 +1,104 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CacheValueSerializer serializer = new CacheValueSerializer(json, true, 1024);
+
+    private static UserDTO usuario() {
+        return UserDTO.builder()
+                .id(UUID.randomUUID())
+                .nombres("Ana María")
+                .apellidos("Pérez Gómez")
+                .email("ana.perez@tickets.com")
+                .rol("USER")
+                .build();
+    }
+
+    @Test
+    void usuario_idaYVueltaEnBinarioMasPequenoQueJson() {
+        UserDTO original = usuario();
+
+        byte[] datos = serializer.serialize(original);
+
+        assertEquals(CacheValueSerializer.VERSION, datos[0]);
+        assertEquals(original, serializer.deserialize(datos));
+        assertTrue(datos.length * 2 < json.serialize(original).length,
+                () -> datos.length + " bytes frente a " + json.serialize(original).length);
+    }
+
+    @Test
+    void usuario_conCamposNulos() {
+        UserDTO original = new UserDTO();
+
+        assertEquals(original, serializer.deserialize(serializer.serialize(original)));
+    }
+
+    @Test
+    void otrosTipos_vanComoJsonDentroDelSobre() {
+        Map<String, Object> original = new HashMap<>(Map.of("clave", "valor"));
+
+        assertEquals(original, serializer.deserialize(serializer.serialize(original)));
+    }
+
+    @Test
+    void leeEntradasJsonAnterioresYEscribeJsonSiSeConfigura() {
+        UserDTO original = usuario();
+        CacheValueSerializer soloJson = new CacheValueSerializer(json, false, 1024);
+
+        byte[] datos = soloJson.serialize(original);
+
+        assertArrayEquals(json.serialize(original), datos);
+        assertEquals(original, serializer.deserialize(datos));
+    }
+
+    @Test
+    void versionDesconocida_esUnFallo() {
+        byte[] datos = serializer.serialize(usuario());
+        datos[0] = CacheValueSerializer.VERSION + 1;
+
+        assertNull(serializer.deserialize(datos));
+    }
+
+    @Test
+    void longitudNegativaOExcesiva_esUnFallo() {
+        UserDTO comprimible = usuario();
+        comprimible.setNombres("repetido ".repeat(200));
+        for (int longitud : new int[]{-1, Integer.MIN_VALUE, CacheValueSerializer.MAXIMO_CUERPO + 1}) {
+            byte[] plano = serializer.serialize(usuario());
+            byte[] comprimido = serializer.serialize(comprimible);
+            ByteBuffer.wrap(plano).putInt(4, longitud);
+            ByteBuffer.wrap(comprimido).putInt(4, longitud);
+
+            assertNull(serializer.deserialize(plano), "longitud " + longitud);
+            assertNull(serializer.deserialize(comprimido), "longitud " + longitud);
+        }
+    }
+
+    @Test
+    void cuerpoTruncadoOCorrupto_esUnFallo() {
+        UserDTO comprimible = usuario();
+        comprimible.setNombres("repetido ".repeat(200));
+        byte[] comprimido = serializer.serialize(comprimible);
+        assertEquals(CacheValueSerializer.FLAG_LZ4, comprimido[1] & CacheValueSerializer.FLAG_LZ4);
+        byte[] plano = serializer.serialize(usuario());
+        byte[] basura = comprimido.clone();
+        Arrays.fill(basura, CacheValueSerializer.CABECERA, basura.length, (byte) 0xF0);
+
+        assertNull(serializer.deserialize(Arrays.copyOf(comprimido, comprimido.length - 5)));
+        assertNull(serializer.deserialize(Arrays.copyOf(plano, plano.length - 3)));
+        assertNull(serializer.deserialize(basura));
+    }
+}
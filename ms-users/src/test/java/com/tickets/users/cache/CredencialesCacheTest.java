@@ -0,0 +1,78 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.AuthUserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CredencialesCacheTest {
+
+    private static final long AHORA = 1_800_000_000L;
+
+    private final List<RedisScript<?>> scripts = new ArrayList<>();
+    private final List<byte[][]> argumentos = new ArrayList<>();
+    private RedisTemplate<String, byte[]> redisTemplate;
+    private CredencialesCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(inv -> {
+            scripts.add(inv.getArgument(0));
+            assertEquals(List.of(cache.cubeta("ana@correo.com")), inv.getArgument(1));
+            Object[] resto = (Object[]) inv.getRawArguments()[2];
+            argumentos.add(Arrays.stream(resto).map(byte[].class::cast).toArray(byte[][]::new));
+            return 1L;
+        });
+        cache = new CredencialesCache(redisTemplate, 16, Duration.ofMinutes(30), Duration.ofSeconds(30),
+                Duration.ofSeconds(10), Clock.fixed(Instant.ofEpochSecond(AHORA), ZoneOffset.UTC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidarTrasCommit_dejaUnaMarcaEnLugarDeBorrar() {
+        HashOperations<String, Object, Object> hashes = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashes);
+
+        cache.invalidarTrasCommit("ana@correo.com");
+
+        byte[][] marca = argumentos.get(0);
+        assertEquals("ana@correo.com", new String(marca[0], StandardCharsets.UTF_8));
+        assertEquals(CredencialesCodec.TIPO_INVALIDADA, marca[1][0]);
+        assertEquals(AHORA + 10, ByteBuffer.wrap(marca[1], 1, 4).getInt());
+        verifyNoInteractions(hashes);
+    }
+
+    @Test
+    void guardar_usaElScriptQueRespetaLasMarcas() {
+        cache.invalidarTrasCommit("ana@correo.com");
+        cache.guardar(new AuthUserDTO(UUID.randomUUID(), "ana@correo.com", "{noop}secreta", "USER"));
+        cache.guardarDesconocido("ana@correo.com");
+
+        String marcar = scripts.get(0).getScriptAsString();
+        String guardar = scripts.get(1).getScriptAsString();
+        assertNotEquals(marcar, guardar);
+        assertTrue(guardar.contains("string.byte(actual, 1) == " + CredencialesCodec.TIPO_INVALIDADA));
+        assertEquals(guardar, scripts.get(2).getScriptAsString());
+        assertEquals(Long.toString(AHORA), new String(argumentos.get(1)[3], StandardCharsets.US_ASCII));
+    }
+}
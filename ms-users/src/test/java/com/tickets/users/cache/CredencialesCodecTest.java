@@ -0,0 +1,74 @@
+package com.tickets.users.cache;
+
+import com.tickets.users.dto.AuthUserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredencialesCodecTest {
+
+    private static final String HASH = new BCryptPasswordEncoder().encode("Secreta123");
+
+    @Test
+    void codificar_idaYVueltaConservaLasCredenciales() {
+        AuthUserDTO usuario = new AuthUserDTO(UUID.randomUUID(), "ana.rios@correo.com", HASH, "USER");
+
+        byte[] datos = CredencialesCodec.codificar(usuario, 1_800_000_000L);
+        CredencialesCodec.Entrada entrada = CredencialesCodec.decodificar("ana.rios@correo.com", datos);
+
+        assertEquals(usuario, entrada.usuario());
+        assertEquals(1_800_000_000L, entrada.expiraEpochSegundos());
+        assertFalse(entrada.desconocido());
+        // Cabe en un listpack de Redis (hash-max-listpack-value = 64)
+        assertEquals(63, datos.length);
+    }
+
+    @Test
+    void codificar_hashQueNoEsBcryptViajaEnTexto() {
+        AuthUserDTO usuario = new AuthUserDTO(UUID.randomUUID(), "a@correo.com", "{noop}secreta", "SOPORTE");
+
+        CredencialesCodec.Entrada entrada = CredencialesCodec.decodificar("a@correo.com",
+                CredencialesCodec.codificar(usuario, 1));
+
+        assertEquals(usuario, entrada.usuario());
+    }
+
+    @Test
+    void codificar_distingueRolNuloDeVacio() {
+        AuthUserDTO sinRol = new AuthUserDTO(UUID.randomUUID(), "a@correo.com", HASH, null);
+        AuthUserDTO rolVacio = new AuthUserDTO(UUID.randomUUID(), "a@correo.com", HASH, "");
+
+        assertNull(CredencialesCodec.decodificar("a@correo.com", CredencialesCodec.codificar(sinRol, 1)).usuario().getRol());
+        assertEquals("", CredencialesCodec.decodificar("a@correo.com", CredencialesCodec.codificar(rolVacio, 1)).usuario().getRol());
+    }
+
+    @Test
+    void codificarDesconocido_soloGuardaLaExpiracion() {
+        byte[] datos = CredencialesCodec.codificarDesconocido(1_800_000_000L);
+        CredencialesCodec.Entrada entrada = CredencialesCodec.decodificar("nadie@correo.com", datos);
+
+        assertEquals(CredencialesCodec.CABECERA, datos.length);
+        assertTrue(entrada.desconocido());
+        assertTrue(entrada.vigente(1_799_999_999L));
+        assertFalse(entrada.vigente(1_800_000_000L));
+    }
+
+    @Test
+    void codificarInvalidada_seLeeComoUnFallo() {
+        byte[] datos = CredencialesCodec.codificarInvalidada(1_800_000_000L);
+
+        assertEquals(CredencialesCodec.CABECERA, datos.length);
+        assertEquals(CredencialesCodec.TIPO_INVALIDADA, datos[0]);
+        assertNull(CredencialesCodec.decodificar("ana.rios@correo.com", datos));
+    }
+
+    @Test
+    void decodificar_formatoDesconocidoEsUnFallo() {
+        assertNull(CredencialesCodec.decodificar("a@correo.com", null));
+        assertNull(CredencialesCodec.decodificar("a@correo.com", "{\"id\":1}".getBytes()));
+        assertNull(CredencialesCodec.decodificar("a@correo.com", new byte[]{3, 0, 0, 0, 1, 9}));
+    }
+}
@@ -0,0 +1,54 @@
+package com.tickets.users.integration;
+
+import com.tickets.users.entity.UserEntity;
+import com.tickets.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void prometheus_exponeServiciosCachesYAuditoria() throws Exception {
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nombres("Elena")
+                .apellidos("Vidal")
+                .email("elena.vidal." + System.nanoTime() + "@example.com")
+                .passwordHash("hash")
+                .rol("USER")
+                .fechaCreacion(LocalDateTime.now())
+                .fechaActualizacion(LocalDateTime.now())
+                .build());
+        mockMvc.perform(get("/api/usuarios/" + user.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/usuarios/" + user.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("usuarios_servicio_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"obtenerPorId\"")))
+                .andExpect(content().string(containsString("cache_gets_total{")))
+                .andExpect(content().string(containsString("cache=\"usuario\"")))
+                .andExpect(content().string(containsString("auditoria_eventos_total{")))
+                .andExpect(content().string(containsString("jvm_gc_memory_allocated_bytes_total")))
+                .andExpect(content().string(containsString("application=\"ms-users\"")));
+    }
+}
@@ -10,14 +10,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static net.bytebuddy.matcher.ElementMatchers.is;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -35,6 +39,9 @@ public class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -48,9 +55,14 @@ public class UserControllerIntegrationTest {
         dto.setEmail("juan.perez@example.com");
         dto.setPassword("123456");
 
-        mockMvc.perform(post("/api/usuarios")
+        // El alta corre en el pool de hash: la respuesta llega en el despacho asíncrono
+        MvcResult alta = mockMvc.perform(post("/api/usuarios")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(alta))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
                 .andExpect(jsonPath("$.email").value(dto.getEmail()));
@@ -66,9 +78,13 @@ public class UserControllerIntegrationTest {
         dto.setPassword("123456");
         userRepository.save(dto.toEntity());
 
-        mockMvc.perform(post("/api/usuarios")
+        MvcResult alta = mockMvc.perform(post("/api/usuarios")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(alta))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("{\"error\":\"El correo electrónico 'juan.perez@example.com' ya está registrado.\"}"));
     }
@@ -192,6 +208,38 @@ public class UserControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void obtenerUsuariosPorIds_devuelveLosExistentesEnOrdenYLosDejaEnCache() throws Exception {
+        UserEntity maria = userRepository.save(UserEntity.builder().nombres("María").apellidos("Gómez")
+                .email("maria.batch@example.com").passwordHash("hash").rol("USER")
+                .fechaCreacion(LocalDateTime.now()).fechaActualizacion(LocalDateTime.now()).build());
+        UserEntity pedro = userRepository.save(UserEntity.builder().nombres("Pedro").apellidos("Ruiz")
+                .email("pedro.batch@example.com").passwordHash("hash").rol("ADMIN")
+                .fechaCreacion(LocalDateTime.now()).fechaActualizacion(LocalDateTime.now()).build());
+        List<UUID> ids = List.of(pedro.getId(), UUID.randomUUID(), maria.getId(), pedro.getId());
+
+        for (int vez = 0; vez < 2; vez++) {
+            mockMvc.perform(post("/api/usuarios/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(ids)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].nombres").value("Pedro"))
+                    .andExpect(jsonPath("$[1].nombres").value("María"));
+        }
+
+        assertTrue(Boolean.TRUE.equals(stringRedisTemplate.hasKey("usuario::" + maria.getId())));
+        assertTrue(Boolean.TRUE.equals(stringRedisTemplate.hasKey("usuario::" + pedro.getId())));
+    }
+
+    @Test
+    void obtenerUsuariosPorIds_sinIds_deberiaRetornar400() throws Exception {
+        mockMvc.perform(post("/api/usuarios/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void listarUsuarios_sinResultados_deberiaRetornarListaVacia() throws Exception {
 
@@ -0,0 +1,82 @@
+package com.tickets.users.service;
+
+import com.tickets.users.cache.CredencialesCache;
+import com.tickets.users.cache.CredencialesCodec;
+import com.tickets.users.dto.AuthUserDTO;
+import com.tickets.users.exception.UsuarioNoEncontradoException;
+import com.tickets.users.repository.UserRepository;
+import com.tickets.users.service.impl.CredencialesServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CredencialesServiceTest {
+
+    @InjectMocks
+    private CredencialesServiceImpl credencialesService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CredencialesCache credencialesCache;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final AuthUserDTO usuario = new AuthUserDTO(UUID.randomUUID(), "ana.rios@correo.com", "$2a$10$abc", "USER");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void buscarPorEmail_aciertoNoConsultaLaBase() {
+        when(credencialesCache.obtener(usuario.getEmail())).thenReturn(new CredencialesCodec.Entrada(usuario, Long.MAX_VALUE));
+
+        assertEquals(usuario, credencialesService.buscarPorEmail(usuario.getEmail()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void buscarPorEmail_falloConsultaYGuardaEnCache() {
+        when(userRepository.buscarCredenciales(usuario.getEmail())).thenReturn(Optional.of(usuario));
+
+        assertEquals(usuario, credencialesService.buscarPorEmail(usuario.getEmail()));
+        verify(credencialesCache).guardar(usuario);
+    }
+
+    @Test
+    void buscarPorEmail_emailDesconocidoSeRecuerda() {
+        when(userRepository.buscarCredenciales("nadie@correo.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsuarioNoEncontradoException.class, () -> credencialesService.buscarPorEmail("nadie@correo.com"));
+        verify(credencialesCache).guardarDesconocido("nadie@correo.com");
+    }
+
+    @Test
+    void buscarPorEmail_desconocidoEnCacheNoConsultaLaBase() {
+        when(credencialesCache.obtener("nadie@correo.com")).thenReturn(new CredencialesCodec.Entrada(null, Long.MAX_VALUE));
+
+        assertThrows(UsuarioNoEncontradoException.class, () -> credencialesService.buscarPorEmail("nadie@correo.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void buscarPorEmail_avisaSiElHashTieneOtroCoste() {
+        when(credencialesCache.obtener(usuario.getEmail())).thenReturn(new CredencialesCodec.Entrada(usuario, Long.MAX_VALUE));
+        when(passwordEncoder.upgradeEncoding(usuario.getPasswordHash())).thenReturn(true);
+
+        assertTrue(credencialesService.buscarPorEmail(usuario.getEmail()).isRequiereRehash());
+    }
+}
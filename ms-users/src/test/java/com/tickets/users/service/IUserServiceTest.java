@@ -1,7 +1,7 @@
 package com.tickets.users.service;
 
+import com.tickets.users.cache.CredencialesCache;
 import com.tickets.users.dto.ActualizarUsuarioDTO;
-import com.tickets.users.dto.AuthUserDTO;
 import com.tickets.users.dto.CrearUsuarioDTO;
 import com.tickets.users.dto.UserDTO;
 import com.tickets.users.entity.UserEntity;
@@ -37,6 +37,9 @@ class IUserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CredencialesCache credencialesCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -185,35 +188,29 @@ class IUserServiceTest {
     }
 
     @Test
-    void buscarPorEmail_deberiaRetornarAuthUserDTOCuandoUsuarioExiste() {
-        String email = "prueba@correo.com";
+    void rehashearContrasena_conOtroCosteYContrasenaCorrectaGuardaElHashNuevo() {
         UUID id = UUID.randomUUID();
-        String hash = "$2a$10$abc123..."; // hash simulado
-        UserEntity user = UserEntity.builder()
-                .id(id)
-                .email(email)
-                .passwordHash(hash)
-                .rol("USER")
-                .build();
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        AuthUserDTO resultado = userService.buscarPorEmail(email);
-        assertNotNull(resultado);
-        assertEquals(email, resultado.getEmail());
-        assertEquals(hash, resultado.getPasswordHash());
-        assertEquals("USER", resultado.getRol());
-        assertEquals(id, resultado.getId());
-        verify(userRepository).findByEmail(email);
+        UserEntity usuario = UserEntity.builder().id(id).email("ana@correo.com").passwordHash("$2a$08$viejo").build();
+        when(userRepository.findById(id)).thenReturn(Optional.of(usuario));
+        when(passwordEncoder.upgradeEncoding("$2a$08$viejo")).thenReturn(true);
+        when(passwordEncoder.matches("Secreta123", "$2a$08$viejo")).thenReturn(true);
+        when(passwordEncoder.encode("Secreta123")).thenReturn("$2a$10$nuevo");
+
+        assertTrue(userService.rehashearContrasena(id, "Secreta123"));
+        assertEquals("$2a$10$nuevo", usuario.getPasswordHash());
+        verify(credencialesCache).invalidarTrasCommit("ana@correo.com");
     }
 
     @Test
-    void buscarPorEmail_deberiaLanzarExcepcionCuandoNoExiste() {
-        String email = "inexistente@correo.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
-        UsuarioNoEncontradoException ex = assertThrows(
-                UsuarioNoEncontradoException.class,
-                () -> userService.buscarPorEmail(email)
-        );
-        assertTrue(ex.getMessage().contains(email));
-        verify(userRepository).findByEmail(email);
+    void rehashearContrasena_conContrasenaIncorrectaNoCambiaNada() {
+        UUID id = UUID.randomUUID();
+        UserEntity usuario = UserEntity.builder().id(id).email("ana@correo.com").passwordHash("$2a$08$viejo").build();
+        when(userRepository.findById(id)).thenReturn(Optional.of(usuario));
+        when(passwordEncoder.upgradeEncoding("$2a$08$viejo")).thenReturn(true);
+        when(passwordEncoder.matches("otra", "$2a$08$viejo")).thenReturn(false);
+
+        assertFalse(userService.rehashearContrasena(id, "otra"));
+        assertEquals("$2a$08$viejo", usuario.getPasswordHash());
+        verify(passwordEncoder, never()).encode(any());
     }
 }
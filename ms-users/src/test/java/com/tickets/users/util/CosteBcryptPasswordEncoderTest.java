@@ -0,0 +1,37 @@
+package com.tickets.users.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CosteBcryptPasswordEncoderTest {
+
+    private final CosteBcryptPasswordEncoder encoder = new CosteBcryptPasswordEncoder(8);
+
+    @Test
+    void upgradeEncoding_pideRehashSiElCosteEsDistintoEnCualquierSentido() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Secreta123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(9).encode("Secreta123")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Secreta123")));
+    }
+
+    @Test
+    void upgradeEncoding_ignoraLoQueNoEsBcrypt() {
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("{noop}Secreta123"));
+    }
+
+    @Test
+    void coste_seLeeDelHash() {
+        assertEquals(8, CosteBcryptPasswordEncoder.coste(encoder.encode("Secreta123")));
+        assertEquals(0, CosteBcryptPasswordEncoder.coste("texto"));
+    }
+
+    @Test
+    void calibrar_conObjetivoInalcanzableDevuelveElMinimo() {
+        assertEquals(CosteBcryptPasswordEncoder.COSTE_MINIMO, CosteBcryptPasswordEncoder.calibrar(Duration.ofNanos(1)));
+    }
+}